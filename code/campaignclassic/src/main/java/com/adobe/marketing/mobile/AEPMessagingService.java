@@ -34,6 +34,10 @@ public class AEPMessagingService {
      * {@code AEPPushPayload} or {@code Notification}, this method will return false signaling that
      * the remote message was not handled by the {@code AEPMessagingService}.
      *
+     * <p>A silent data push containing the {@link
+     * CampaignPushConstants.PushPayloadKeys#PREFETCH_IMAGES} key and no notification content is
+     * not displayed, the images it references are prefetched into the image cache instead.
+     *
      * @param context the application {@link Context}
      * @param remoteMessage the {@link RemoteMessage} containing a push notification payload
      * @return {@code boolean} signaling if the {@link AEPMessagingService} handled the remote
@@ -41,6 +45,10 @@ public class AEPMessagingService {
      */
     public static boolean handleRemoteMessage(
             @NonNull final Context context, @NonNull final RemoteMessage remoteMessage) {
+        if (CampaignPushImagePrefetcher.isPrefetchMessage(remoteMessage.getData())) {
+            return handlePrefetchMessage(context, remoteMessage.getData());
+        }
+
         final NotificationManagerCompat notificationManager =
                 NotificationManagerCompat.from(context);
         AEPPushPayload payload;
@@ -91,6 +99,10 @@ public class AEPMessagingService {
     // public
     static boolean handleRemoteMessageData(
             @NonNull final Context context, @NonNull final Map<String, String> messageData) {
+        if (CampaignPushImagePrefetcher.isPrefetchMessage(messageData)) {
+            return handlePrefetchMessage(context, messageData);
+        }
+
         final NotificationManagerCompat notificationManager =
                 NotificationManagerCompat.from(context);
         AEPPushPayload payload;
@@ -124,6 +136,27 @@ public class AEPMessagingService {
         return true;
     }
 
+    /**
+     * Handles a silent data push requesting images to be prefetched. No notification is displayed
+     * and no notification receive track request is sent for such messages.
+     *
+     * @param context the application {@link Context}
+     * @param messageData the {@link Map<String, String>} containing the images to prefetch
+     * @return {@code boolean} true as the message is always handled by the {@link
+     *     AEPMessagingService}
+     */
+    private static boolean handlePrefetchMessage(
+            @NonNull final Context context, @NonNull final Map<String, String> messageData) {
+        Log.trace(
+                CampaignPushConstants.LOG_TAG,
+                SELF_TAG,
+                "Received a silent push requesting images to be prefetched.");
+        CampaignPushImagePrefetcher.prefetch(
+                context.getApplicationContext(),
+                CampaignPushImagePrefetcher.getPrefetchImageUris(messageData));
+        return true;
+    }
+
     private static void trackNotificationReceive(final AEPPushPayload payload) {
         Log.trace(
                 CampaignPushConstants.LOG_TAG,
@@ -18,12 +18,12 @@ import android.app.TaskStackBuilder;
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Bitmap;
-import android.graphics.Color;
 import android.media.RingtoneManager;
 import android.os.Build;
 import android.view.View;
 import android.widget.RemoteViews;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 import androidx.core.app.NotificationCompat;
 import com.adobe.marketing.mobile.campaignclassic.R;
@@ -63,6 +63,11 @@ class AEPPushNotificationBuilder {
             throws IllegalArgumentException, NotificationConstructionFailedException {
         NotificationCompat.Builder builder;
         final Map<String, String> messageData = payload.getMessageData();
+        // all asset downloads for this notification draw from a single time budget
+        final AssetDownloadBudget budget =
+                AssetDownloadBudget.startingNow(
+                        CampaignPushConstants.DefaultValues
+                                .NOTIFICATION_ASSET_DOWNLOAD_BUDGET_IN_MILLISECONDS);
         final PushTemplateType pushTemplateType =
                 messageData.get(CampaignPushConstants.PushPayloadKeys.TEMPLATE_TYPE) == null
                         ? PushTemplateType.UNKNOWN
@@ -72,19 +77,21 @@ class AEPPushNotificationBuilder {
         switch (pushTemplateType) {
             case BASIC:
                 final BasicPushTemplate basicPushTemplate = new BasicPushTemplate(messageData);
-                builder = BasicTemplateNotificationBuilder.construct(basicPushTemplate, context);
+                builder =
+                        BasicTemplateNotificationBuilder.construct(
+                                basicPushTemplate, context, budget);
                 break;
             case CAROUSEL:
                 final CarouselPushTemplate carouselPushTemplate =
                         new CarouselPushTemplate(messageData);
                 builder =
                         CarouselTemplateNotificationBuilder.construct(
-                                carouselPushTemplate, context);
+                                carouselPushTemplate, context, budget);
                 break;
             case UNKNOWN:
             default:
                 final AEPPushTemplate aepPushTemplate = new AEPPushTemplate(messageData);
-                builder = LegacyNotificationBuilder.construct(aepPushTemplate, context);
+                builder = LegacyNotificationBuilder.construct(aepPushTemplate, context, budget);
                 break;
         }
 
@@ -99,6 +106,9 @@ class AEPPushNotificationBuilder {
      * received from the payload, Campaign Classic extension's default channel is used. For Android
      * versions below O, no channel is created. Just return the obtained channel ID.
      *
+     * <p>Channels known to exist are looked up in the {@link NotificationChannelRegistry}, so the
+     * system is only queried for channels which were not seen recently.
+     *
      * @param context the application {@link Context}
      * @param channelId {@code String} containing the notification channel id
      * @param customSound {@code String} containing the custom sound to use
@@ -127,7 +137,8 @@ class AEPPushNotificationBuilder {
             // if a channel from the payload is not null and if a channel exists for the channel ID
             // from the payload, use the same channel ID.
             if (channelIdFromPayload != null
-                    && notificationManager.getNotificationChannel(channelIdFromPayload) != null) {
+                    && NotificationChannelRegistry.exists(
+                            notificationManager, channelIdFromPayload)) {
                 Log.debug(
                         CampaignPushConstants.LOG_TAG,
                         SELF_TAG,
@@ -152,7 +163,7 @@ class AEPPushNotificationBuilder {
                 setSound(context, channel, customSound, false);
 
                 // add the channel to the notification manager
-                notificationManager.createNotificationChannel(channel);
+                NotificationChannelRegistry.create(notificationManager, channel);
 
                 return channelIdFromPayload;
             } else {
@@ -165,7 +176,7 @@ class AEPPushNotificationBuilder {
 
             // Use the default channel ID if the channel ID from the payload is null or if a channel
             // does not exist for the channel ID from the payload.
-            if (notificationManager.getNotificationChannel(DEFAULT_CHANNEL_ID) != null) {
+            if (NotificationChannelRegistry.exists(notificationManager, DEFAULT_CHANNEL_ID)) {
                 Log.debug(
                         CampaignPushConstants.LOG_TAG,
                         SELF_TAG,
@@ -180,7 +191,7 @@ class AEPPushNotificationBuilder {
                 final NotificationChannel channel =
                         new NotificationChannel(
                                 DEFAULT_CHANNEL_ID, DEFAULT_CHANNEL_NAME, importance);
-                notificationManager.createNotificationChannel(channel);
+                NotificationChannelRegistry.create(notificationManager, channel);
             }
             return DEFAULT_CHANNEL_ID;
         }
@@ -194,9 +205,9 @@ class AEPPushNotificationBuilder {
             return;
         }
 
-        if (notificationManager.getNotificationChannel(
-                        CampaignPushConstants.DefaultValues.SILENT_NOTIFICATION_CHANNEL_ID)
-                != null) {
+        if (NotificationChannelRegistry.exists(
+                notificationManager,
+                CampaignPushConstants.DefaultValues.SILENT_NOTIFICATION_CHANNEL_ID)) {
             Log.trace(
                     CampaignPushConstants.LOG_TAG,
                     SELF_TAG,
@@ -216,7 +227,7 @@ class AEPPushNotificationBuilder {
         setSound(context, silentChannel, null, true);
 
         // add the silent channel to the notification manager
-        notificationManager.createNotificationChannel(silentChannel);
+        NotificationChannelRegistry.create(notificationManager, silentChannel);
     }
 
     /**
@@ -235,6 +246,24 @@ class AEPPushNotificationBuilder {
             final NotificationCompat.Builder builder,
             final String smallIcon,
             final String smallIconColor) {
+        setSmallIcon(context, builder, smallIcon, ParsedColorCache.parse(smallIconColor));
+    }
+
+    /**
+     * Sets the small icon for the notification, see {@link #setSmallIcon(Context,
+     * NotificationCompat.Builder, String, String)}.
+     *
+     * @param context the application {@link Context}
+     * @param builder the notification builder
+     * @param smallIcon {@code String} containing the small icon to use
+     * @param smallIconColor {@code Integer} containing the parsed small icon color to use, or null
+     *     if no color should be applied
+     */
+    static void setSmallIcon(
+            final Context context,
+            final NotificationCompat.Builder builder,
+            final String smallIcon,
+            @Nullable final Integer smallIconColor) {
         final int iconFromPayload = CampaignPushUtils.getIconWithResourceName(smallIcon, context);
         final int iconFromMobileCore = MobileCore.getSmallIconResourceID();
         int iconResourceId;
@@ -256,8 +285,7 @@ class AEPPushNotificationBuilder {
             }
         }
 
-        final String iconColorHex = smallIconColor;
-        setSmallIconColor(builder, iconColorHex);
+        setSmallIconColor(builder, smallIconColor);
 
         builder.setSmallIcon(iconResourceId);
     }
@@ -271,6 +299,22 @@ class AEPPushNotificationBuilder {
      * @param remoteView the remote view
      */
     static void setRemoteViewLargeIcon(final String largeIcon, final RemoteViews remoteView) {
+        setRemoteViewLargeIcon(largeIcon, remoteView, AssetDownloadBudget.unbounded());
+    }
+
+    /**
+     * Sets the large icon for the provided {@link RemoteViews}, see {@link
+     * #setRemoteViewLargeIcon(String, RemoteViews)}. A large icon URL is only downloaded if time is
+     * left in the provided {@code AssetDownloadBudget}, otherwise the large icon is hidden.
+     *
+     * @param largeIcon {@code String} containing the large icon to use
+     * @param remoteView the remote view
+     * @param budget the {@link AssetDownloadBudget} of the notification being built
+     */
+    static void setRemoteViewLargeIcon(
+            final String largeIcon,
+            final RemoteViews remoteView,
+            @NonNull final AssetDownloadBudget budget) {
         if (StringUtils.isNullOrEmpty(largeIcon)) {
             Log.trace(
                     CampaignPushConstants.LOG_TAG,
@@ -283,7 +327,7 @@ class AEPPushNotificationBuilder {
         if (UrlUtils.isValidUrl(largeIcon)) {
             final Bitmap downloadedIcon =
                     CampaignPushUtils.downloadImage(
-                            ServiceProvider.getInstance().getCacheService(), largeIcon);
+                            ServiceProvider.getInstance().getCacheService(), largeIcon, budget);
             if (downloadedIcon == null) {
                 Log.trace(
                         CampaignPushConstants.LOG_TAG,
@@ -318,24 +362,14 @@ class AEPPushNotificationBuilder {
      * Sets a custom color to the notification's small icon.
      *
      * @param builder the notification builder
-     * @param iconColorHex {@code String} containing a color code to be used in customizing the
-     *     small icon color
+     * @param iconColor {@code Integer} containing the parsed color to be used in customizing the
+     *     small icon color, or null if no color should be applied
      */
     private static void setSmallIconColor(
-            final NotificationCompat.Builder builder, final String iconColorHex) {
-
-        try {
-            // sets the icon color if provided
-            if (!StringUtils.isNullOrEmpty(iconColorHex)) {
-                final String smallIconColor = "#" + iconColorHex;
-                builder.setColorized(true).setColor(Color.parseColor(smallIconColor));
-            }
-        } catch (final IllegalArgumentException exception) {
-            Log.trace(
-                    CampaignPushConstants.LOG_TAG,
-                    SELF_TAG,
-                    "Unrecognized hex string passed to Color.parseColor(), custom color will not"
-                            + " be applied to the notification icon.");
+            final NotificationCompat.Builder builder, @Nullable final Integer iconColor) {
+        // sets the icon color if provided
+        if (iconColor != null) {
+            builder.setColorized(true).setColor(iconColor);
         }
     }
 
@@ -431,15 +465,17 @@ class AEPPushNotificationBuilder {
      * @param imageUrl {@code String} containing the image url
      * @param title {@code String} containing the title
      * @param bodyText {@code String} containing the body text
+     * @param budget the {@link AssetDownloadBudget} of the notification being built
      */
     static void setLargeIcon(
             final NotificationCompat.Builder notificationBuilder,
             final String imageUrl,
             final String title,
-            final String bodyText) {
+            final String bodyText,
+            @NonNull final AssetDownloadBudget budget) {
         // Quick bail out if there is no image url
         if (StringUtils.isNullOrEmpty(imageUrl)) return;
-        Bitmap bitmap = CampaignPushUtils.download(imageUrl);
+        Bitmap bitmap = CampaignPushUtils.download(imageUrl, budget);
 
         // Bail out if the download fails
         if (bitmap == null) return;
@@ -723,62 +759,89 @@ class AEPPushNotificationBuilder {
             final RemoteViews smallLayout,
             final RemoteViews expandedLayout,
             final int containerViewId) {
-        // get custom color from hex string and set it the notification background
-        if (!StringUtils.isNullOrEmpty(backgroundColor)) {
+        setCustomNotificationColors(
+                ParsedColorCache.parse(backgroundColor),
+                ParsedColorCache.parse(titleTextColor),
+                ParsedColorCache.parse(expandedBodyTextColor),
+                smallLayout,
+                expandedLayout,
+                containerViewId);
+    }
+
+    /**
+     * Sets custom colors to UI elements present in the specified {@code RemoteViews} object. Null
+     * colors are not applied.
+     *
+     * @param backgroundColor {@code Integer} containing the parsed notification background color
+     * @param titleTextColor {@code Integer} containing the parsed notification title text color
+     * @param expandedBodyTextColor {@code Integer} containing the parsed expanded notification body
+     *     text color
+     * @param smallLayout {@link RemoteViews} object for a collapsed custom notification
+     * @param expandedLayout {@code RemoteViews} object for an expanded custom notification
+     * @param containerViewId {@code int} containing the resource id of the layout container
+     */
+    static void setCustomNotificationColors(
+            @Nullable final Integer backgroundColor,
+            @Nullable final Integer titleTextColor,
+            @Nullable final Integer expandedBodyTextColor,
+            final RemoteViews smallLayout,
+            final RemoteViews expandedLayout,
+            final int containerViewId) {
+        // set the custom color on the notification background
+        if (backgroundColor != null) {
             setElementColor(
                     smallLayout,
                     R.id.basic_small_layout,
-                    "#" + backgroundColor,
+                    backgroundColor,
                     CampaignPushConstants.MethodNames.SET_BACKGROUND_COLOR,
                     CampaignPushConstants.FriendlyViewNames.NOTIFICATION_BACKGROUND);
             setElementColor(
                     expandedLayout,
                     containerViewId,
-                    "#" + backgroundColor,
+                    backgroundColor,
                     CampaignPushConstants.MethodNames.SET_BACKGROUND_COLOR,
                     CampaignPushConstants.FriendlyViewNames.NOTIFICATION_BACKGROUND);
         }
 
-        // get custom color from hex string and set it the notification title
-        if (!StringUtils.isNullOrEmpty(titleTextColor)) {
+        // set the custom color on the notification title
+        if (titleTextColor != null) {
             setElementColor(
                     smallLayout,
                     R.id.notification_title,
-                    "#" + titleTextColor,
+                    titleTextColor,
                     CampaignPushConstants.MethodNames.SET_TEXT_COLOR,
                     CampaignPushConstants.FriendlyViewNames.NOTIFICATION_TITLE);
             setElementColor(
                     expandedLayout,
                     R.id.notification_title,
-                    "#" + titleTextColor,
+                    titleTextColor,
                     CampaignPushConstants.MethodNames.SET_TEXT_COLOR,
                     CampaignPushConstants.FriendlyViewNames.NOTIFICATION_TITLE);
         }
 
-        // get custom color from hex string and set it the notification body text
-        if (!StringUtils.isNullOrEmpty(expandedBodyTextColor)) {
+        // set the custom color on the notification body text
+        if (expandedBodyTextColor != null) {
             setElementColor(
                     smallLayout,
                     R.id.notification_body,
-                    "#" + expandedBodyTextColor,
+                    expandedBodyTextColor,
                     CampaignPushConstants.MethodNames.SET_TEXT_COLOR,
                     CampaignPushConstants.FriendlyViewNames.NOTIFICATION_BODY_TEXT);
             setElementColor(
                     expandedLayout,
                     R.id.notification_body_expanded,
-                    "#" + expandedBodyTextColor,
+                    expandedBodyTextColor,
                     CampaignPushConstants.MethodNames.SET_TEXT_COLOR,
                     CampaignPushConstants.FriendlyViewNames.NOTIFICATION_BODY_TEXT);
         }
     }
 
     /**
-     * Sets a provided color hex string to a UI element contained in a specified {@code RemoteViews}
-     * view.
+     * Sets a provided color to a UI element contained in a specified {@code RemoteViews} view.
      *
      * @param remoteView {@link RemoteViews} object containing a UI element to be updated
      * @param elementId {@code int} containing the resource id of the UI element
-     * @param colorHex {@code String} containing the color hex string
+     * @param color {@code int} containing the parsed color
      * @param methodName {@code String} containing the method to be called on the UI element to
      *     update the color
      * @param viewFriendlyName {@code String} containing the friendly name of the view to be used
@@ -787,7 +850,7 @@ class AEPPushNotificationBuilder {
     private static void setElementColor(
             final RemoteViews remoteView,
             final int elementId,
-            final String colorHex,
+            final int color,
             final String methodName,
             final String viewFriendlyName) {
         if (StringUtils.isNullOrEmpty(methodName)) {
@@ -800,17 +863,6 @@ class AEPPushNotificationBuilder {
             return;
         }
 
-        try {
-            if (!StringUtils.isNullOrEmpty(colorHex)) {
-                remoteView.setInt(elementId, methodName, Color.parseColor(colorHex));
-            }
-        } catch (final IllegalArgumentException exception) {
-            Log.trace(
-                    CampaignPushConstants.LOG_TAG,
-                    SELF_TAG,
-                    "Unrecognized hex string passed to Color.parseColor(), custom color will not"
-                            + " be applied to"
-                            + viewFriendlyName);
-        }
+        remoteView.setInt(elementId, methodName, color);
     }
 }
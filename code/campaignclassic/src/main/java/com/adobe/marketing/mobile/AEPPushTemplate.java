@@ -12,6 +12,7 @@ package com.adobe.marketing.mobile;
 
 import android.app.NotificationManager;
 import android.os.Build;
+import android.util.JsonReader;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
@@ -20,13 +21,12 @@ import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.util.DataReader;
 import com.adobe.marketing.mobile.util.DataReaderException;
 import com.adobe.marketing.mobile.util.StringUtils;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 class AEPPushTemplate {
 
@@ -104,18 +104,9 @@ class AEPPushTemplate {
     private final String title;
     private final String body;
     private final String sound;
-    private int badgeCount = 0;
-    private int notificationPriority = NotificationCompat.PRIORITY_DEFAULT;
-    private int notificationImportance = NotificationManager.IMPORTANCE_DEFAULT;
-
-    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
-    private int notificationVisibility = NotificationCompat.VISIBILITY_PRIVATE;
-
     private final String channelId;
-    private final String smallIcon;
     private final String largeIcon;
     private final String imageUrl;
-    private final AEPPushTemplate.ActionType actionType;
     private final String actionUri;
     private final String actionButtonsString;
     private final Map<String, String> data;
@@ -123,8 +114,6 @@ class AEPPushTemplate {
     private final String deliveryId;
 
     // push template payload values
-    // Required, Version of the payload assigned by the authoring UI.
-    private final int payloadVersion;
     // Optional, Body of the message shown in the expanded message layout (setCustomBigContentView)
     private final String expandedBodyText;
     // Optional, Text color for adb_body. Represented as six character hex, e.g. 00FF00
@@ -139,18 +128,38 @@ class AEPPushTemplate {
     private final String notificationBackgroundColor;
     // Optional, If present, show a "remind later" button using the value provided as its label
     private final String remindLaterText;
-    // Optional, If present, schedule this notification to be re-delivered at this epoch timestamp
-    // (in seconds) provided.
-    private final long remindLaterTimestamp;
     // Optional, If present and a notification with the same tag is already being shown, the new
     // notification replaces the existing one in the notification drawer.
     private final String tag;
     // Optional, If present sets the "ticker" text, which is sent to accessibility services.
     private final String ticker;
+
+    // The values below are parsed from the payload the first time they are read, as most of them
+    // are not used by every template. They are null until resolved. A template is only read by
+    // the thread building its notification, so they are not synchronized.
+    // Required, Version of the payload assigned by the authoring UI.
+    private Integer payloadVersion;
+    private Integer badgeCount;
+    private Integer notificationPriority;
+    private Integer notificationImportance;
+    private Integer notificationVisibility;
+    private boolean smallIconResolved;
+    private String smallIcon;
+    private AEPPushTemplate.ActionType actionType;
+    // Colors parsed from the hex strings above once colorsParsed is set, null if missing or
+    // invalid
+    private boolean colorsParsed;
+    private Integer parsedExpandedBodyTextColor;
+    private Integer parsedTitleTextColor;
+    private Integer parsedSmallIconColor;
+    private Integer parsedNotificationBackgroundColor;
+    // Optional, If present, schedule this notification to be re-delivered at this epoch timestamp
+    // (in seconds) provided.
+    private Long remindLaterTimestamp;
     // Optional, when set to false or unset, the notification is automatically dismissed when the
     // user clicks it in the panel. When set to true, the notification persists even when the user
     // clicks it.
-    private final boolean sticky;
+    private Boolean sticky;
 
     @RequiresApi(api = Build.VERSION_CODES.N)
     static final Map<String, Integer> notificationImportanceMap =
@@ -231,13 +240,7 @@ class AEPPushTemplate {
             throw new IllegalArgumentException("Required field \"_dId\" not found.");
         }
 
-        // optional push template data
-        this.payloadVersion =
-                Integer.parseInt(
-                        DataReader.optString(
-                                data,
-                                CampaignPushConstants.PushPayloadKeys.VERSION,
-                                CampaignPushConstants.DefaultValues.LEGACY_PAYLOAD_VERSION_STRING));
+        // optional push template data, values which need parsing are resolved on first access
         this.sound = DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.SOUND, null);
         this.imageUrl =
                 DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.IMAGE_URL, null);
@@ -245,20 +248,6 @@ class AEPPushTemplate {
                 DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.CHANNEL_ID, null);
         this.actionUri =
                 DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.ACTION_URI, null);
-        String smallIcon =
-                DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.SMALL_ICON, null);
-        if (StringUtils.isNullOrEmpty(smallIcon)) {
-            Log.debug(
-                    CampaignPushConstants.LOG_TAG,
-                    SELF_TAG,
-                    "The \"adb_small_icon\" key is not present in the message data payload,"
-                            + " attempting to use \"adb_icon\" key instead.");
-            smallIcon =
-                    DataReader.optString(
-                            data, CampaignPushConstants.PushPayloadKeys.LEGACY_SMALL_ICON, null);
-        }
-        this.smallIcon = smallIcon;
-
         this.largeIcon =
                 DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.LARGE_ICON, null);
         this.expandedBodyText =
@@ -281,54 +270,9 @@ class AEPPushTemplate {
         this.remindLaterText =
                 DataReader.optString(
                         messageData, CampaignPushConstants.PushPayloadKeys.REMIND_LATER_TEXT, "");
-        final String timestampString =
-                DataReader.optString(
-                        data, CampaignPushConstants.PushPayloadKeys.REMIND_LATER_TIMESTAMP, null);
-        this.remindLaterTimestamp =
-                StringUtils.isNullOrEmpty(timestampString)
-                        ? CampaignPushConstants.DefaultValues.DEFAULT_REMIND_LATER_TIMESTAMP
-                        : Long.parseLong(timestampString);
         this.tag = DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.TAG, messageId);
         this.ticker =
                 DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.TICKER, null);
-        final String stickyValue =
-                DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.STICKY, null);
-        this.sticky =
-                StringUtils.isNullOrEmpty(stickyValue) ? false : Boolean.parseBoolean(stickyValue);
-
-        try {
-            final String count = data.get(CampaignPushConstants.PushPayloadKeys.BADGE_NUMBER);
-            if (StringUtils.isNullOrEmpty(count)) {
-                this.badgeCount = Integer.parseInt(count);
-            }
-        } catch (final NumberFormatException e) {
-            Log.debug(
-                    CampaignPushConstants.LOG_TAG,
-                    SELF_TAG,
-                    "Exception in converting notification badge count to int - %s",
-                    e.getLocalizedMessage());
-        }
-
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
-            this.notificationImportance =
-                    getNotificationImportanceFromString(
-                            data.get(CampaignPushConstants.PushPayloadKeys.NOTIFICATION_PRIORITY));
-        } else {
-            this.notificationPriority =
-                    NotificationPriority.from(
-                            data.get(CampaignPushConstants.PushPayloadKeys.NOTIFICATION_PRIORITY));
-        }
-
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            this.notificationVisibility =
-                    getNotificationVisibilityFromString(
-                            data.get(
-                                    CampaignPushConstants.PushPayloadKeys.NOTIFICATION_VISIBILITY));
-        }
-
-        this.actionType =
-                getActionTypeFromString(
-                        data.get(CampaignPushConstants.PushPayloadKeys.ACTION_TYPE));
         this.actionButtonsString = data.get(CampaignPushConstants.PushPayloadKeys.ACTION_BUTTONS);
     }
 
@@ -345,19 +289,60 @@ class AEPPushTemplate {
     }
 
     int getBadgeCount() {
+        if (badgeCount == null) {
+            int count = 0;
+            try {
+                final String countString =
+                        data.get(CampaignPushConstants.PushPayloadKeys.BADGE_NUMBER);
+                if (StringUtils.isNullOrEmpty(countString)) {
+                    count = Integer.parseInt(countString);
+                }
+            } catch (final NumberFormatException e) {
+                Log.debug(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Exception in converting notification badge count to int - %s",
+                        e.getLocalizedMessage());
+            }
+            badgeCount = count;
+        }
         return badgeCount;
     }
 
     int getNotificationPriority() {
+        if (notificationPriority == null) {
+            notificationPriority =
+                    Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                            ? NotificationCompat.PRIORITY_DEFAULT
+                            : NotificationPriority.from(
+                                    data.get(
+                                            CampaignPushConstants.PushPayloadKeys
+                                                    .NOTIFICATION_PRIORITY));
+        }
         return notificationPriority;
     }
 
     @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
     int getNotificationVisibility() {
+        if (notificationVisibility == null) {
+            notificationVisibility =
+                    getNotificationVisibilityFromString(
+                            data.get(
+                                    CampaignPushConstants.PushPayloadKeys.NOTIFICATION_VISIBILITY));
+        }
         return notificationVisibility;
     }
 
     int getNotificationImportance() {
+        if (notificationImportance == null) {
+            notificationImportance =
+                    Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+                            ? getNotificationImportanceFromString(
+                                    data.get(
+                                            CampaignPushConstants.PushPayloadKeys
+                                                    .NOTIFICATION_PRIORITY))
+                            : NotificationManager.IMPORTANCE_DEFAULT;
+        }
         return notificationImportance;
     }
 
@@ -366,6 +351,25 @@ class AEPPushTemplate {
     }
 
     @Nullable String getSmallIcon() {
+        if (!smallIconResolved) {
+            String icon =
+                    DataReader.optString(
+                            data, CampaignPushConstants.PushPayloadKeys.SMALL_ICON, null);
+            if (StringUtils.isNullOrEmpty(icon)) {
+                Log.debug(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "The \"adb_small_icon\" key is not present in the message data payload,"
+                                + " attempting to use \"adb_icon\" key instead.");
+                icon =
+                        DataReader.optString(
+                                data,
+                                CampaignPushConstants.PushPayloadKeys.LEGACY_SMALL_ICON,
+                                null);
+            }
+            smallIcon = icon;
+            smallIconResolved = true;
+        }
         return smallIcon;
     }
 
@@ -405,11 +409,55 @@ class AEPPushTemplate {
         return notificationBackgroundColor;
     }
 
+    @Nullable Integer getParsedExpandedBodyTextColor() {
+        parseColors();
+        return parsedExpandedBodyTextColor;
+    }
+
+    @Nullable Integer getParsedTitleTextColor() {
+        parseColors();
+        return parsedTitleTextColor;
+    }
+
+    @Nullable Integer getParsedSmallIconColor() {
+        parseColors();
+        return parsedSmallIconColor;
+    }
+
+    @Nullable Integer getParsedNotificationBackgroundColor() {
+        parseColors();
+        return parsedNotificationBackgroundColor;
+    }
+
+    /** Parses the template colors on first use, see {@link ParsedColorCache#parse(String)}. */
+    private void parseColors() {
+        if (colorsParsed) {
+            return;
+        }
+
+        parsedExpandedBodyTextColor = ParsedColorCache.parse(expandedBodyTextColor);
+        parsedTitleTextColor = ParsedColorCache.parse(titleTextColor);
+        parsedSmallIconColor = ParsedColorCache.parse(smallIconColor);
+        parsedNotificationBackgroundColor = ParsedColorCache.parse(notificationBackgroundColor);
+        colorsParsed = true;
+    }
+
     @Nullable String getRemindLaterText() {
         return remindLaterText;
     }
 
     long getRemindLaterTimestamp() {
+        if (remindLaterTimestamp == null) {
+            final String timestampString =
+                    DataReader.optString(
+                            data,
+                            CampaignPushConstants.PushPayloadKeys.REMIND_LATER_TIMESTAMP,
+                            null);
+            remindLaterTimestamp =
+                    StringUtils.isNullOrEmpty(timestampString)
+                            ? CampaignPushConstants.DefaultValues.DEFAULT_REMIND_LATER_TIMESTAMP
+                            : Long.parseLong(timestampString);
+        }
         return remindLaterTimestamp;
     }
 
@@ -422,11 +470,21 @@ class AEPPushTemplate {
     }
 
     boolean isNotificationSticky() {
+        if (sticky == null) {
+            final String stickyValue =
+                    DataReader.optString(data, CampaignPushConstants.PushPayloadKeys.STICKY, null);
+            sticky = !StringUtils.isNullOrEmpty(stickyValue) && Boolean.parseBoolean(stickyValue);
+        }
         return sticky;
     }
 
     /** @return an {@link AEPPushTemplate.ActionType} */
     @Nullable AEPPushTemplate.ActionType getActionType() {
+        if (actionType == null) {
+            actionType =
+                    getActionTypeFromString(
+                            data.get(CampaignPushConstants.PushPayloadKeys.ACTION_TYPE));
+        }
         return actionType;
     }
 
@@ -455,6 +513,15 @@ class AEPPushTemplate {
     }
 
     int getPayloadVersion() {
+        if (payloadVersion == null) {
+            payloadVersion =
+                    Integer.parseInt(
+                            DataReader.optString(
+                                    data,
+                                    CampaignPushConstants.PushPayloadKeys.VERSION,
+                                    CampaignPushConstants.DefaultValues
+                                            .LEGACY_PAYLOAD_VERSION_STRING));
+        }
         return payloadVersion;
     }
 
@@ -486,54 +553,121 @@ class AEPPushTemplate {
                             + " actionButtons is null");
             return null;
         }
-        List<ActionButton> actionButtonList = new ArrayList<>(ACTION_BUTTON_CAPACITY);
+        final List<ActionButton> actionButtonList = new ArrayList<>(ACTION_BUTTON_CAPACITY);
+        final JsonReader reader = new JsonReader(new StringReader(actionButtons));
         try {
-            final JSONArray jsonArray = new JSONArray(actionButtons);
-            for (int i = 0; i < jsonArray.length(); i++) {
-                final JSONObject jsonObject = jsonArray.getJSONObject(i);
-                final ActionButton button = getActionButton(jsonObject);
+            reader.beginArray();
+            while (reader.hasNext()) {
+                final ActionButton button = readActionButton(reader);
                 if (button == null) continue;
                 actionButtonList.add(button);
             }
-        } catch (final JSONException e) {
+            reader.endArray();
+        } catch (final IOException | IllegalStateException e) {
             Log.warning(
                     CampaignPushConstants.LOG_TAG,
                     SELF_TAG,
                     "Exception in converting actionButtons json string to json object, Error : %s",
                     e.getLocalizedMessage());
             return null;
+        } finally {
+            closeQuietly(reader);
         }
         return actionButtonList;
     }
 
-    private static ActionButton getActionButton(final JSONObject jsonObject) {
-        try {
-            final String label = jsonObject.getString(ActionButtons.LABEL);
-            if (label.isEmpty()) {
-                Log.debug(CampaignPushConstants.LOG_TAG, SELF_TAG, "Label is empty");
-                return null;
-            }
-            String uri = null;
-            final String type = jsonObject.getString(ActionButtons.TYPE);
-            if (type.equals(ActionButtonType.WEBURL) || type.equals(ActionButtonType.DEEPLINK)) {
-                uri = jsonObject.optString(ActionButtons.URI);
+    /**
+     * Reads the next action button object from the {@link JsonReader}. The whole object is
+     * consumed even when the action button is invalid.
+     *
+     * @param reader {@link JsonReader} positioned at the start of an action button object
+     * @return the {@link ActionButton}, or null if its label or type is missing
+     */
+    private static ActionButton readActionButton(final JsonReader reader) throws IOException {
+        String label = null;
+        String uri = null;
+        String type = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            switch (name) {
+                case ActionButtons.LABEL:
+                    label = nextStringOrNull(reader);
+                    break;
+                case ActionButtons.URI:
+                    uri = nextStringOrNull(reader);
+                    break;
+                case ActionButtons.TYPE:
+                    type = nextStringOrNull(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
             }
-            Log.trace(
-                    CampaignPushConstants.LOG_TAG,
-                    SELF_TAG,
-                    "Creating an ActionButton with label (%s), uri (%s), and type (%s)",
-                    label,
-                    uri,
-                    type);
-            return new ActionButton(label, uri, type);
-        } catch (final JSONException e) {
+        }
+        reader.endObject();
+
+        if (label == null || type == null) {
             Log.warning(
                     CampaignPushConstants.LOG_TAG,
                     SELF_TAG,
-                    "Exception in converting actionButtons json string to json object, Error : %s",
-                    e.getLocalizedMessage());
+                    "Exception in converting actionButtons json string to json object, Error :"
+                            + " required field \"%s\" not found",
+                    label == null ? ActionButtons.LABEL : ActionButtons.TYPE);
             return null;
         }
+        if (label.isEmpty()) {
+            Log.debug(CampaignPushConstants.LOG_TAG, SELF_TAG, "Label is empty");
+            return null;
+        }
+        if (type.equals(ActionButtonType.WEBURL) || type.equals(ActionButtonType.DEEPLINK)) {
+            if (uri == null) {
+                uri = "";
+            }
+        } else {
+            uri = null;
+        }
+        Log.trace(
+                CampaignPushConstants.LOG_TAG,
+                SELF_TAG,
+                "Creating an ActionButton with label (%s), uri (%s), and type (%s)",
+                label,
+                uri,
+                type);
+        return new ActionButton(label, uri, type);
+    }
+
+    /**
+     * Reads the next value from the {@link JsonReader} as a {@code String}. Numbers and booleans
+     * are converted to their string representation, any other value is skipped.
+     *
+     * @param reader {@link JsonReader} positioned before a value
+     * @return the {@code String} value, or null if the value is null, an object or an array
+     */
+    static String nextStringOrNull(final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    /**
+     * Closes the {@link JsonReader}, ignoring any error since it only reads from a string.
+     *
+     * @param reader {@link JsonReader} to close
+     */
+    static void closeQuietly(final JsonReader reader) {
+        try {
+            reader.close();
+        } catch (final IOException ignored) {
+            // nothing to release for a string backed reader
+        }
     }
 
     @RequiresApi(api = Build.VERSION_CODES.N)
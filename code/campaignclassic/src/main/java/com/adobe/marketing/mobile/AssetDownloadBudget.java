@@ -0,0 +1,74 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budget shared by every asset download made while building a single push notification.
+ *
+ * <p>The budget starts counting down when it is created. Downloads wait at most for the time left
+ * in the budget, and no new download is started once it is exhausted, so that the notification
+ * builders can fall back to a simpler notification instead of blocking.
+ */
+final class AssetDownloadBudget {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long deadlineNanos;
+
+    private AssetDownloadBudget(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a budget which expires after the provided number of milliseconds.
+     *
+     * @param budgetInMilliseconds {@code long} containing the budget duration in milliseconds
+     * @return the created {@link AssetDownloadBudget}
+     */
+    static AssetDownloadBudget startingNow(final long budgetInMilliseconds) {
+        return new AssetDownloadBudget(
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetInMilliseconds));
+    }
+
+    /**
+     * Creates a budget which never expires. Downloads made with this budget are only limited by
+     * their own timeout.
+     *
+     * @return the created {@link AssetDownloadBudget}
+     */
+    static AssetDownloadBudget unbounded() {
+        return new AssetDownloadBudget(NO_DEADLINE);
+    }
+
+    /**
+     * Returns the time left in this budget.
+     *
+     * @return {@code long} containing the remaining milliseconds, 0 if the budget is exhausted or
+     *     {@link Long#MAX_VALUE} if the budget is unbounded
+     */
+    long getRemainingMilliseconds() {
+        if (deadlineNanos == NO_DEADLINE) {
+            return Long.MAX_VALUE;
+        }
+        final long remainingNanos = deadlineNanos - System.nanoTime();
+        return remainingNanos > 0 ? TimeUnit.NANOSECONDS.toMillis(remainingNanos) : 0;
+    }
+
+    /**
+     * Returns whether the time in this budget ran out.
+     *
+     * @return {@code boolean} true if no time is left in this budget
+     */
+    boolean isExhausted() {
+        return getRemainingMilliseconds() == 0;
+    }
+}
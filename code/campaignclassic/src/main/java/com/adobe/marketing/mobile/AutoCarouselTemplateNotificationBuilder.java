@@ -30,7 +30,8 @@ class AutoCarouselTemplateNotificationBuilder {
             final CarouselPushTemplate pushTemplate,
             final Context context,
             final String channelId,
-            final String packageName)
+            final String packageName,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
         final RemoteViews smallLayout =
                 new RemoteViews(context.getPackageName(), R.layout.push_template_collapsed);
@@ -54,14 +55,20 @@ class AutoCarouselTemplateNotificationBuilder {
         final ArrayList<CarouselPushTemplate.CarouselItem> items = pushTemplate.getCarouselItems();
         final List<String> downloadedImageUris =
                 populateImages(
-                        context, cacheService, expandedLayout, pushTemplate, items, packageName);
+                        context,
+                        cacheService,
+                        expandedLayout,
+                        pushTemplate,
+                        items,
+                        packageName,
+                        budget);
 
         // fallback to a basic push template notification builder if less than 3 images were able
-        // to be downloaded
+        // to be downloaded, images not retrieved before the download budget ran out are missing
         if (downloadedImageUris.size()
                 < CampaignPushConstants.DefaultValues.CAROUSEL_MINIMUM_IMAGE_COUNT) {
             return CarouselTemplateNotificationBuilder.fallbackToBasicNotification(
-                    context, pushTemplate, downloadedImageUris);
+                    context, pushTemplate, downloadedImageUris, budget);
         }
 
         smallLayout.setTextViewText(R.id.notification_title, pushTemplate.getTitle());
@@ -72,9 +79,9 @@ class AutoCarouselTemplateNotificationBuilder {
 
         // set any custom colors if needed
         AEPPushNotificationBuilder.setCustomNotificationColors(
-                pushTemplate.getNotificationBackgroundColor(),
-                pushTemplate.getTitleTextColor(),
-                pushTemplate.getExpandedBodyTextColor(),
+                pushTemplate.getParsedNotificationBackgroundColor(),
+                pushTemplate.getParsedTitleTextColor(),
+                pushTemplate.getParsedExpandedBodyTextColor(),
                 smallLayout,
                 expandedLayout,
                 R.id.carousel_container_layout);
@@ -89,16 +96,20 @@ class AutoCarouselTemplateNotificationBuilder {
 
         // small Icon must be present, otherwise the notification will not be displayed.
         AEPPushNotificationBuilder.setSmallIcon(
-                context, builder, pushTemplate.getSmallIcon(), pushTemplate.getSmallIconColor());
+                context,
+                builder,
+                pushTemplate.getSmallIcon(),
+                pushTemplate.getParsedSmallIconColor());
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
             AEPPushNotificationBuilder.setVisibility(
                     builder, pushTemplate.getNotificationVisibility());
         }
 
         // set a large icon if one is present
-        AEPPushNotificationBuilder.setRemoteViewLargeIcon(pushTemplate.getLargeIcon(), smallLayout);
         AEPPushNotificationBuilder.setRemoteViewLargeIcon(
-                pushTemplate.getLargeIcon(), expandedLayout);
+                pushTemplate.getLargeIcon(), smallLayout, budget);
+        AEPPushNotificationBuilder.setRemoteViewLargeIcon(
+                pushTemplate.getLargeIcon(), expandedLayout, budget);
 
         // set custom sound, note this applies to API 25 and lower only as API 26 and up set the
         // sound on the notification channel
@@ -122,21 +133,30 @@ class AutoCarouselTemplateNotificationBuilder {
             final RemoteViews expandedLayout,
             final CarouselPushTemplate pushTemplate,
             final ArrayList<CarouselPushTemplate.CarouselItem> items,
-            final String packageName) {
+            final String packageName,
+            final AssetDownloadBudget budget) {
         final long imageProcessingStartTime = System.currentTimeMillis();
         final ArrayList<String> downloadedImageUris = new ArrayList<>();
 
+        // retrieve all carousel images at once, the results are returned in the payload order
+        final List<String> imageUris = new ArrayList<>(items.size());
         for (final CarouselPushTemplate.CarouselItem item : items) {
+            imageUris.add(item.getImageUri());
+        }
+        final List<Bitmap> pushImages =
+                CampaignPushUtils.downloadImages(cacheService, imageUris, budget);
 
+        for (int i = 0; i < items.size(); i++) {
+            final CarouselPushTemplate.CarouselItem item = items.get(i);
             final String imageUri = item.getImageUri();
-            final Bitmap pushImage = CampaignPushUtils.downloadImage(cacheService, imageUri);
+            final Bitmap pushImage = pushImages.get(i);
             if (pushImage == null) {
                 Log.trace(
                         CampaignPushConstants.LOG_TAG,
                         SELF_TAG,
                         "Failed to retrieve an image from %s, will not create a new carousel item.",
                         imageUri);
-                break;
+                continue;
             }
             final RemoteViews carouselItem =
                     new RemoteViews(packageName, R.layout.push_template_carousel_item);
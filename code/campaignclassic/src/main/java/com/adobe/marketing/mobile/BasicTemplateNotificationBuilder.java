@@ -34,7 +34,9 @@ class BasicTemplateNotificationBuilder {
     private static final String SELF_TAG = "BasicTemplateNotificationBuilder";
 
     @NonNull static NotificationCompat.Builder construct(
-            final BasicPushTemplate pushTemplate, final Context context)
+            final BasicPushTemplate pushTemplate,
+            final Context context,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
 
         if (pushTemplate == null) {
@@ -48,11 +50,13 @@ class BasicTemplateNotificationBuilder {
                 SELF_TAG,
                 "Building a basic template push notification.");
 
-        return createNotificationBuilder(context, pushTemplate);
+        return createNotificationBuilder(context, pushTemplate, budget);
     }
 
     private static NotificationCompat.Builder createNotificationBuilder(
-            final Context context, final BasicPushTemplate pushTemplate)
+            final Context context,
+            final BasicPushTemplate pushTemplate,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
 
         final String channelIdToUse =
@@ -81,7 +85,7 @@ class BasicTemplateNotificationBuilder {
 
         // get push payload data
         final String imageUri = pushTemplate.getImageUrl();
-        final Bitmap pushImage = CampaignPushUtils.downloadImage(cacheService, imageUri);
+        final Bitmap pushImage = CampaignPushUtils.downloadImage(cacheService, imageUri, budget);
         if (pushImage != null) {
             expandedLayout.setImageViewBitmap(R.id.expanded_template_image, pushImage);
         }
@@ -94,9 +98,9 @@ class BasicTemplateNotificationBuilder {
 
         // set any custom colors if needed
         AEPPushNotificationBuilder.setCustomNotificationColors(
-                pushTemplate.getNotificationBackgroundColor(),
-                pushTemplate.getTitleTextColor(),
-                pushTemplate.getExpandedBodyTextColor(),
+                pushTemplate.getParsedNotificationBackgroundColor(),
+                pushTemplate.getParsedTitleTextColor(),
+                pushTemplate.getParsedExpandedBodyTextColor(),
                 smallLayout,
                 expandedLayout,
                 R.id.basic_expanded_layout);
@@ -112,12 +116,16 @@ class BasicTemplateNotificationBuilder {
 
         // small icon must be present, otherwise the notification will not be displayed.
         AEPPushNotificationBuilder.setSmallIcon(
-                context, builder, pushTemplate.getSmallIcon(), pushTemplate.getSmallIconColor());
+                context,
+                builder,
+                pushTemplate.getSmallIcon(),
+                pushTemplate.getParsedSmallIconColor());
 
         // set a large icon if one is present
-        AEPPushNotificationBuilder.setRemoteViewLargeIcon(pushTemplate.getLargeIcon(), smallLayout);
         AEPPushNotificationBuilder.setRemoteViewLargeIcon(
-                pushTemplate.getLargeIcon(), expandedLayout);
+                pushTemplate.getLargeIcon(), smallLayout, budget);
+        AEPPushNotificationBuilder.setRemoteViewLargeIcon(
+                pushTemplate.getLargeIcon(), expandedLayout, budget);
 
         // set notification visibility
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
@@ -0,0 +1,84 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.util.StringUtils;
+
+/**
+ * Process wide cache of decoded push notification images keyed by image uri.
+ *
+ * <p>The cache is bounded by the byte size of the stored bitmaps and evicts the least recently
+ * used images first. It sits in front of the asset cache so that rebuilding a notification, for
+ * example when navigating a manual carousel, does not read and decode the images from disk again.
+ *
+ * <p>Evicted images are not returned to the {@link BitmapPool}, since they may still be referenced
+ * by a notification builder or its {@code RemoteViews}.
+ */
+final class BitmapMemoryCache {
+    private static final int MAXIMUM_CACHE_SIZE_IN_BYTES = 8 * 1024 * 1024; // 8 MB
+    private static final int MAX_MEMORY_FRACTION = 16;
+
+    private static class CacheHolder {
+        static final LruCache<String, Bitmap> INSTANCE =
+                new LruCache<String, Bitmap>(getCacheSizeInBytes()) {
+                    @Override
+                    protected int sizeOf(final String key, final Bitmap value) {
+                        return value.getByteCount();
+                    }
+                };
+    }
+
+    private BitmapMemoryCache() {}
+
+    /**
+     * Returns the cached image for the provided uri.
+     *
+     * @param uri {@code String} containing the image uri
+     * @return the cached {@link Bitmap} or null if the image is not cached
+     */
+    @Nullable static Bitmap get(@Nullable final String uri) {
+        if (StringUtils.isNullOrEmpty(uri)) {
+            return null;
+        }
+        return CacheHolder.INSTANCE.get(uri);
+    }
+
+    /**
+     * Caches the provided image for the given uri.
+     *
+     * @param uri {@code String} containing the image uri
+     * @param bitmap the {@link Bitmap} to cache
+     */
+    static void put(@Nullable final String uri, @Nullable final Bitmap bitmap) {
+        if (StringUtils.isNullOrEmpty(uri) || bitmap == null) {
+            return;
+        }
+        CacheHolder.INSTANCE.put(uri, bitmap);
+    }
+
+    /**
+     * Removes the cached image for the provided uri.
+     *
+     * @param uri {@code String} containing the image uri
+     */
+    static void remove(@NonNull final String uri) {
+        CacheHolder.INSTANCE.remove(uri);
+    }
+
+    private static int getCacheSizeInBytes() {
+        final long maxMemory = Runtime.getRuntime().maxMemory();
+        return (int) Math.min(MAXIMUM_CACHE_SIZE_IN_BYTES, maxMemory / MAX_MEMORY_FRACTION);
+    }
+}
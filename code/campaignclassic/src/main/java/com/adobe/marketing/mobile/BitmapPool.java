@@ -0,0 +1,137 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Process wide pool of bitmaps whose pixel buffers can be reused when decoding or scaling push
+ * notification images.
+ *
+ * <p>Bitmaps are grouped in size classes by the byte size of their pixel buffer. A request for a
+ * bitmap is served from the smallest size class which can hold it, as long as the pooled buffer is
+ * not much larger than needed. Only bitmaps which never left the decoding code, such as the
+ * intermediate sampled decodes, may be returned to the pool. Images which were handed out, for
+ * example through the {@link BitmapMemoryCache}, can still be displayed by a notification.
+ *
+ * <p>Since the images handed out are never returned, the pool only saves the allocations of the
+ * intermediate decodes, and only when a pooled buffer is close enough in size. Decoding an image
+ * still allocates the pixel buffer of the returned bitmap in most cases. Rebuilding a carousel
+ * avoids decoding its images again through the {@link BitmapMemoryCache}, not through this pool.
+ */
+final class BitmapPool {
+    private static final int MAXIMUM_POOL_SIZE_IN_BYTES = 4 * 1024 * 1024; // 4 MB
+    private static final int MAXIMUM_SIZE_CLASS_MULTIPLE = 2;
+    private static final int BYTES_PER_ARGB_8888_PIXEL = 4;
+
+    // pooled bitmaps keyed by the byte size of their pixel buffer
+    private static final TreeMap<Integer, ArrayDeque<Bitmap>> SIZE_CLASSES = new TreeMap<>();
+    private static int pooledSizeInBytes;
+
+    private BitmapPool() {}
+
+    /**
+     * Returns a bitmap of the requested size and configuration. A pooled bitmap is reconfigured and
+     * cleared if one can hold the requested size, otherwise a new bitmap is created.
+     *
+     * @param width {@code int} containing the bitmap width
+     * @param height {@code int} containing the bitmap height
+     * @param config the {@link Bitmap.Config} of the bitmap
+     * @return a mutable {@link Bitmap} of the requested size
+     */
+    @NonNull static Bitmap get(
+            final int width, final int height, @NonNull final Bitmap.Config config) {
+        final Bitmap pooledBitmap = take(width * height * BYTES_PER_ARGB_8888_PIXEL);
+        if (pooledBitmap != null) {
+            try {
+                pooledBitmap.reconfigure(width, height, config);
+                pooledBitmap.eraseColor(Color.TRANSPARENT);
+                return pooledBitmap;
+            } catch (final IllegalArgumentException exception) {
+                // the pooled buffer cannot hold the requested configuration, allocate a new bitmap
+            }
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * Sets a pooled bitmap as the {@link BitmapFactory.Options#inBitmap} of the provided decode
+     * options if one can hold the decoded image. The options must contain the image bounds and the
+     * sample size to decode the image with.
+     *
+     * @param options the {@link BitmapFactory.Options} used to decode the image
+     */
+    static void setReusableBitmap(@NonNull final BitmapFactory.Options options) {
+        options.inMutable = true;
+        final int sampleSize = Math.max(options.inSampleSize, 1);
+        final int width = (options.outWidth + sampleSize - 1) / sampleSize;
+        final int height = (options.outHeight + sampleSize - 1) / sampleSize;
+        options.inBitmap = take(width * height * BYTES_PER_ARGB_8888_PIXEL);
+    }
+
+    /**
+     * Returns a bitmap which is no longer used to the pool. Immutable or recycled bitmaps are not
+     * pooled, and bitmaps are dropped once the pool is full.
+     *
+     * @param bitmap the {@link Bitmap} to return to the pool
+     */
+    static void put(@Nullable final Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+
+        final int sizeInBytes = bitmap.getAllocationByteCount();
+        synchronized (SIZE_CLASSES) {
+            if (pooledSizeInBytes + sizeInBytes > MAXIMUM_POOL_SIZE_IN_BYTES) {
+                return;
+            }
+
+            ArrayDeque<Bitmap> sizeClass = SIZE_CLASSES.get(sizeInBytes);
+            if (sizeClass == null) {
+                sizeClass = new ArrayDeque<>();
+                SIZE_CLASSES.put(sizeInBytes, sizeClass);
+            }
+            sizeClass.push(bitmap);
+            pooledSizeInBytes += sizeInBytes;
+        }
+    }
+
+    /**
+     * Removes a pooled bitmap able to hold the requested number of bytes from the pool.
+     *
+     * @param sizeInBytes {@code int} containing the number of bytes needed
+     * @return the pooled {@link Bitmap} or null if no pooled bitmap fits
+     */
+    private static Bitmap take(final int sizeInBytes) {
+        synchronized (SIZE_CLASSES) {
+            final Map.Entry<Integer, ArrayDeque<Bitmap>> sizeClass =
+                    SIZE_CLASSES.ceilingEntry(sizeInBytes);
+            if (sizeClass == null
+                    || sizeClass.getKey() > sizeInBytes * MAXIMUM_SIZE_CLASS_MULTIPLE) {
+                return null;
+            }
+
+            final Bitmap bitmap = sizeClass.getValue().pop();
+            if (sizeClass.getValue().isEmpty()) {
+                SIZE_CLASSES.remove(sizeClass.getKey());
+            }
+            pooledSizeInBytes -= sizeClass.getKey();
+            return bitmap;
+        }
+    }
+}
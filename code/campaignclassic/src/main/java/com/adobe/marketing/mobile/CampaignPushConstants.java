@@ -19,8 +19,6 @@ final class CampaignPushConstants {
     private CampaignPushConstants() {}
 
     static final String LOG_TAG = "CampaignClassicExtension";
-    static final String CACHE_BASE_DIR = "campaignclassic";
-    static final String PUSH_IMAGE_CACHE = "pushimagecache";
 
     static final class NotificationAction {
         static final String DISMISSED = "Notification Dismissed";
@@ -59,6 +57,20 @@ final class CampaignPushConstants {
         // value?
         static final long PUSH_NOTIFICATION_IMAGE_CACHE_EXPIRY_IN_MILLISECONDS =
                 259200000; // 3 days
+        // time a stale cached image with an ETag or Last-Modified validator is kept so that it can
+        // be revalidated with the server instead of being downloaded again
+        static final long PUSH_NOTIFICATION_IMAGE_REVALIDATION_WINDOW_IN_MILLISECONDS =
+                604800000; // 7 days
+        // total time allowed for downloading all assets of a single notification. this keeps the
+        // notification build within the time given to handle a received push message.
+        static final long NOTIFICATION_ASSET_DOWNLOAD_BUDGET_IN_MILLISECONDS = 8000; // 8 seconds
+        // images are not prefetched below this battery level unless the device is charging
+        static final int PREFETCH_MINIMUM_BATTERY_PERCENTAGE = 20;
+        static final int MAXIMUM_PREFETCH_IMAGE_COUNT = 20;
+        // time after which a notification channel known to exist is looked up again, in case the
+        // app deleted it
+        static final long NOTIFICATION_CHANNEL_REVALIDATION_INTERVAL_IN_MILLISECONDS =
+                3600000; // 1 hour
         static final long DEFAULT_REMIND_LATER_TIMESTAMP =
                 -1L; // -1L means that no remind later timestamp was found in the action button
         // payload
@@ -66,6 +78,15 @@ final class CampaignPushConstants {
         private DefaultValues() {}
     }
 
+    static final class ImageCacheMetadataKeys {
+        static final String ENCODING = "encoding";
+        static final String ETAG = "etag";
+        static final String LAST_MODIFIED = "lastModified";
+        static final String FRESH_UNTIL = "freshUntil";
+
+        private ImageCacheMetadataKeys() {}
+    }
+
     static final class IntentActions {
         static final String FILMSTRIP_LEFT_CLICKED = "filmstrip_left";
         static final String FILMSTRIP_RIGHT_CLICKED = "filmstrip_right";
@@ -162,6 +183,7 @@ final class CampaignPushConstants {
         public static final String INPUT_FIELD_TEXT = "adb_input_txt";
         public static final String FEEDBACK_RECEIVED_TEXT = "adb_feedback_txt";
         public static final String FEEDBACK_RECEIVED_IMAGE = "adb_feedback_img";
+        public static final String PREFETCH_IMAGES = "adb_prefetch";
 
         private PushPayloadKeys() {}
     }
@@ -0,0 +1,296 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.PowerManager;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.services.ServiceProvider;
+import com.adobe.marketing.mobile.services.caching.CacheService;
+import com.adobe.marketing.mobile.util.StringUtils;
+import com.adobe.marketing.mobile.util.UrlUtils;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+/**
+ * Warms the push notification image cache ahead of upcoming campaigns.
+ *
+ * <p>Images are prefetched either through {@link CampaignClassic#prefetchImages(List)} or through
+ * a silent data push containing the {@link CampaignPushConstants.PushPayloadKeys#PREFETCH_IMAGES}
+ * key. Prefetching is skipped when the device is on a metered network, is in battery saver mode,
+ * or is low on battery and not charging, as the images are then downloaded when the notification
+ * is received instead.
+ */
+class CampaignPushImagePrefetcher {
+    private static final String SELF_TAG = "CampaignPushImagePrefetcher";
+
+    private CampaignPushImagePrefetcher() {}
+
+    private static class ExecutorHolder {
+        static final Executor INSTANCE = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Prefetches the images referenced by the provided uris in the background if the network and
+     * battery constraints allow it. Invalid and duplicate uris are ignored, and at most {@link
+     * CampaignPushConstants.DefaultValues#MAXIMUM_PREFETCH_IMAGE_COUNT} images are prefetched.
+     *
+     * <p>The network and battery constraints are checked in the background as well, since this
+     * method is usually called from the main thread.
+     *
+     * @param context the application {@link Context}
+     * @param imageUris {@link List<String>} containing the image asset urls
+     */
+    static void prefetch(@Nullable final Context context, @Nullable final List<String> imageUris) {
+        final List<String> validImageUris = getValidImageUris(imageUris);
+        if (validImageUris.isEmpty()) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "No valid image uris were provided, nothing to prefetch.");
+            return;
+        }
+
+        if (context == null) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Application context is not available, skipping image prefetch.");
+            return;
+        }
+
+        ExecutorHolder.INSTANCE.execute(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        prefetchIfAllowed(context, validImageUris);
+                    }
+                });
+    }
+
+    /**
+     * Prefetches the provided images if the network and battery constraints allow it.
+     *
+     * @param context the application {@link Context}
+     * @param validImageUris {@link List<String>} containing the valid image asset urls
+     */
+    private static void prefetchIfAllowed(
+            @NonNull final Context context, @NonNull final List<String> validImageUris) {
+        if (!isOnUnmeteredNetwork(context) || !hasBatteryForPrefetch(context)) {
+            return;
+        }
+
+        final CacheService cacheService = ServiceProvider.getInstance().getCacheService();
+        if (cacheService == null) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Cache service is not available, skipping image prefetch.");
+            return;
+        }
+
+        Log.trace(
+                CampaignPushConstants.LOG_TAG,
+                SELF_TAG,
+                "Prefetching %d push notification images.",
+                validImageUris.size());
+        CampaignPushUtils.prefetchImages(cacheService, validImageUris);
+    }
+
+    /**
+     * Returns whether the provided push message data is a silent data push requesting images to be
+     * prefetched. Such messages contain a list of images to prefetch and no notification content.
+     *
+     * @param messageData {@code Map<String, String>} containing the push message data
+     * @return {@code boolean} true if the message only requests images to be prefetched
+     */
+    static boolean isPrefetchMessage(@Nullable final Map<String, String> messageData) {
+        return messageData != null
+                && !StringUtils.isNullOrEmpty(
+                        messageData.get(CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES))
+                && StringUtils.isNullOrEmpty(
+                        messageData.get(CampaignPushConstants.PushPayloadKeys.TITLE))
+                && StringUtils.isNullOrEmpty(
+                        messageData.get(CampaignPushConstants.PushPayloadKeys.BODY))
+                && StringUtils.isNullOrEmpty(
+                        messageData.get(CampaignPushConstants.PushPayloadKeys.ACC_PAYLOAD_BODY));
+    }
+
+    /**
+     * Reads the image uris from the {@link CampaignPushConstants.PushPayloadKeys#PREFETCH_IMAGES}
+     * value of a silent data push. The value is a JSON array of image urls.
+     *
+     * @param messageData {@code Map<String, String>} containing the push message data
+     * @return {@link List<String>} containing the image uris, empty if none could be read
+     */
+    @NonNull static List<String> getPrefetchImageUris(
+            @NonNull final Map<String, String> messageData) {
+        final List<String> imageUris = new ArrayList<>();
+        final String prefetchImages =
+                messageData.get(CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES);
+        if (StringUtils.isNullOrEmpty(prefetchImages)) {
+            return imageUris;
+        }
+
+        try {
+            final JSONArray imageArray = new JSONArray(prefetchImages);
+            for (int i = 0; i < imageArray.length(); i++) {
+                imageUris.add(imageArray.optString(i));
+            }
+        } catch (final JSONException exception) {
+            Log.warning(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to parse the images to prefetch from the push payload. Exception: %s",
+                    exception.getLocalizedMessage());
+        }
+        return imageUris;
+    }
+
+    /**
+     * Removes the invalid and duplicate uris from the provided list, keeping at most {@link
+     * CampaignPushConstants.DefaultValues#MAXIMUM_PREFETCH_IMAGE_COUNT} uris.
+     *
+     * @param imageUris {@link List<String>} containing the image asset urls
+     * @return {@link List<String>} containing the valid image uris in their original order
+     */
+    @NonNull static List<String> getValidImageUris(@Nullable final List<String> imageUris) {
+        final Set<String> validImageUris = new LinkedHashSet<>();
+        if (imageUris == null) {
+            return new ArrayList<>(validImageUris);
+        }
+
+        for (final String imageUri : imageUris) {
+            if (validImageUris.size()
+                    == CampaignPushConstants.DefaultValues.MAXIMUM_PREFETCH_IMAGE_COUNT) {
+                Log.debug(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Only the first %d images will be prefetched.",
+                        CampaignPushConstants.DefaultValues.MAXIMUM_PREFETCH_IMAGE_COUNT);
+                break;
+            }
+            if (!StringUtils.isNullOrEmpty(imageUri) && UrlUtils.isValidUrl(imageUri)) {
+                validImageUris.add(imageUri);
+            }
+        }
+        return new ArrayList<>(validImageUris);
+    }
+
+    /**
+     * Returns whether the device is connected to a network which is not metered, such as Wi-Fi.
+     *
+     * @param context the application {@link Context}
+     * @return {@code boolean} true if images can be prefetched on the current network
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean isOnUnmeteredNetwork(@NonNull final Context context) {
+        final ConnectivityManager connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) {
+            return false;
+        }
+
+        try {
+            final NetworkInfo activeNetwork = connectivityManager.getActiveNetworkInfo();
+            if (activeNetwork == null || !activeNetwork.isConnected()) {
+                Log.debug(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Device is offline, skipping image prefetch.");
+                return false;
+            }
+            if (connectivityManager.isActiveNetworkMetered()) {
+                Log.debug(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Device is on a metered network, skipping image prefetch.");
+                return false;
+            }
+        } catch (final SecurityException exception) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Unable to read the network state, skipping image prefetch. Exception: %s",
+                    exception.getLocalizedMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the battery allows images to be prefetched. Images are not prefetched in
+     * battery saver mode, or when the battery level is below {@link
+     * CampaignPushConstants.DefaultValues#PREFETCH_MINIMUM_BATTERY_PERCENTAGE} and the device is
+     * not charging.
+     *
+     * @param context the application {@link Context}
+     * @return {@code boolean} true if images can be prefetched with the current battery state
+     */
+    private static boolean hasBatteryForPrefetch(@NonNull final Context context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            final PowerManager powerManager =
+                    (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+            if (powerManager != null && powerManager.isPowerSaveMode()) {
+                Log.debug(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Device is in battery saver mode, skipping image prefetch.");
+                return false;
+            }
+        }
+
+        // the battery changed broadcast is sticky, no receiver is needed to read its last value
+        final Intent batteryStatus =
+                context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (batteryStatus == null) {
+            return true;
+        }
+
+        final int status = batteryStatus.getIntExtra(BatteryManager.EXTRA_STATUS, -1);
+        if (status == BatteryManager.BATTERY_STATUS_CHARGING
+                || status == BatteryManager.BATTERY_STATUS_FULL) {
+            return true;
+        }
+
+        final int level = batteryStatus.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+        final int scale = batteryStatus.getIntExtra(BatteryManager.EXTRA_SCALE, -1);
+        if (level < 0 || scale <= 0) {
+            return true;
+        }
+
+        final int batteryPercentage = level * 100 / scale;
+        if (batteryPercentage
+                < CampaignPushConstants.DefaultValues.PREFETCH_MINIMUM_BATTERY_PERCENTAGE) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Battery level is low, skipping image prefetch.");
+            return false;
+        }
+        return true;
+    }
+}
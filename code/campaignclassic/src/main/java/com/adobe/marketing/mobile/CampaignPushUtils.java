@@ -16,14 +16,17 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
 import android.graphics.Matrix;
+import android.graphics.Paint;
 import android.graphics.RectF;
 import android.net.Uri;
+import android.os.Build;
+import android.util.LruCache;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import com.adobe.marketing.mobile.services.DeviceInforming;
+import com.adobe.marketing.mobile.campaignclassic.internal.PushImageCacheManager;
 import com.adobe.marketing.mobile.services.Log;
-import com.adobe.marketing.mobile.services.ServiceProvider;
 import com.adobe.marketing.mobile.services.caching.CacheEntry;
 import com.adobe.marketing.mobile.services.caching.CacheExpiry;
 import com.adobe.marketing.mobile.services.caching.CacheResult;
@@ -32,18 +35,27 @@ import com.adobe.marketing.mobile.util.StringUtils;
 import com.adobe.marketing.mobile.util.UrlUtils;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Utility class for building push notifications.
@@ -54,36 +66,272 @@ import java.util.concurrent.TimeUnit;
  */
 class CampaignPushUtils {
     private static final String SELF_TAG = "CampaignPushUtils";
-    private static final int FULL_BITMAP_QUALITY = 100;
+    private static final int WEBP_CACHE_QUALITY = 80;
+    private static final int RAW_ARGB_HEADER_SIZE = 8;
     private static final int DOWNLOAD_TIMEOUT = 10;
     private static final int MINIMUM_FILMSTRIP_SIZE = 3;
+    private static final int MAXIMUM_CONCURRENT_DOWNLOADS = 4;
+    private static final int MAXIMUM_CONCURRENT_PREFETCHES = 2;
+    private static final int IDLE_THREAD_KEEP_ALIVE = 30;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final int MAXIMUM_INITIAL_STREAM_CAPACITY = 1024 * 1024; // 1 MB
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final int MAXIMUM_RESOURCE_ID_CACHE_SIZE = 64;
+
+    private static final ConcurrentHashMap<String, FutureTask<Bitmap>> IN_FLIGHT_FETCHES =
+            new ConcurrentHashMap<>();
+
+    // the app icon is resolved once per process, null until it is resolved
+    private static volatile Integer defaultAppIcon;
+
+    // drawable resource names mapped to their resource id, 0 if no drawable exists for the name
+    private static class ResourceIdCacheHolder {
+        static final LruCache<String, Integer> INSTANCE =
+                new LruCache<>(MAXIMUM_RESOURCE_ID_CACHE_SIZE);
+    }
+
+    // raw resource names mapped to their sound uri
+    private static class SoundUriCacheHolder {
+        static final LruCache<String, Uri> INSTANCE =
+                new LruCache<>(MAXIMUM_RESOURCE_ID_CACHE_SIZE);
+    }
 
     private static class ExecutorHolder {
-        static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor();
+        static final ExecutorService INSTANCE = newBoundedExecutor(MAXIMUM_CONCURRENT_DOWNLOADS);
+    }
+
+    private static class FetchExecutorHolder {
+        static final ExecutorService INSTANCE = newBoundedExecutor(MAXIMUM_CONCURRENT_DOWNLOADS);
+    }
+
+    // runs the downloads shared by concurrent callers, separate from the fetch executor whose
+    // threads wait for them
+    private static class SharedFetchExecutorHolder {
+        static final ExecutorService INSTANCE = newBoundedExecutor(MAXIMUM_CONCURRENT_DOWNLOADS);
+    }
+
+    // runs the prefetches on low priority threads, separate from the fetch executor so that a
+    // prefetch burst does not delay the images of a notification being built
+    private static class PrefetchExecutorHolder {
+        static final ExecutorService INSTANCE =
+                newBoundedExecutor(MAXIMUM_CONCURRENT_PREFETCHES, Thread.MIN_PRIORITY);
     }
 
     private static ExecutorService getExecutor() {
         return CampaignPushUtils.ExecutorHolder.INSTANCE;
     }
 
-    private static class DownloadImageCallable implements Callable<Bitmap> {
+    private static ExecutorService getFetchExecutor() {
+        return CampaignPushUtils.FetchExecutorHolder.INSTANCE;
+    }
+
+    private static ExecutorService getSharedFetchExecutor() {
+        return CampaignPushUtils.SharedFetchExecutorHolder.INSTANCE;
+    }
+
+    private static ExecutorService getPrefetchExecutor() {
+        return CampaignPushUtils.PrefetchExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * Creates an {@code ExecutorService} running at most {@code poolSize} tasks at once. Idle
+     * threads are released after {@link #IDLE_THREAD_KEEP_ALIVE} seconds so the pool does not hold
+     * threads between push notifications.
+     *
+     * @param poolSize {@code int} containing the maximum number of threads in the pool
+     * @return the created {@link ExecutorService}
+     */
+    private static ExecutorService newBoundedExecutor(final int poolSize) {
+        return newBoundedExecutor(poolSize, Thread.NORM_PRIORITY);
+    }
+
+    /**
+     * Creates an {@code ExecutorService} running at most {@code poolSize} tasks at once on threads
+     * with the provided priority, see {@link #newBoundedExecutor(int)}.
+     *
+     * @param poolSize {@code int} containing the maximum number of threads in the pool
+     * @param threadPriority {@code int} containing the priority of the threads in the pool
+     * @return the created {@link ExecutorService}
+     */
+    private static ExecutorService newBoundedExecutor(
+            final int poolSize, final int threadPriority) {
+        final ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+        final ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        poolSize,
+                        poolSize,
+                        IDLE_THREAD_KEEP_ALIVE,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<Runnable>(),
+                        new ThreadFactory() {
+                            @Override
+                            public Thread newThread(final Runnable runnable) {
+                                final Thread thread = defaultThreadFactory.newThread(runnable);
+                                thread.setPriority(threadPriority);
+                                return thread;
+                            }
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class DownloadAndCacheImageCallable implements Callable<Bitmap> {
+        final CacheService cacheService;
+        final String uri;
+        final CacheResult staleCacheResult;
+
+        DownloadAndCacheImageCallable(
+                final CacheService cacheService,
+                final String uri,
+                final CacheResult staleCacheResult) {
+            this.cacheService = cacheService;
+            this.uri = uri;
+            this.staleCacheResult = staleCacheResult;
+        }
+
+        @Override
+        public Bitmap call() {
+            return downloadAndCacheImage(cacheService, uri, staleCacheResult);
+        }
+    }
+
+    /**
+     * Download of an image shared by every caller requesting the same uri. The download is
+     * removed from {@link #IN_FLIGHT_FETCHES} once it completes.
+     */
+    private static final class SharedFetchTask extends FutureTask<Bitmap> {
+        private final String uri;
+
+        SharedFetchTask(
+                final CacheService cacheService,
+                final String uri,
+                final CacheResult staleCacheResult) {
+            super(new DownloadAndCacheImageCallable(cacheService, uri, staleCacheResult));
+            this.uri = uri;
+        }
+
+        @Override
+        protected void done() {
+            IN_FLIGHT_FETCHES.remove(uri, this);
+        }
+    }
+
+    private static class FetchImageCallable implements Callable<Bitmap> {
+        final CacheService cacheService;
+        final String uri;
+        final AssetDownloadBudget budget;
+
+        FetchImageCallable(
+                final CacheService cacheService,
+                final String uri,
+                final AssetDownloadBudget budget) {
+            this.cacheService = cacheService;
+            this.uri = uri;
+            this.budget = budget;
+        }
+
+        @Override
+        public Bitmap call() {
+            return downloadImage(cacheService, uri, budget);
+        }
+    }
+
+    /**
+     * A downloaded image along with the encoded bytes it was decoded from and the cache validators
+     * returned by the server. The bitmap is null if the image was downloaded without being
+     * decoded. A {@code DownloadedImage} without data means the server responded that the
+     * previously cached image was not modified.
+     */
+    private static final class DownloadedImage {
+        final byte[] data;
+        final Bitmap bitmap;
+        final String etag;
+        final String lastModified;
+
+        DownloadedImage(
+                final byte[] data,
+                final Bitmap bitmap,
+                final String etag,
+                final String lastModified) {
+            this.data = data;
+            this.bitmap = bitmap;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        static DownloadedImage notModified(final String etag, final String lastModified) {
+            return new DownloadedImage(null, null, etag, lastModified);
+        }
+
+        boolean isNotModified() {
+            return data == null;
+        }
+    }
+
+    /**
+     * {@code ByteArrayOutputStream} whose content can be read back without copying its buffer.
+     */
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        ExposedByteArrayOutputStream(final int size) {
+            super(size);
+        }
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    private static class DownloadImageCallable implements Callable<DownloadedImage> {
         final String url;
+        final int targetWidth;
+        final int targetHeight;
+        final boolean decode;
+        final Map<String, String> cachedMetadata;
 
-        DownloadImageCallable(final String url) {
+        DownloadImageCallable(
+                final String url,
+                final int targetWidth,
+                final int targetHeight,
+                final boolean decode,
+                final Map<String, String> cachedMetadata) {
             this.url = url;
+            this.targetWidth = targetWidth;
+            this.targetHeight = targetHeight;
+            this.decode = decode;
+            this.cachedMetadata = cachedMetadata;
         }
 
         @Override
-        public Bitmap call() {
+        public DownloadedImage call() {
+            byte[] imageData = null;
             Bitmap bitmap = null;
+            String etag = null;
+            String lastModified = null;
             HttpURLConnection connection = null;
             InputStream inputStream = null;
 
             try {
                 final URL imageUrl = new URL(url);
                 connection = (HttpURLConnection) imageUrl.openConnection();
+                setConditionalRequestHeaders(connection, cachedMetadata);
+                etag = connection.getHeaderField(HEADER_ETAG);
+                lastModified = connection.getHeaderField(HEADER_LAST_MODIFIED);
+                if (connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    Log.trace(
+                            CampaignPushConstants.LOG_TAG,
+                            SELF_TAG,
+                            "Push notification image from url (%s) was not modified.",
+                            url);
+                    return DownloadedImage.notModified(etag, lastModified);
+                }
                 inputStream = connection.getInputStream();
-                bitmap = BitmapFactory.decodeStream(inputStream);
+                imageData = readStream(inputStream, connection.getContentLength());
+                if (decode) {
+                    bitmap = decodeSampledBitmap(imageData, targetWidth, targetHeight);
+                }
             } catch (final IOException e) {
                 Log.warning(
                         CampaignPushConstants.LOG_TAG,
@@ -117,28 +365,125 @@ class CampaignPushUtils {
                     SELF_TAG,
                     "Downloaded push notification image from url (%s)",
                     url);
-            return bitmap;
+            return decode && bitmap == null
+                    ? null
+                    : new DownloadedImage(imageData, bitmap, etag, lastModified);
+        }
+    }
+
+    /**
+     * Adds the {@code If-None-Match} and {@code If-Modified-Since} request headers using the
+     * validators stored with a previously cached image, so the server can respond with a 304 if
+     * the image did not change.
+     *
+     * @param connection the {@link HttpURLConnection} to add the headers to
+     * @param cachedMetadata {@code Map<String, String>} containing the cached image metadata, or
+     *     null if the image is not cached
+     */
+    private static void setConditionalRequestHeaders(
+            final HttpURLConnection connection, final Map<String, String> cachedMetadata) {
+        if (cachedMetadata == null) {
+            return;
+        }
+
+        final String etag = cachedMetadata.get(CampaignPushConstants.ImageCacheMetadataKeys.ETAG);
+        if (!StringUtils.isNullOrEmpty(etag)) {
+            connection.setRequestProperty(HEADER_IF_NONE_MATCH, etag);
+        }
+
+        final String lastModified =
+                cachedMetadata.get(CampaignPushConstants.ImageCacheMetadataKeys.LAST_MODIFIED);
+        if (!StringUtils.isNullOrEmpty(lastModified)) {
+            connection.setRequestProperty(HEADER_IF_MODIFIED_SINCE, lastModified);
         }
     }
 
     static Bitmap download(final String url) {
-        Bitmap bitmap = null;
+        return download(url, AssetDownloadBudget.unbounded());
+    }
+
+    static Bitmap download(final String url, @NonNull final AssetDownloadBudget budget) {
+        final DownloadedImage downloadedImage = download(url, 0, 0, true, null, budget);
+        return downloadedImage == null ? null : downloadedImage.bitmap;
+    }
+
+    /**
+     * Downloads the image at the provided url. The download waits for at most {@link
+     * #DOWNLOAD_TIMEOUT} seconds or for the time left in the provided {@code AssetDownloadBudget},
+     * whichever is shorter. No download is attempted if the budget is already exhausted.
+     *
+     * <p>If a target size is provided, the downloaded image is decoded at a reduced size then
+     * scaled to fit the target size, see {@link #decodeSampledBitmap(byte[], int, int)}.
+     *
+     * <p>If the metadata of a previously cached copy of the image is provided, the request is
+     * made conditional on the validators it contains. A {@link DownloadedImage} without data is
+     * returned if the server reports that the cached image is still valid.
+     *
+     * @param url {@code String} containing the image url
+     * @param targetWidth {@code int} containing the width to fit the image in, 0 to keep the
+     *     original size
+     * @param targetHeight {@code int} containing the height to fit the image in, 0 to keep the
+     *     original size
+     * @param decode {@code boolean} false to only download the encoded image without decoding it
+     * @param cachedMetadata {@code Map<String, String>} containing the metadata of the cached copy
+     *     of the image, or null if the image is not cached
+     * @param budget the {@link AssetDownloadBudget} of the notification being built
+     * @return the {@link DownloadedImage} or null if the download failed or timed out
+     */
+    private static DownloadedImage download(
+            final String url,
+            final int targetWidth,
+            final int targetHeight,
+            final boolean decode,
+            @Nullable final Map<String, String> cachedMetadata,
+            @NonNull final AssetDownloadBudget budget) {
+        if (budget.isExhausted()) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Download time budget is exhausted, will not download image from url (%s).",
+                    url);
+            return null;
+        }
+
+        DownloadedImage downloadedImage = null;
         final ExecutorService executorService = getExecutor();
-        final Future<Bitmap> downloadTask = executorService.submit(new DownloadImageCallable(url));
+        final Future<DownloadedImage> downloadTask =
+                executorService.submit(
+                        new DownloadImageCallable(
+                                url, targetWidth, targetHeight, decode, cachedMetadata));
 
         try {
-            bitmap = downloadTask.get(DOWNLOAD_TIMEOUT, TimeUnit.SECONDS);
+            downloadedImage =
+                    downloadTask.get(
+                            Math.min(
+                                    TimeUnit.SECONDS.toMillis(DOWNLOAD_TIMEOUT),
+                                    budget.getRemainingMilliseconds()),
+                            TimeUnit.MILLISECONDS);
         } catch (final Exception e) {
             downloadTask.cancel(true);
         }
 
-        return bitmap;
+        return downloadedImage;
     }
 
+    /**
+     * Returns the resource id of the application icon. The icon is read from the {@code
+     * PackageManager} once and reused for the lifetime of the process.
+     *
+     * @param context the application {@link Context}
+     * @return the resource id of the application icon, or -1 if it cannot be read
+     */
     static int getDefaultAppIcon(@NonNull final Context context) {
+        final Integer cachedIcon = defaultAppIcon;
+        if (cachedIcon != null) {
+            return cachedIcon;
+        }
+
+        int icon = -1;
         final String packageName = context.getPackageName();
         try {
-            return context.getPackageManager().getApplicationInfo(packageName, 0).icon;
+            icon = context.getPackageManager().getApplicationInfo(packageName, 0).icon;
         } catch (PackageManager.NameNotFoundException e) {
             Log.warning(
                     CampaignPushConstants.LOG_TAG,
@@ -147,31 +492,46 @@ class CampaignPushUtils {
                             + " Exception: %s",
                     e.getMessage());
         }
-        return -1;
+        defaultAppIcon = icon;
+        return icon;
     }
 
     /**
      * Returns the Uri for the sound file with the given name. The sound file must be in the res/raw
      * directory. The sound file should be in format of .mp3, .wav, or .ogg
      *
+     * <p>The Uri is built once per sound name and cached.
+     *
      * @param soundName the name of the sound file
      * @param context the application {@link Context}
      * @return the Uri for the sound file with the given name
      */
     static Uri getSoundUriForResourceName(
             final @NonNull String soundName, @NonNull final Context context) {
-        return Uri.parse(
-                ContentResolver.SCHEME_ANDROID_RESOURCE
-                        + "://"
-                        + context.getPackageName()
-                        + "/raw/"
-                        + soundName);
+        final LruCache<String, Uri> soundUris = SoundUriCacheHolder.INSTANCE;
+        final Uri cachedUri = soundUris.get(soundName);
+        if (cachedUri != null) {
+            return cachedUri;
+        }
+
+        final Uri soundUri =
+                Uri.parse(
+                        ContentResolver.SCHEME_ANDROID_RESOURCE
+                                + "://"
+                                + context.getPackageName()
+                                + "/raw/"
+                                + soundName);
+        soundUris.put(soundName, soundUri);
+        return soundUri;
     }
 
     /**
      * Returns the resource id for the drawable with the given name. The file must be in the
      * res/drawable directory. If the drawable file is not found, 0 is returned.
      *
+     * <p>Resource ids are looked up with {@code Resources.getIdentifier} once per name and cached,
+     * including the names for which no drawable exists.
+     *
      * @param iconName the name of the icon file
      * @param context the application {@link Context}
      * @return the resource id for the icon with the given name
@@ -181,47 +541,215 @@ class CampaignPushUtils {
         if (StringUtils.isNullOrEmpty(iconName)) {
             return 0;
         }
-        return context.getResources().getIdentifier(iconName, "drawable", context.getPackageName());
+
+        final LruCache<String, Integer> resourceIds = ResourceIdCacheHolder.INSTANCE;
+        final Integer cachedId = resourceIds.get(iconName);
+        if (cachedId != null) {
+            return cachedId;
+        }
+
+        final int resourceId =
+                context.getResources()
+                        .getIdentifier(iconName, "drawable", context.getPackageName());
+        resourceIds.put(iconName, resourceId);
+        return resourceId;
+    }
+
+    /**
+     * Returns the encoding used when writing downloaded images to the asset cache, as configured
+     * with the {@code campaignclassic.pushImageCacheEncoding} configuration key.
+     *
+     * @return the configured {@link ImageCacheEncoding}, or {@link ImageCacheEncoding#ORIGINAL}
+     *     if the configured value is not a valid encoding
+     */
+    private static ImageCacheEncoding getImageCacheEncoding() {
+        final String configuredEncoding = PushImageCacheManager.getInstance().getCacheEncoding();
+        final ImageCacheEncoding encoding = ImageCacheEncoding.fromString(configuredEncoding);
+        if (encoding == null) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Invalid push image cache encoding (%s), caching the original image instead.",
+                    configuredEncoding);
+            return ImageCacheEncoding.ORIGINAL;
+        }
+        return encoding;
     }
 
     /**
-     * Converts a {@code Bitmap} into an {@code InputStream} to be used in caching images.
+     * Creates an {@code InputStream} containing the provided downloaded image in the given cache
+     * encoding. The returned stream reads directly from the encoded buffer, no copy of the encoded
+     * image is made.
      *
-     * @param bitmap {@link Bitmap} to be converted into an {@link InputStream}
-     * @return an {@code InputStream} created from the provided bitmap
+     * @param downloadedImage the {@link DownloadedImage} to be cached
+     * @param encoding the {@link ImageCacheEncoding} to use
+     * @return an {@code InputStream} containing the encoded image
      */
-    static InputStream bitmapToInputStream(final Bitmap bitmap) {
-        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.PNG, FULL_BITMAP_QUALITY, byteArrayOutputStream);
-        final byte[] bitmapData = byteArrayOutputStream.toByteArray();
-        return new ByteArrayInputStream(bitmapData);
+    @SuppressWarnings("deprecation")
+    private static InputStream imageToInputStream(
+            final DownloadedImage downloadedImage, final ImageCacheEncoding encoding) {
+        final Bitmap bitmap = downloadedImage.bitmap;
+        switch (encoding) {
+            case WEBP_LOSSY:
+                final ExposedByteArrayOutputStream outputStream =
+                        new ExposedByteArrayOutputStream(STREAM_BUFFER_SIZE);
+                final Bitmap.CompressFormat format =
+                        Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+                                ? Bitmap.CompressFormat.WEBP_LOSSY
+                                : Bitmap.CompressFormat.WEBP;
+                bitmap.compress(format, WEBP_CACHE_QUALITY, outputStream);
+                return outputStream.toInputStream();
+            case RAW_ARGB:
+                final Bitmap argbBitmap =
+                        bitmap.getConfig() == Bitmap.Config.ARGB_8888
+                                ? bitmap
+                                : bitmap.copy(Bitmap.Config.ARGB_8888, false);
+                final ByteBuffer pixelBuffer =
+                        ByteBuffer.allocate(RAW_ARGB_HEADER_SIZE + argbBitmap.getByteCount());
+                pixelBuffer.putInt(argbBitmap.getWidth()).putInt(argbBitmap.getHeight());
+                argbBitmap.copyPixelsToBuffer(pixelBuffer);
+                if (argbBitmap != bitmap) {
+                    argbBitmap.recycle();
+                }
+                return new ByteArrayInputStream(pixelBuffer.array());
+            case ORIGINAL:
+            default:
+                return new ByteArrayInputStream(downloadedImage.data);
+        }
     }
 
     /**
      * Writes a {@code InputStream} to the Campaign Classic extension's asset cache location.
      *
+     * <p>The image is considered fresh for 3 days. Images cached with an ETag or Last-Modified
+     * validator are kept for an additional revalidation window once they become stale, so that a
+     * conditional request can be made instead of downloading the image again.
+     *
      * @param cacheService {@link CacheService} the AEPSDK cache service
-     * @param bitmapInputStream {@link InputStream} created from a download {@link Bitmap}
+     * @param imageInputStream {@link InputStream} containing the encoded image
      * @param imageUri {@code String} containing the image uri to be used a cache key
+     * @param metadata {@code Map<String, String>} containing the cache entry metadata
      */
-    static void cacheBitmapInputStream(
+    static void cacheImageInputStream(
             final CacheService cacheService,
-            final InputStream bitmapInputStream,
-            final String imageUri) {
+            final InputStream imageInputStream,
+            final String imageUri,
+            final Map<String, String> metadata) {
         Log.trace(
                 CampaignPushConstants.LOG_TAG,
                 SELF_TAG,
                 "Caching image downloaded from %s.",
                 imageUri);
-        // cache push notification images for 3 days
+        final long freshnessInMilliseconds =
+                CampaignPushConstants.DefaultValues
+                        .PUSH_NOTIFICATION_IMAGE_CACHE_EXPIRY_IN_MILLISECONDS;
+        final Map<String, String> entryMetadata =
+                metadata == null ? new HashMap<String, String>() : new HashMap<>(metadata);
+        entryMetadata.put(
+                CampaignPushConstants.ImageCacheMetadataKeys.FRESH_UNTIL,
+                String.valueOf(System.currentTimeMillis() + freshnessInMilliseconds));
+        final String etag = entryMetadata.get(CampaignPushConstants.ImageCacheMetadataKeys.ETAG);
+        final String lastModified =
+                entryMetadata.get(CampaignPushConstants.ImageCacheMetadataKeys.LAST_MODIFIED);
+        final boolean revalidatable =
+                !StringUtils.isNullOrEmpty(etag) || !StringUtils.isNullOrEmpty(lastModified);
+        final long expiryInMilliseconds =
+                revalidatable
+                        ? freshnessInMilliseconds
+                                + CampaignPushConstants.DefaultValues
+                                        .PUSH_NOTIFICATION_IMAGE_REVALIDATION_WINDOW_IN_MILLISECONDS
+                        : freshnessInMilliseconds;
         final CacheEntry cacheEntry =
                 new CacheEntry(
-                        bitmapInputStream,
-                        CacheExpiry.after(
-                                CampaignPushConstants.DefaultValues
-                                        .PUSH_NOTIFICATION_IMAGE_CACHE_EXPIRY_IN_MILLISECONDS),
-                        null);
-        cacheService.set(CampaignPushUtils.getAssetCacheLocation(), imageUri, cacheEntry);
+                        imageInputStream, CacheExpiry.after(expiryInMilliseconds), entryMetadata);
+        long entrySizeInBytes = 0;
+        try {
+            entrySizeInBytes = imageInputStream.available();
+        } catch (final IOException exception) {
+            Log.trace(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Unable to determine the size of the image cached for %s.",
+                    imageUri);
+        }
+        if (cacheService.set(CampaignPushUtils.getAssetCacheLocation(), imageUri, cacheEntry)) {
+            PushImageCacheManager.getInstance().recordWrite(imageUri, entrySizeInBytes);
+        }
+    }
+
+    /**
+     * Creates a {@code Bitmap} from a cached image. Images cached as raw pixels are copied into a
+     * new bitmap, any other image is decoded to fit the carousel image size.
+     *
+     * @param cacheResult the {@link CacheResult} containing the cached image
+     * @return the cached {@link Bitmap} or null if the cached image could not be read
+     */
+    static Bitmap decodeCachedImage(@NonNull final CacheResult cacheResult) {
+        try (final InputStream cachedData = cacheResult.getData()) {
+            if (cachedData == null) {
+                return null;
+            }
+            return decodeCachedImageData(
+                    readStream(cachedData, -1), getCachedImageEncoding(cacheResult));
+        } catch (final IOException | RuntimeException exception) {
+            Log.warning(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to read a cached push notification image. Exception: %s",
+                    exception.getMessage());
+            return null;
+        }
+    }
+
+    private static Bitmap decodeCachedImageData(
+            final byte[] imageData, final ImageCacheEncoding encoding) {
+        if (encoding == ImageCacheEncoding.RAW_ARGB) {
+            final ByteBuffer pixelBuffer = ByteBuffer.wrap(imageData);
+            final Bitmap bitmap =
+                    BitmapPool.get(
+                            pixelBuffer.getInt(), pixelBuffer.getInt(), Bitmap.Config.ARGB_8888);
+            bitmap.copyPixelsFromBuffer(pixelBuffer);
+            return bitmap;
+        }
+
+        // images cached as original bytes, WebP or PNG (written by previous versions)
+        return decodeSampledBitmap(
+                imageData,
+                CampaignPushConstants.DefaultValues.CAROUSEL_MAX_BITMAP_WIDTH,
+                CampaignPushConstants.DefaultValues.CAROUSEL_MAX_BITMAP_HEIGHT);
+    }
+
+    private static ImageCacheEncoding getCachedImageEncoding(final CacheResult cacheResult) {
+        final Map<String, String> metadata = cacheResult.getMetadata();
+        return metadata == null
+                ? null
+                : ImageCacheEncoding.fromString(
+                        metadata.get(CampaignPushConstants.ImageCacheMetadataKeys.ENCODING));
+    }
+
+    /**
+     * Returns whether a cached image is past its freshness lifetime and should be revalidated
+     * with the server before being used. Images cached by previous versions, which have no
+     * freshness information, stay fresh until their cache entry expires.
+     *
+     * @param cacheResult the {@link CacheResult} containing the cached image
+     * @return {@code boolean} true if the cached image is stale
+     */
+    private static boolean isStale(@NonNull final CacheResult cacheResult) {
+        final Map<String, String> metadata = cacheResult.getMetadata();
+        final String freshUntil =
+                metadata == null
+                        ? null
+                        : metadata.get(CampaignPushConstants.ImageCacheMetadataKeys.FRESH_UNTIL);
+        if (StringUtils.isNullOrEmpty(freshUntil)) {
+            return false;
+        }
+
+        try {
+            return System.currentTimeMillis() >= Long.parseLong(freshUntil);
+        } catch (final NumberFormatException exception) {
+            return true;
+        }
     }
 
     /**
@@ -230,28 +758,94 @@ class CampaignPushUtils {
      * @return {@code String} containing the Campaign Classic extension's asset cache location
      */
     static String getAssetCacheLocation() {
-        final DeviceInforming deviceInfoService =
-                ServiceProvider.getInstance().getDeviceInfoService();
-        if (deviceInfoService == null) return null;
-        final File applicationCacheDir = deviceInfoService.getApplicationCacheDir();
+        return PushImageCacheManager.getInstance().getCacheLocation();
+    }
 
-        return (applicationCacheDir == null)
-                ? null
-                : applicationCacheDir
-                        + File.separator
-                        + CampaignPushConstants.CACHE_BASE_DIR
-                        + File.separator
-                        + CampaignPushConstants.PUSH_IMAGE_CACHE;
+    /**
+     * Retrieves a previously cached image without downloading it. The in-memory {@link
+     * BitmapMemoryCache} is checked first, then the image is read from the asset cache and kept in
+     * memory for the next lookup.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} used for caching image assets
+     * @param uri {@code String} containing an image asset url
+     * @return the cached {@link Bitmap} or null if the image is not cached
+     */
+    static Bitmap getCachedImage(final CacheService cacheService, final String uri) {
+        if (StringUtils.isNullOrEmpty(uri)) {
+            return null;
+        }
+
+        final Bitmap memoryCachedImage = BitmapMemoryCache.get(uri);
+        if (memoryCachedImage != null) {
+            Log.trace(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Found image for %s in the memory cache.",
+                    uri);
+            return memoryCachedImage;
+        }
+
+        final CacheResult cacheResult = getCacheEntry(cacheService, uri);
+        if (cacheResult == null) {
+            return null;
+        }
+
+        Log.trace(CampaignPushConstants.LOG_TAG, SELF_TAG, "Found cached image for %s.", uri);
+        final Bitmap cachedImage = decodeCachedImage(cacheResult);
+        BitmapMemoryCache.put(uri, cachedImage);
+        return cachedImage;
+    }
+
+    /**
+     * Reads the cache entry for the provided uri from the asset cache and records the cache hit or
+     * miss with the {@link PushImageCacheManager}.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} used for caching image assets
+     * @param uri {@code String} containing an image asset url
+     * @return the {@link CacheResult} for the uri or null if the image is not cached
+     */
+    private static CacheResult getCacheEntry(final CacheService cacheService, final String uri) {
+        final CacheResult cacheResult =
+                cacheService.get(CampaignPushUtils.getAssetCacheLocation(), uri);
+        if (cacheResult == null) {
+            PushImageCacheManager.getInstance().recordMiss(uri);
+        } else {
+            PushImageCacheManager.getInstance().recordHit(uri);
+        }
+        return cacheResult;
+    }
+
+    /**
+     * Loads a previously cached image into the {@link BitmapMemoryCache} in the background so that
+     * a following {@link #getCachedImage(CacheService, String)} call does not need to decode it.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} used for caching image assets
+     * @param uri {@code String} containing an image asset url
+     */
+    static void prefetchCachedImage(final CacheService cacheService, final String uri) {
+        if (StringUtils.isNullOrEmpty(uri) || BitmapMemoryCache.get(uri) != null) {
+            return;
+        }
+
+        getPrefetchExecutor()
+                .submit(
+                        new Runnable() {
+                            @Override
+                            public void run() {
+                                getCachedImage(cacheService, uri);
+                            }
+                        });
     }
 
     /**
      * Downloads an image using the provided uri {@code String}. Prior to downloading, the image uri
-     * is used to retrieve a {@code CacheResult} containing a previously cached image. If no cache
-     * result is returned, a call to {@link CampaignPushUtils#download(String)} is made to download
-     * then cache the image.
+     * is used to retrieve a previously cached image from memory or from the asset cache, see {@link
+     * CampaignPushUtils#getCachedImage(CacheService, String)}. If no cached image is found, a call
+     * to {@link CampaignPushUtils#download(String)} is made to download then cache the image.
      *
-     * <p>If a valid cache result is returned then no image is downloaded. Instead, a {@code Bitmap}
-     * is created from the cache result and returned by this method.
+     * <p>If a fresh cached image is found then no image is downloaded. Instead, the cached {@code
+     * Bitmap} is returned by this method. A stale cached image is revalidated with a conditional
+     * request, and is kept without downloading it again if the server reports it was not modified.
      *
      * @param cacheService the AEPSDK {@link CacheService} to use for caching or retrieving
      *     downloaded image assets
@@ -259,37 +853,185 @@ class CampaignPushUtils {
      * @return {@link Bitmap} containing the image referenced by the {@code String} uri
      */
     static Bitmap downloadImage(final CacheService cacheService, final String uri) {
+        return downloadImage(cacheService, uri, AssetDownloadBudget.unbounded());
+    }
+
+    /**
+     * Retrieves an image using the provided uri {@code String}, see {@link
+     * CampaignPushUtils#downloadImage(CacheService, String)}. A cached image is always returned, a
+     * download is only started if time is left in the provided {@code AssetDownloadBudget}.
+     *
+     * <p>Only one download is made for an image uri at a time. The download runs on its own
+     * executor, limited by {@link #DOWNLOAD_TIMEOUT}, and every caller waits for its result for at
+     * most the time left in its own budget. A caller which stops waiting does not cancel the
+     * download, so the other callers still receive the image and it is still cached.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} to use for caching or retrieving
+     *     downloaded image assets
+     * @param uri {@code String} containing an image asset url
+     * @param budget the {@link AssetDownloadBudget} of the notification being built
+     * @return {@link Bitmap} containing the image referenced by the {@code String} uri
+     */
+    static Bitmap downloadImage(
+            final CacheService cacheService,
+            final String uri,
+            @NonNull final AssetDownloadBudget budget) {
         if (StringUtils.isNullOrEmpty(uri)) {
             return null;
         }
-        final String cacheLocation = CampaignPushUtils.getAssetCacheLocation();
-        final CacheResult cacheResult = cacheService.get(cacheLocation, uri);
 
-        if (cacheResult != null) {
+        final Bitmap memoryCachedImage = BitmapMemoryCache.get(uri);
+        if (memoryCachedImage != null) {
+            Log.trace(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Found image for %s in the memory cache.",
+                    uri);
+            return memoryCachedImage;
+        }
+
+        final CacheResult cacheResult = getCacheEntry(cacheService, uri);
+        if (cacheResult != null && (!isStale(cacheResult) || !UrlUtils.isValidUrl(uri))) {
             Log.trace(CampaignPushConstants.LOG_TAG, SELF_TAG, "Found cached image for %s.", uri);
-            return BitmapFactory.decodeStream(cacheResult.getData());
+            final Bitmap cachedImage = decodeCachedImage(cacheResult);
+            BitmapMemoryCache.put(uri, cachedImage);
+            return cachedImage;
         }
 
         if (!UrlUtils.isValidUrl(uri)) {
             return null;
         }
 
-        final Bitmap image = CampaignPushUtils.download(uri);
+        final FutureTask<Bitmap> inFlightFetchTask = IN_FLIGHT_FETCHES.get(uri);
+        if (inFlightFetchTask != null) {
+            Log.trace(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "A download of %s is already in progress, waiting for its result.",
+                    uri);
+            return awaitFetch(inFlightFetchTask, uri, budget);
+        }
+
+        if (budget.isExhausted()) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Download time budget is exhausted, will not download image from url (%s).",
+                    uri);
+            return cacheResult == null ? null : decodeCachedImage(cacheResult);
+        }
+
+        // concurrent callers wait for the download already in flight and share its result
+        final SharedFetchTask fetchTask = new SharedFetchTask(cacheService, uri, cacheResult);
+        final FutureTask<Bitmap> concurrentFetchTask =
+                IN_FLIGHT_FETCHES.putIfAbsent(uri, fetchTask);
+        if (concurrentFetchTask != null) {
+            return awaitFetch(concurrentFetchTask, uri, budget);
+        }
+
+        getSharedFetchExecutor().execute(fetchTask);
+        return awaitFetch(fetchTask, uri, budget);
+    }
 
-        if (image == null) return null;
+    /**
+     * Waits for the result of a fetch task for at most the time left in the provided {@code
+     * AssetDownloadBudget}. The fetch task is not cancelled if the budget runs out, since other
+     * callers may be waiting for it.
+     *
+     * @param fetchTask the {@link Future} retrieving the image
+     * @param uri {@code String} containing the image asset url
+     * @param budget the {@link AssetDownloadBudget} of the notification being built
+     * @return the retrieved {@link Bitmap} or null if the image could not be retrieved in time
+     */
+    private static Bitmap awaitFetch(
+            final Future<Bitmap> fetchTask,
+            final String uri,
+            @NonNull final AssetDownloadBudget budget) {
+        try {
+            return fetchTask.get(budget.getRemainingMilliseconds(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException exception) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Download time budget is exhausted, stopped waiting for image from url (%s).",
+                    uri);
+        } catch (final ExecutionException exception) {
+            Log.warning(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to retrieve push notification image from url (%s). Exception: %s",
+                    uri,
+                    exception.getMessage());
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Downloads the image at the provided uri, scales it to the carousel image size, then writes it
+     * to the asset cache and the {@link BitmapMemoryCache}.
+     *
+     * <p>If a stale cached copy of the image is provided, the download is conditional on its
+     * validators. The stale copy is kept with a renewed freshness lifetime if the server reports it
+     * was not modified, and is used as is if the download fails.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} to use for caching image assets
+     * @param uri {@code String} containing an image asset url
+     * @param staleCacheResult the stale {@link CacheResult} cached for the uri, or null if the
+     *     image is not cached
+     * @return the downloaded {@link Bitmap} or null if the download failed
+     */
+    private static Bitmap downloadAndCacheImage(
+            final CacheService cacheService,
+            final String uri,
+            @Nullable final CacheResult staleCacheResult) {
+        // a download which completed after the cache was checked may have already cached the image
+        final Bitmap memoryCachedImage = BitmapMemoryCache.get(uri);
+        if (memoryCachedImage != null) {
+            return memoryCachedImage;
+        }
+
+        // scale down the bitmap to 300dp x 200dp as we don't want to use a full
+        // size image due to memory constraints
+        final DownloadedImage downloadedImage =
+                CampaignPushUtils.download(
+                        uri,
+                        CampaignPushConstants.DefaultValues.CAROUSEL_MAX_BITMAP_WIDTH,
+                        CampaignPushConstants.DefaultValues.CAROUSEL_MAX_BITMAP_HEIGHT,
+                        true,
+                        staleCacheResult == null ? null : staleCacheResult.getMetadata(),
+                        AssetDownloadBudget.unbounded());
+
+        if (downloadedImage == null) {
+            if (staleCacheResult == null) return null;
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to revalidate the cached image for %s, using the stale image.",
+                    uri);
+            return decodeCachedImage(staleCacheResult);
+        }
+
+        if (downloadedImage.isNotModified()) {
+            return staleCacheResult == null
+                    ? null
+                    : renewCachedImage(cacheService, uri, staleCacheResult, downloadedImage);
+        }
 
         Log.trace(
                 CampaignPushConstants.LOG_TAG,
                 SELF_TAG,
                 "Successfully download image from %s",
                 uri);
-        // scale down the bitmap to 300dp x 200dp as we don't want to use a full
-        // size image due to memory constraints
-        final Bitmap pushImage = scaleBitmap(image);
-        // write bitmap to cache
-        try (final InputStream bitmapInputStream =
-                CampaignPushUtils.bitmapToInputStream(pushImage)) {
-            CampaignPushUtils.cacheBitmapInputStream(cacheService, bitmapInputStream, uri);
+        // write image to cache
+        final ImageCacheEncoding encoding = getImageCacheEncoding();
+        final Map<String, String> metadata =
+                createCacheMetadata(
+                        encoding.name(), downloadedImage.etag, downloadedImage.lastModified);
+        try (final InputStream imageInputStream =
+                CampaignPushUtils.imageToInputStream(downloadedImage, encoding)) {
+            CampaignPushUtils.cacheImageInputStream(cacheService, imageInputStream, uri, metadata);
         } catch (final IOException exception) {
             Log.trace(
                     CampaignPushConstants.LOG_TAG,
@@ -297,27 +1039,460 @@ class CampaignPushUtils {
                     "Exception occurred creating an input stream from a" + " bitmap: %s.",
                     exception.getLocalizedMessage());
         }
-        return pushImage;
+        BitmapMemoryCache.put(uri, downloadedImage.bitmap);
+        return downloadedImage.bitmap;
     }
 
-    private static Bitmap scaleBitmap(final Bitmap downloadedBitmap) {
-        final Matrix matrix = new Matrix();
-        matrix.setRectToRect(
-                new RectF(0, 0, downloadedBitmap.getWidth(), downloadedBitmap.getHeight()),
-                new RectF(
+    /**
+     * Rewrites a stale cached image which the server reported as not modified, renewing its
+     * freshness lifetime, then decodes it.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} to use for caching image assets
+     * @param uri {@code String} containing an image asset url
+     * @param staleCacheResult the stale {@link CacheResult} cached for the uri
+     * @param notModifiedImage the {@link DownloadedImage} created from the 304 response
+     * @return the cached {@link Bitmap} or null if the cached image could not be read
+     */
+    private static Bitmap renewCachedImage(
+            final CacheService cacheService,
+            final String uri,
+            @NonNull final CacheResult staleCacheResult,
+            @NonNull final DownloadedImage notModifiedImage) {
+        final byte[] imageData = readCachedImageData(uri, staleCacheResult);
+        if (imageData == null) {
+            return null;
+        }
+
+        final Bitmap cachedImage;
+        try {
+            cachedImage =
+                    decodeCachedImageData(imageData, getCachedImageEncoding(staleCacheResult));
+        } catch (final RuntimeException exception) {
+            Log.warning(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to decode the cached image for %s. Exception: %s",
+                    uri,
+                    exception.getMessage());
+            return null;
+        }
+        if (cachedImage == null) {
+            return null;
+        }
+
+        renewCacheEntry(cacheService, uri, staleCacheResult, imageData, notModifiedImage);
+        BitmapMemoryCache.put(uri, cachedImage);
+        return cachedImage;
+    }
+
+    /**
+     * Reads the bytes of a cached image fully, so that its cache entry can be rewritten.
+     *
+     * @param uri {@code String} containing an image asset url
+     * @param cacheResult the {@link CacheResult} cached for the uri
+     * @return {@code byte[]} containing the cached image, or null if it could not be read
+     */
+    private static byte[] readCachedImageData(
+            final String uri, @NonNull final CacheResult cacheResult) {
+        try (final InputStream cachedData = cacheResult.getData()) {
+            return cachedData == null ? null : readStream(cachedData, -1);
+        } catch (final IOException exception) {
+            Log.warning(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to read the cached image for %s. Exception: %s",
+                    uri,
+                    exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Closes the data stream of a cached image which was only read for its metadata.
+     *
+     * @param uri {@code String} containing an image asset url
+     * @param cacheResult the {@link CacheResult} cached for the uri
+     */
+    private static void closeCachedImageData(
+            final String uri, @NonNull final CacheResult cacheResult) {
+        try (final InputStream ignored = cacheResult.getData()) {
+            // only closes the stream
+        } catch (final IOException exception) {
+            Log.debug(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to close the cached image for %s. Exception: %s",
+                    uri,
+                    exception.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the cache entry of a stale image which the server reported as not modified,
+     * renewing its freshness lifetime. Validators returned with the 304 response replace the
+     * cached ones.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} to use for caching image assets
+     * @param uri {@code String} containing an image asset url
+     * @param staleCacheResult the stale {@link CacheResult} cached for the uri
+     * @param imageData {@code byte[]} containing the cached image read from the stale entry
+     * @param notModifiedImage the {@link DownloadedImage} created from the 304 response
+     */
+    private static void renewCacheEntry(
+            final CacheService cacheService,
+            final String uri,
+            @NonNull final CacheResult staleCacheResult,
+            @NonNull final byte[] imageData,
+            @NonNull final DownloadedImage notModifiedImage) {
+        final Map<String, String> staleMetadata = staleCacheResult.getMetadata();
+        final ImageCacheEncoding encoding = getCachedImageEncoding(staleCacheResult);
+        Log.trace(
+                CampaignPushConstants.LOG_TAG,
+                SELF_TAG,
+                "Cached image for %s was not modified, renewing its cache entry.",
+                uri);
+        final Map<String, String> metadata =
+                createCacheMetadata(
+                        encoding == null ? null : encoding.name(),
+                        StringUtils.isNullOrEmpty(notModifiedImage.etag)
+                                ? staleMetadata.get(
+                                        CampaignPushConstants.ImageCacheMetadataKeys.ETAG)
+                                : notModifiedImage.etag,
+                        StringUtils.isNullOrEmpty(notModifiedImage.lastModified)
+                                ? staleMetadata.get(
+                                        CampaignPushConstants.ImageCacheMetadataKeys.LAST_MODIFIED)
+                                : notModifiedImage.lastModified);
+        CampaignPushUtils.cacheImageInputStream(
+                cacheService, new ByteArrayInputStream(imageData), uri, metadata);
+    }
+
+    private static Map<String, String> createCacheMetadata(
+            final String encoding, final String etag, final String lastModified) {
+        final Map<String, String> metadata = new HashMap<>();
+        if (encoding != null) {
+            metadata.put(CampaignPushConstants.ImageCacheMetadataKeys.ENCODING, encoding);
+        }
+        if (!StringUtils.isNullOrEmpty(etag)) {
+            metadata.put(CampaignPushConstants.ImageCacheMetadataKeys.ETAG, etag);
+        }
+        if (!StringUtils.isNullOrEmpty(lastModified)) {
+            metadata.put(CampaignPushConstants.ImageCacheMetadataKeys.LAST_MODIFIED, lastModified);
+        }
+        return metadata;
+    }
+
+    /**
+     * Retrieves the images referenced by the provided uris in parallel. Each image is retrieved
+     * using {@link CampaignPushUtils#downloadImage(CacheService, String)} so previously cached
+     * images are used before attempting a download. At most {@link #MAXIMUM_CONCURRENT_DOWNLOADS}
+     * images are retrieved at the same time, and images not retrieved before the provided {@code
+     * AssetDownloadBudget} is exhausted are abandoned. Downloads of abandoned images keep running
+     * for the other callers waiting for them, and are still cached when they complete.
+     *
+     * <p>The returned list has the same size and order as the provided uris. If an image could not
+     * be retrieved, the list contains {@code null} at that image's position and the remaining
+     * images are unaffected.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} to use for caching or retrieving
+     *     downloaded image assets
+     * @param uris {@link List<String>} containing the image asset urls
+     * @param budget the {@link AssetDownloadBudget} of the notification being built
+     * @return {@link List<Bitmap>} containing the retrieved images in the order of the given uris
+     */
+    static List<Bitmap> downloadImages(
+            @NonNull final CacheService cacheService,
+            @NonNull final List<String> uris,
+            @NonNull final AssetDownloadBudget budget) {
+        final List<Bitmap> images = new ArrayList<>(uris.size());
+
+        // no need to hand off a single image to the fetch executor
+        if (uris.size() == 1) {
+            images.add(downloadImage(cacheService, uris.get(0), budget));
+            return images;
+        }
+
+        final List<Future<Bitmap>> fetchTasks = new ArrayList<>(uris.size());
+        for (final String uri : uris) {
+            fetchTasks.add(
+                    getFetchExecutor().submit(new FetchImageCallable(cacheService, uri, budget)));
+        }
+
+        for (int i = 0; i < fetchTasks.size(); i++) {
+            final Future<Bitmap> fetchTask = fetchTasks.get(i);
+            Bitmap image = null;
+            try {
+                image = fetchTask.get(budget.getRemainingMilliseconds(), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException exception) {
+                Log.debug(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Download time budget is exhausted, abandoning image from url (%s).",
+                        uris.get(i));
+                // only this caller's wait is cancelled, the shared download keeps running
+                fetchTask.cancel(true);
+            } catch (final ExecutionException exception) {
+                Log.warning(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Failed to retrieve push notification image from url (%s). Exception: %s",
+                        uris.get(i),
+                        exception.getMessage());
+            } catch (final InterruptedException exception) {
+                Log.warning(
+                        CampaignPushConstants.LOG_TAG,
+                        SELF_TAG,
+                        "Interrupted while retrieving push notification image from url (%s).",
+                        uris.get(i));
+                Thread.currentThread().interrupt();
+            }
+            images.add(image);
+        }
+
+        return images;
+    }
+
+    /**
+     * Downloads and caches the images referenced by the provided uris in the background, so that
+     * notifications using them can later be built from the cache. Images which are already cached
+     * are not downloaded again. This method does not wait for the downloads to complete.
+     *
+     * <p>Prefetches run on their own low priority executor, so that they never hold the threads
+     * fetching the images of a notification being built.
+     *
+     * <p>Prefetched images are only written to the asset cache. They are not decoded nor kept in
+     * the {@link BitmapMemoryCache}, so that prefetching does not evict the images of the
+     * notifications being displayed.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} to use for caching image assets
+     * @param uris {@link List<String>} containing the image asset urls
+     */
+    static void prefetchImages(
+            @NonNull final CacheService cacheService, @NonNull final List<String> uris) {
+        for (final String uri : uris) {
+            getPrefetchExecutor()
+                    .submit(
+                            new Runnable() {
+                                @Override
+                                public void run() {
+                                    prefetchImage(cacheService, uri);
+                                }
+                            });
+        }
+    }
+
+    /**
+     * Downloads the image at the provided uri and writes the downloaded bytes to the asset cache
+     * as is, see {@link ImageCacheEncoding#ORIGINAL}. Nothing is downloaded if a fresh copy of the
+     * image is cached or if the image is already being downloaded for a notification. A stale
+     * cached copy is revalidated with a conditional request.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} to use for caching image assets
+     * @param uri {@code String} containing an image asset url
+     */
+    private static void prefetchImage(final CacheService cacheService, final String uri) {
+        if (IN_FLIGHT_FETCHES.containsKey(uri)) {
+            return;
+        }
+
+        final CacheResult cacheResult =
+                cacheService.get(CampaignPushUtils.getAssetCacheLocation(), uri);
+        try {
+            prefetchImage(cacheService, uri, cacheResult);
+        } finally {
+            if (cacheResult != null) {
+                closeCachedImageData(uri, cacheResult);
+            }
+        }
+    }
+
+    /**
+     * Prefetches the image at the provided uri, see {@link #prefetchImage(CacheService, String)}.
+     *
+     * @param cacheService the AEPSDK {@link CacheService} to use for caching image assets
+     * @param uri {@code String} containing an image asset url
+     * @param cacheResult the {@link CacheResult} cached for the uri, or null if none is cached
+     */
+    private static void prefetchImage(
+            final CacheService cacheService, final String uri, final CacheResult cacheResult) {
+        if (cacheResult != null && !isStale(cacheResult)) {
+            Log.trace(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Image for %s is already cached, it will not be prefetched.",
+                    uri);
+            return;
+        }
+
+        final DownloadedImage downloadedImage =
+                download(
+                        uri,
                         0,
                         0,
-                        CampaignPushConstants.DefaultValues.CAROUSEL_MAX_BITMAP_WIDTH,
-                        CampaignPushConstants.DefaultValues.CAROUSEL_MAX_BITMAP_HEIGHT),
-                Matrix.ScaleToFit.CENTER);
-        return Bitmap.createBitmap(
-                downloadedBitmap,
-                0,
-                0,
-                downloadedBitmap.getWidth(),
-                downloadedBitmap.getHeight(),
-                matrix,
-                true);
+                        false,
+                        cacheResult == null ? null : cacheResult.getMetadata(),
+                        AssetDownloadBudget.unbounded());
+        if (downloadedImage == null) {
+            return;
+        }
+
+        if (downloadedImage.isNotModified()) {
+            final byte[] imageData =
+                    cacheResult == null ? null : readCachedImageData(uri, cacheResult);
+            if (imageData != null) {
+                renewCacheEntry(cacheService, uri, cacheResult, imageData, downloadedImage);
+            }
+            return;
+        }
+
+        Log.trace(CampaignPushConstants.LOG_TAG, SELF_TAG, "Prefetched image from %s", uri);
+        CampaignPushUtils.cacheImageInputStream(
+                cacheService,
+                new ByteArrayInputStream(downloadedImage.data),
+                uri,
+                createCacheMetadata(
+                        ImageCacheEncoding.ORIGINAL.name(),
+                        downloadedImage.etag,
+                        downloadedImage.lastModified));
+    }
+
+    /**
+     * Reads the provided {@code InputStream} until its end.
+     *
+     * <p>The output buffer is pre-sized from the expected number of bytes, up to {@link
+     * #MAXIMUM_INITIAL_STREAM_CAPACITY}, and grows from there. The expected size comes from the
+     * server, so a wrong or very large value must not allocate that much memory up front.
+     *
+     * @param inputStream the {@link InputStream} to read
+     * @param contentLength {@code int} containing the expected number of bytes, or -1 if unknown
+     * @return {@code byte[]} containing the bytes read
+     * @throws IOException if the stream could not be read
+     */
+    private static byte[] readStream(final InputStream inputStream, final int contentLength)
+            throws IOException {
+        final ByteArrayOutputStream outputStream =
+                new ByteArrayOutputStream(
+                        contentLength > 0
+                                ? Math.min(contentLength, MAXIMUM_INITIAL_STREAM_CAPACITY)
+                                : STREAM_BUFFER_SIZE);
+        final byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, bytesRead);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Decodes the provided image data into a {@code Bitmap} fitting the target size.
+     *
+     * <p>The image bounds are decoded first so that the image can be decoded with the largest
+     * power of two {@code inSampleSize} which keeps it at least as big as the target size. The
+     * reduced image is then scaled to fit the target size exactly. This keeps the memory needed
+     * for decoding proportional to the target size rather than the size of the source image.
+     *
+     * <p>The reduced image is decoded into a bitmap from the {@link BitmapPool} when one fits, and
+     * is returned to the pool once it has been scaled. The returned bitmap is never pooled, since
+     * it may be displayed by a notification.
+     *
+     * @param imageData {@code byte[]} containing the encoded image
+     * @param targetWidth {@code int} containing the width to fit the image in, 0 to keep the
+     *     original size
+     * @param targetHeight {@code int} containing the height to fit the image in, 0 to keep the
+     *     original size
+     * @return the decoded {@link Bitmap} or null if the image data could not be decoded
+     */
+    static Bitmap decodeSampledBitmap(
+            final byte[] imageData, final int targetWidth, final int targetHeight) {
+        if (targetWidth <= 0 || targetHeight <= 0) {
+            return BitmapFactory.decodeByteArray(imageData, 0, imageData.length);
+        }
+
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(imageData, 0, imageData.length, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        options.inSampleSize =
+                calculateInSampleSize(
+                        options.outWidth, options.outHeight, targetWidth, targetHeight);
+        options.inJustDecodeBounds = false;
+        BitmapPool.setReusableBitmap(options);
+        Bitmap sampledBitmap;
+        try {
+            sampledBitmap = BitmapFactory.decodeByteArray(imageData, 0, imageData.length, options);
+        } catch (final IllegalArgumentException exception) {
+            // the pooled bitmap cannot hold the decoded image, decode into a new bitmap
+            BitmapPool.put(options.inBitmap);
+            options.inBitmap = null;
+            sampledBitmap = BitmapFactory.decodeByteArray(imageData, 0, imageData.length, options);
+        }
+        if (sampledBitmap == null) {
+            BitmapPool.put(options.inBitmap);
+            return null;
+        }
+
+        final Bitmap scaledBitmap = scaleBitmap(sampledBitmap, targetWidth, targetHeight);
+        if (scaledBitmap != sampledBitmap) {
+            BitmapPool.put(sampledBitmap);
+        }
+        return scaledBitmap;
+    }
+
+    /**
+     * Calculates the largest power of two sample size which decodes an image of the given size to
+     * a bitmap that is still at least as big as the image scaled to fit the target size.
+     *
+     * @param width {@code int} containing the source image width
+     * @param height {@code int} containing the source image height
+     * @param targetWidth {@code int} containing the width to fit the image in
+     * @param targetHeight {@code int} containing the height to fit the image in
+     * @return {@code int} containing the sample size to use when decoding the image
+     */
+    private static int calculateInSampleSize(
+            final int width, final int height, final int targetWidth, final int targetHeight) {
+        final float scale = Math.min((float) targetWidth / width, (float) targetHeight / height);
+        int inSampleSize = 1;
+        while (inSampleSize * 2 * scale <= 1) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    /**
+     * Scales the provided bitmap to fit the target size while keeping its aspect ratio. The scaled
+     * image is drawn into a bitmap from the {@link BitmapPool} when one fits.
+     *
+     * @param downloadedBitmap the {@link Bitmap} to scale
+     * @param targetWidth {@code int} containing the width to fit the image in
+     * @param targetHeight {@code int} containing the height to fit the image in
+     * @return the scaled {@link Bitmap}, or the provided bitmap if it already fits the target size
+     */
+    private static Bitmap scaleBitmap(
+            final Bitmap downloadedBitmap, final int targetWidth, final int targetHeight) {
+        final int width = downloadedBitmap.getWidth();
+        final int height = downloadedBitmap.getHeight();
+        final float scale = Math.min((float) targetWidth / width, (float) targetHeight / height);
+        final int scaledWidth = Math.max(1, Math.round(width * scale));
+        final int scaledHeight = Math.max(1, Math.round(height * scale));
+        if (scaledWidth == width && scaledHeight == height) {
+            return downloadedBitmap;
+        }
+
+        final Bitmap.Config config =
+                downloadedBitmap.getConfig() != null
+                        ? downloadedBitmap.getConfig()
+                        : Bitmap.Config.ARGB_8888;
+        final Bitmap scaledBitmap = BitmapPool.get(scaledWidth, scaledHeight, config);
+        final Matrix matrix = new Matrix();
+        matrix.setRectToRect(
+                new RectF(0, 0, width, height),
+                new RectF(0, 0, scaledWidth, scaledHeight),
+                Matrix.ScaleToFit.FILL);
+        new Canvas(scaledBitmap)
+                .drawBitmap(downloadedBitmap, matrix, new Paint(Paint.FILTER_BITMAP_FLAG));
+        return scaledBitmap;
     }
 
     /**
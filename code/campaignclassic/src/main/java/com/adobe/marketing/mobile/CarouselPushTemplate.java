@@ -10,16 +10,16 @@
 */
 package com.adobe.marketing.mobile;
 
+import android.util.JsonReader;
+import android.util.JsonToken;
 import androidx.annotation.NonNull;
 import com.adobe.marketing.mobile.util.DataReader;
 import com.adobe.marketing.mobile.util.DataReaderException;
-import com.adobe.marketing.mobile.util.JSONUtils;
 import com.adobe.marketing.mobile.util.StringUtils;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
-import org.json.JSONArray;
-import org.json.JSONException;
 
 class CarouselPushTemplate extends AEPPushTemplate {
     // Optional, Determines how the carousel will be operated. Valid values are "auto" or "manual".
@@ -91,35 +91,70 @@ class CarouselPushTemplate extends AEPPushTemplate {
             throw new IllegalArgumentException("Required field \"adb_items\" not found.");
         }
 
-        JSONArray carouselItemJSONArray;
-        List<Object> carouselItemObjects;
-        try {
-            carouselItemJSONArray = new JSONArray(carouselItemsString);
-            carouselItemObjects = JSONUtils.toList(carouselItemJSONArray);
-        } catch (final JSONException exception) {
-            throw new IllegalArgumentException(
-                    "Unable to create a JSONObject from the carousel items string.");
-        }
-
         this.carouselOperationMode =
                 DataReader.optString(
                         messageData,
                         CampaignPushConstants.PushPayloadKeys.CAROUSEL_OPERATION_MODE,
                         CampaignPushConstants.DefaultValues.AUTO_CAROUSEL_MODE);
-        for (final Object carouselObject : carouselItemObjects) {
-            final Map<String, String> carouselItemMap = (Map<String, String>) carouselObject;
-            // the image uri is required, do not create a CarouselItem if it is missing
-            final String carouselImage =
-                    carouselItemMap.get(CampaignPushConstants.PushPayloadKeys.CAROUSEL_ITEM_IMAGE);
-            if (StringUtils.isNullOrEmpty(carouselImage)) {
-                break;
+
+        final JsonReader reader = new JsonReader(new StringReader(carouselItemsString));
+        try {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                final CarouselItem carouselItem = readCarouselItem(reader);
+                // the image uri is required, stop at the first item which is missing it
+                if (carouselItem == null) {
+                    break;
+                }
+                carouselItems.add(carouselItem);
             }
-            final String text =
-                    carouselItemMap.get(CampaignPushConstants.PushPayloadKeys.CAROUSEL_ITEM_TEXT);
-            final String uri =
-                    carouselItemMap.get(CampaignPushConstants.PushPayloadKeys.CAROUSEL_ITEM_URI);
-            final CarouselItem carouselItem = new CarouselItem(carouselImage, text, uri);
-            carouselItems.add(carouselItem);
+        } catch (final IOException | IllegalStateException exception) {
+            throw new IllegalArgumentException(
+                    "Unable to create a JSONObject from the carousel items string.");
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Reads the next carousel item from the {@link JsonReader}.
+     *
+     * @param reader {@link JsonReader} positioned before a carousel item
+     * @return the {@link CarouselItem}, or null if the value is not an object or its image uri is
+     *     missing
+     */
+    private static CarouselItem readCarouselItem(final JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+
+        String image = null;
+        String text = null;
+        String uri = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            switch (name) {
+                case CampaignPushConstants.PushPayloadKeys.CAROUSEL_ITEM_IMAGE:
+                    image = nextStringOrNull(reader);
+                    break;
+                case CampaignPushConstants.PushPayloadKeys.CAROUSEL_ITEM_TEXT:
+                    text = nextStringOrNull(reader);
+                    break;
+                case CampaignPushConstants.PushPayloadKeys.CAROUSEL_ITEM_URI:
+                    uri = nextStringOrNull(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (StringUtils.isNullOrEmpty(image)) {
+            return null;
         }
+        return new CarouselItem(image, text, uri);
     }
 }
@@ -22,7 +22,9 @@ class CarouselTemplateNotificationBuilder {
     private static final String SELF_TAG = "CarouselTemplateNotificationBuilder";
 
     @NonNull static NotificationCompat.Builder construct(
-            final CarouselPushTemplate pushTemplate, final Context context)
+            final CarouselPushTemplate pushTemplate,
+            final Context context,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
         final String channelId =
                 AEPPushNotificationBuilder.createChannelAndGetChannelID(
@@ -39,7 +41,8 @@ class CarouselTemplateNotificationBuilder {
 
         if (carouselOperationMode.equals(
                 CampaignPushConstants.DefaultValues.MANUAL_CAROUSEL_MODE)) {
-            return buildManualCarouselNotification(pushTemplate, context, channelId, packageName);
+            return buildManualCarouselNotification(
+                    pushTemplate, context, channelId, packageName, budget);
         }
 
         // default operation mode is auto
@@ -48,14 +51,15 @@ class CarouselTemplateNotificationBuilder {
                 SELF_TAG,
                 "Building an auto carousel push notification.");
         return AutoCarouselTemplateNotificationBuilder.construct(
-                pushTemplate, context, channelId, packageName);
+                pushTemplate, context, channelId, packageName, budget);
     }
 
     static NotificationCompat.Builder buildManualCarouselNotification(
             final CarouselPushTemplate pushTemplate,
             final Context context,
             final String channelId,
-            final String packageName)
+            final String packageName,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
         final String carouselLayoutType = pushTemplate.getCarouselLayoutType();
         if (carouselLayoutType.equals(
@@ -65,20 +69,21 @@ class CarouselTemplateNotificationBuilder {
                     SELF_TAG,
                     "Building a manual filmstrip carousel push notification.");
             return FilmstripCarouselTemplateNotificationBuilder.construct(
-                    pushTemplate, context, channelId, packageName);
+                    pushTemplate, context, channelId, packageName, budget);
         }
         Log.trace(
                 CampaignPushConstants.LOG_TAG,
                 SELF_TAG,
                 "Building a default manual carousel push notification.");
         return ManualCarouselTemplateNotificationBuilder.construct(
-                pushTemplate, context, channelId, packageName);
+                pushTemplate, context, channelId, packageName, budget);
     }
 
     static NotificationCompat.Builder fallbackToBasicNotification(
             final Context context,
             final CarouselPushTemplate pushTemplate,
-            final List<String> downloadedImageUris)
+            final List<String> downloadedImageUris,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
         Log.trace(
                 CampaignPushConstants.LOG_TAG,
@@ -93,6 +98,6 @@ class CarouselTemplateNotificationBuilder {
                     CampaignPushConstants.PushPayloadKeys.IMAGE_URL, downloadedImageUris.get(0));
         }
         final BasicPushTemplate basicPushTemplate = new BasicPushTemplate(pushTemplate.getData());
-        return BasicTemplateNotificationBuilder.construct(basicPushTemplate, context);
+        return BasicTemplateNotificationBuilder.construct(basicPushTemplate, context, budget);
     }
 }
@@ -15,7 +15,6 @@ import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.os.Build;
 import android.os.Bundle;
 import android.widget.RemoteViews;
@@ -24,10 +23,8 @@ import androidx.core.app.NotificationManagerCompat;
 import com.adobe.marketing.mobile.campaignclassic.R;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.services.ServiceProvider;
-import com.adobe.marketing.mobile.services.caching.CacheResult;
 import com.adobe.marketing.mobile.services.caching.CacheService;
 import com.adobe.marketing.mobile.util.StringUtils;
-import com.google.android.gms.common.util.CollectionUtils;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,7 +35,8 @@ class FilmstripCarouselTemplateNotificationBuilder {
             final CarouselPushTemplate pushTemplate,
             final Context context,
             final String channelId,
-            final String packageName)
+            final String packageName,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
         if (pushTemplate == null) {
             throw new NotificationConstructionFailedException(
@@ -46,7 +44,7 @@ class FilmstripCarouselTemplateNotificationBuilder {
                             + " constructed.");
         }
 
-        return createNotificationBuilder(context, pushTemplate, packageName, channelId);
+        return createNotificationBuilder(context, pushTemplate, packageName, channelId, budget);
     }
 
     static void handleIntent(final Context context, final Intent intent) {
@@ -90,7 +88,8 @@ class FilmstripCarouselTemplateNotificationBuilder {
             final Context context,
             final CarouselPushTemplate pushTemplate,
             final String packageName,
-            final String channelId)
+            final String channelId,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
 
         final RemoteViews smallLayout =
@@ -117,16 +116,25 @@ class FilmstripCarouselTemplateNotificationBuilder {
         final ArrayList<String> imageCaptions = new ArrayList<>();
         final ArrayList<String> imageClickActions = new ArrayList<>();
 
+        // retrieve all carousel images at once, the results are returned in the payload order
+        final List<String> imageUris = new ArrayList<>(items.size());
         for (final CarouselPushTemplate.CarouselItem item : items) {
+            imageUris.add(item.getImageUri());
+        }
+        final List<Bitmap> pushImages =
+                CampaignPushUtils.downloadImages(cacheService, imageUris, budget);
+
+        for (int i = 0; i < items.size(); i++) {
+            final CarouselPushTemplate.CarouselItem item = items.get(i);
             final String imageUri = item.getImageUri();
-            final Bitmap pushImage = CampaignPushUtils.downloadImage(cacheService, imageUri);
+            final Bitmap pushImage = pushImages.get(i);
             if (pushImage == null) {
                 Log.trace(
                         CampaignPushConstants.LOG_TAG,
                         SELF_TAG,
                         "Failed to retrieve an image from %s, will not create a new carousel item.",
                         imageUri);
-                break;
+                continue;
             }
             downloadedImages.add(pushImage);
             downloadedImageUris.add(imageUri);
@@ -145,11 +153,11 @@ class FilmstripCarouselTemplateNotificationBuilder {
                 imageProcessingElapsedTime);
 
         // fallback to a basic push template notification builder if less than 3 images were able
-        // to be downloaded
+        // to be downloaded, images not retrieved before the download budget ran out are missing
         if (downloadedImageUris.size()
                 < CampaignPushConstants.DefaultValues.CAROUSEL_MINIMUM_IMAGE_COUNT) {
             return CarouselTemplateNotificationBuilder.fallbackToBasicNotification(
-                    context, pushTemplate, downloadedImageUris);
+                    context, pushTemplate, downloadedImageUris, budget);
         }
 
         final String titleText = pushTemplate.getTitle();
@@ -190,9 +198,9 @@ class FilmstripCarouselTemplateNotificationBuilder {
 
         // set any custom colors if needed
         AEPPushNotificationBuilder.setCustomNotificationColors(
-                pushTemplate.getNotificationBackgroundColor(),
-                pushTemplate.getTitleTextColor(),
-                pushTemplate.getExpandedBodyTextColor(),
+                pushTemplate.getParsedNotificationBackgroundColor(),
+                pushTemplate.getParsedTitleTextColor(),
+                pushTemplate.getParsedExpandedBodyTextColor(),
                 smallLayout,
                 expandedLayout,
                 R.id.carousel_container_layout);
@@ -287,12 +295,16 @@ class FilmstripCarouselTemplateNotificationBuilder {
 
         // small Icon must be present, otherwise the notification will not be displayed.
         AEPPushNotificationBuilder.setSmallIcon(
-                context, builder, pushTemplate.getSmallIcon(), pushTemplate.getSmallIconColor());
+                context,
+                builder,
+                pushTemplate.getSmallIcon(),
+                pushTemplate.getParsedSmallIconColor());
 
         // set a large icon if one is present
-        AEPPushNotificationBuilder.setRemoteViewLargeIcon(pushTemplate.getLargeIcon(), smallLayout);
         AEPPushNotificationBuilder.setRemoteViewLargeIcon(
-                pushTemplate.getLargeIcon(), expandedLayout);
+                pushTemplate.getLargeIcon(), smallLayout, budget);
+        AEPPushNotificationBuilder.setRemoteViewLargeIcon(
+                pushTemplate.getLargeIcon(), expandedLayout, budget);
 
         // set notification visibility
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
@@ -334,7 +346,6 @@ class FilmstripCarouselTemplateNotificationBuilder {
                             + " constructed.");
         }
 
-        final String assetCacheLocation = CampaignPushUtils.getAssetCacheLocation();
         final String packageName =
                 ServiceProvider.getInstance()
                         .getAppContextService()
@@ -351,7 +362,6 @@ class FilmstripCarouselTemplateNotificationBuilder {
         final int badgeCount = intentExtras.getInt(CampaignPushConstants.IntentKeys.BADGE_COUNT);
         final int visibility = intentExtras.getInt(CampaignPushConstants.IntentKeys.VISIBILITY);
         final int importance = intentExtras.getInt(CampaignPushConstants.IntentKeys.IMPORTANCE);
-        final ArrayList<Bitmap> cachedImages = new ArrayList<>();
         final ArrayList<String> imageUrls =
                 (ArrayList<String>) intentExtras.get(CampaignPushConstants.IntentKeys.IMAGE_URLS);
         final ArrayList<String> imageCaptions =
@@ -386,18 +396,6 @@ class FilmstripCarouselTemplateNotificationBuilder {
         final String fallbackActionUri =
                 intentExtras.getString(CampaignPushConstants.IntentKeys.ACTION_URI);
 
-        // as we are handling an intent, the image URLS should already be cached
-        if (cacheService != null && !CollectionUtils.isEmpty(imageUrls)) {
-            for (final String imageUri : imageUrls) {
-                if (!StringUtils.isNullOrEmpty(imageUri)) {
-                    final CacheResult cacheResult = cacheService.get(assetCacheLocation, imageUri);
-                    if (cacheResult != null) {
-                        cachedImages.add(BitmapFactory.decodeStream(cacheResult.getData()));
-                    }
-                }
-            }
-        }
-
         final RemoteViews smallLayout =
                 new RemoteViews(packageName, R.layout.push_template_collapsed);
         final RemoteViews expandedLayout =
@@ -413,10 +411,6 @@ class FilmstripCarouselTemplateNotificationBuilder {
         final List<Integer> newIndices =
                 CampaignPushUtils.calculateNewIndices(centerImageIndex, imageUrls.size(), action);
 
-        String newCenterCaption;
-        Bitmap newLeftImage;
-        Bitmap newCenterImage;
-        Bitmap newRightImage;
         int newCenterIndex;
         int newLeftIndex;
         int newRightIndex;
@@ -427,30 +421,33 @@ class FilmstripCarouselTemplateNotificationBuilder {
                     "Unable to calculate new left, center, and right indices. Using default center"
                             + " image index of 1.");
             newCenterIndex = CampaignPushConstants.DefaultValues.FILMSTRIP_CAROUSEL_CENTER_INDEX;
-            newLeftImage =
-                    cachedImages.get(
-                            CampaignPushConstants.DefaultValues.FILMSTRIP_CAROUSEL_CENTER_INDEX
-                                    - 1);
-            newCenterImage =
-                    cachedImages.get(
-                            CampaignPushConstants.DefaultValues.FILMSTRIP_CAROUSEL_CENTER_INDEX);
-            newRightImage =
-                    cachedImages.get(
-                            CampaignPushConstants.DefaultValues.FILMSTRIP_CAROUSEL_CENTER_INDEX
-                                    + 1);
-            newCenterCaption =
-                    imageCaptions.get(
-                            CampaignPushConstants.DefaultValues.FILMSTRIP_CAROUSEL_CENTER_INDEX);
+            newLeftIndex = newCenterIndex - 1;
+            newRightIndex = newCenterIndex + 1;
         } else {
             newLeftIndex = newIndices.get(0);
             newCenterIndex = newIndices.get(1);
             newRightIndex = newIndices.get(2);
-            newCenterImage = cachedImages.get(newCenterIndex);
-            newLeftImage = cachedImages.get(newLeftIndex);
-            newRightImage = cachedImages.get(newRightIndex);
-            newCenterCaption = imageCaptions.get(newCenterIndex);
         }
 
+        // as we are handling an intent, the image URLS should already be cached. only the images
+        // visible in the filmstrip are retrieved.
+        final Bitmap newLeftImage =
+                CampaignPushUtils.getCachedImage(cacheService, imageUrls.get(newLeftIndex));
+        final Bitmap newCenterImage =
+                CampaignPushUtils.getCachedImage(cacheService, imageUrls.get(newCenterIndex));
+        final Bitmap newRightImage =
+                CampaignPushUtils.getCachedImage(cacheService, imageUrls.get(newRightIndex));
+        final String newCenterCaption = imageCaptions.get(newCenterIndex);
+
+        // warm the memory cache with the image which becomes visible on the next tap in the same
+        // direction
+        final int imageCount = imageUrls.size();
+        final int prefetchIndex =
+                CampaignPushConstants.IntentActions.FILMSTRIP_LEFT_CLICKED.equals(action)
+                        ? (newLeftIndex - 1 + imageCount) % imageCount
+                        : (newRightIndex + 1) % imageCount;
+        CampaignPushUtils.prefetchCachedImage(cacheService, imageUrls.get(prefetchIndex));
+
         expandedLayout.setImageViewBitmap(R.id.manual_carousel_filmstrip_center, newCenterImage);
         expandedLayout.setImageViewBitmap(R.id.manual_carousel_filmstrip_left, newLeftImage);
         expandedLayout.setImageViewBitmap(R.id.manual_carousel_filmstrip_right, newRightImage);
@@ -0,0 +1,39 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile;
+
+/** Encodings available for storing downloaded push notification images in the asset cache. */
+enum ImageCacheEncoding {
+    /**
+     * The bytes received from the server are cached as is. Nothing is encoded when caching, the
+     * image is decoded at a reduced size when it is read from the cache.
+     */
+    ORIGINAL,
+    /**
+     * The scaled image is encoded as a lossy WebP. Cache entries are small and fast to decode at
+     * the cost of encoding the image once when caching.
+     */
+    WEBP_LOSSY,
+    /**
+     * The pixels of the scaled image are cached without compression. Cache entries are larger but
+     * are read back without running an image decoder.
+     */
+    RAW_ARGB;
+
+    static ImageCacheEncoding fromString(final String value) {
+        for (final ImageCacheEncoding encoding : values()) {
+            if (encoding.name().equals(value)) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+}
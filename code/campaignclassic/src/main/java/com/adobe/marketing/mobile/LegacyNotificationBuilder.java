@@ -20,7 +20,9 @@ class LegacyNotificationBuilder {
     private static final String SELF_TAG = "LegacyNotificationBuilder";
 
     @NonNull static NotificationCompat.Builder construct(
-            final AEPPushTemplate pushTemplate, final Context context) {
+            final AEPPushTemplate pushTemplate,
+            final Context context,
+            final AssetDownloadBudget budget) {
         Log.trace(
                 CampaignPushConstants.LOG_TAG,
                 SELF_TAG,
@@ -43,13 +45,14 @@ class LegacyNotificationBuilder {
                 builder,
                 pushTemplate.getImageUrl(),
                 pushTemplate.getTitle(),
-                pushTemplate.getExpandedBodyText());
+                pushTemplate.getExpandedBodyText(),
+                budget);
+        // Small Icon must be present, otherwise the notification will not be displayed.
         AEPPushNotificationBuilder.setSmallIcon(
                 context,
                 builder,
                 pushTemplate.getSmallIcon(),
-                pushTemplate.getSmallIconColor()); // Small Icon must be present, otherwise the
-        // notification will not be displayed.
+                pushTemplate.getParsedSmallIconColor());
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
             AEPPushNotificationBuilder.setVisibility(
                     builder, pushTemplate.getNotificationVisibility());
@@ -15,7 +15,6 @@ import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.os.Build;
 import android.os.Bundle;
 import android.widget.RemoteViews;
@@ -24,10 +23,8 @@ import androidx.core.app.NotificationManagerCompat;
 import com.adobe.marketing.mobile.campaignclassic.R;
 import com.adobe.marketing.mobile.services.Log;
 import com.adobe.marketing.mobile.services.ServiceProvider;
-import com.adobe.marketing.mobile.services.caching.CacheResult;
 import com.adobe.marketing.mobile.services.caching.CacheService;
 import com.adobe.marketing.mobile.util.StringUtils;
-import com.google.android.gms.common.util.CollectionUtils;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -43,7 +40,8 @@ class ManualCarouselTemplateNotificationBuilder {
             final CarouselPushTemplate pushTemplate,
             final Context context,
             final String channelId,
-            final String packageName)
+            final String packageName,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
 
         if (pushTemplate == null) {
@@ -52,7 +50,7 @@ class ManualCarouselTemplateNotificationBuilder {
                             + " constructed.");
         }
 
-        return createNotificationBuilder(context, pushTemplate, packageName, channelId);
+        return createNotificationBuilder(context, pushTemplate, packageName, channelId, budget);
     }
 
     static void handleIntent(final Context context, final Intent intent) {
@@ -97,7 +95,8 @@ class ManualCarouselTemplateNotificationBuilder {
             final Context context,
             final CarouselPushTemplate pushTemplate,
             final String packageName,
-            final String channelId)
+            final String channelId,
+            final AssetDownloadBudget budget)
             throws NotificationConstructionFailedException {
         final CacheService cacheService = ServiceProvider.getInstance().getCacheService();
         if (cacheService == null) {
@@ -125,18 +124,19 @@ class ManualCarouselTemplateNotificationBuilder {
                         pushTemplate.getDeliveryId(),
                         pushTemplate.getNotificationTag(),
                         fallbackActionUri,
-                        pushTemplate.isNotificationSticky());
+                        pushTemplate.isNotificationSticky(),
+                        budget);
 
         final ArrayList<String> downloadedImageUris = extractedItemData.get(IMAGE_URIS_KEY);
         final ArrayList<String> imageCaptions = extractedItemData.get(IMAGE_CAPTIONS_KEY);
         final ArrayList<String> imageClickActions = extractedItemData.get(IMAGE_ACTIONS_KEY);
 
         // fallback to a basic push template notification builder if less than 3 images were able
-        // to be downloaded
+        // to be downloaded, images not retrieved before the download budget ran out are missing
         if (downloadedImageUris.size()
                 < CampaignPushConstants.DefaultValues.CAROUSEL_MINIMUM_IMAGE_COUNT) {
             return CarouselTemplateNotificationBuilder.fallbackToBasicNotification(
-                    context, pushTemplate, downloadedImageUris);
+                    context, pushTemplate, downloadedImageUris, budget);
         }
 
         final String titleText = pushTemplate.getTitle();
@@ -153,9 +153,9 @@ class ManualCarouselTemplateNotificationBuilder {
 
         // set any custom colors if needed
         AEPPushNotificationBuilder.setCustomNotificationColors(
-                pushTemplate.getNotificationBackgroundColor(),
-                pushTemplate.getTitleTextColor(),
-                pushTemplate.getExpandedBodyTextColor(),
+                pushTemplate.getParsedNotificationBackgroundColor(),
+                pushTemplate.getParsedTitleTextColor(),
+                pushTemplate.getParsedExpandedBodyTextColor(),
                 smallLayout,
                 expandedLayout,
                 R.id.carousel_container_layout);
@@ -248,12 +248,16 @@ class ManualCarouselTemplateNotificationBuilder {
 
         // small Icon must be present, otherwise the notification will not be displayed.
         AEPPushNotificationBuilder.setSmallIcon(
-                context, builder, pushTemplate.getSmallIcon(), pushTemplate.getSmallIconColor());
+                context,
+                builder,
+                pushTemplate.getSmallIcon(),
+                pushTemplate.getParsedSmallIconColor());
 
         // set a large icon if one is present
-        AEPPushNotificationBuilder.setRemoteViewLargeIcon(pushTemplate.getLargeIcon(), smallLayout);
         AEPPushNotificationBuilder.setRemoteViewLargeIcon(
-                pushTemplate.getLargeIcon(), expandedLayout);
+                pushTemplate.getLargeIcon(), smallLayout, budget);
+        AEPPushNotificationBuilder.setRemoteViewLargeIcon(
+                pushTemplate.getLargeIcon(), expandedLayout, budget);
 
         // set notification visibility
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
@@ -291,7 +295,6 @@ class ManualCarouselTemplateNotificationBuilder {
                             + " constructed.");
         }
 
-        final String assetCacheLocation = CampaignPushUtils.getAssetCacheLocation();
         final String packageName =
                 ServiceProvider.getInstance()
                         .getAppContextService()
@@ -308,7 +311,6 @@ class ManualCarouselTemplateNotificationBuilder {
         final int badgeCount = intentExtras.getInt(CampaignPushConstants.IntentKeys.BADGE_COUNT);
         final int visibility = intentExtras.getInt(CampaignPushConstants.IntentKeys.VISIBILITY);
         final int importance = intentExtras.getInt(CampaignPushConstants.IntentKeys.IMPORTANCE);
-        final ArrayList<Bitmap> cachedImages = new ArrayList<>();
         final ArrayList<String> imageUrls =
                 (ArrayList<String>) intentExtras.get(CampaignPushConstants.IntentKeys.IMAGE_URLS);
         final ArrayList<String> imageCaptions =
@@ -343,18 +345,6 @@ class ManualCarouselTemplateNotificationBuilder {
         final String fallbackActionUri =
                 intentExtras.getString(CampaignPushConstants.IntentKeys.ACTION_URI);
 
-        // as we are handling an intent, the image URLS should already be cached
-        if (cacheService != null && !CollectionUtils.isEmpty(imageUrls)) {
-            for (final String imageUri : imageUrls) {
-                if (!StringUtils.isNullOrEmpty(imageUri)) {
-                    final CacheResult cacheResult = cacheService.get(assetCacheLocation, imageUri);
-                    if (cacheResult != null) {
-                        cachedImages.add(BitmapFactory.decodeStream(cacheResult.getData()));
-                    }
-                }
-            }
-        }
-
         final RemoteViews smallLayout =
                 new RemoteViews(packageName, R.layout.push_template_collapsed);
         final RemoteViews expandedLayout =
@@ -382,7 +372,17 @@ class ManualCarouselTemplateNotificationBuilder {
             newCenterIndex = newIndices.get(1);
         }
 
-        // update the carousel view flipper with the new center index
+        // warm the memory cache with the image which becomes visible on the next tap in the same
+        // direction
+        final int imageCount = imageUrls.size();
+        final int prefetchIndex =
+                CampaignPushConstants.IntentActions.MANUAL_CAROUSEL_LEFT_CLICKED.equals(action)
+                        ? (newCenterIndex - 1 + imageCount) % imageCount
+                        : (newCenterIndex + 1) % imageCount;
+        CampaignPushUtils.prefetchCachedImage(cacheService, imageUrls.get(prefetchIndex));
+
+        // update the carousel view flipper with the new center index. only the visible image is
+        // retrieved, the other images are retrieved when they are navigated to.
         final ArrayList<CarouselPushTemplate.CarouselItem> items = new ArrayList<>();
         final CarouselPushTemplate.CarouselItem centerCarouselItem =
                 new CarouselPushTemplate.CarouselItem(
@@ -400,7 +400,8 @@ class ManualCarouselTemplateNotificationBuilder {
                 deliveryId,
                 tag,
                 fallbackActionUri,
-                sticky);
+                sticky,
+                AssetDownloadBudget.unbounded());
 
         // set any custom colors if needed
         AEPPushNotificationBuilder.setCustomNotificationColors(
@@ -524,23 +525,33 @@ class ManualCarouselTemplateNotificationBuilder {
             final String deliveryId,
             final String tag,
             final String actionUri,
-            final boolean autoCancel) {
+            final boolean autoCancel,
+            final AssetDownloadBudget budget) {
         final ArrayList<String> downloadedImageUris = new ArrayList<>();
         final ArrayList<String> imageCaptions = new ArrayList<>();
         final ArrayList<String> imageClickActions = new ArrayList<>();
         final Map<String, ArrayList<String>> itemData = new HashMap<>();
         final long imageProcessingStartTime = System.currentTimeMillis();
 
+        // retrieve all carousel images at once, the results are returned in the payload order
+        final List<String> imageUris = new ArrayList<>(items.size());
         for (final CarouselPushTemplate.CarouselItem item : items) {
+            imageUris.add(item.getImageUri());
+        }
+        final List<Bitmap> pushImages =
+                CampaignPushUtils.downloadImages(cacheService, imageUris, budget);
+
+        for (int i = 0; i < items.size(); i++) {
+            final CarouselPushTemplate.CarouselItem item = items.get(i);
             final String imageUri = item.getImageUri();
-            final Bitmap pushImage = CampaignPushUtils.downloadImage(cacheService, imageUri);
+            final Bitmap pushImage = pushImages.get(i);
             if (pushImage == null) {
                 Log.trace(
                         CampaignPushConstants.LOG_TAG,
                         SELF_TAG,
                         "Failed to retrieve an image from %s, will not create a new carousel item.",
                         imageUri);
-                break;
+                continue;
             }
 
             final RemoteViews carouselItem =
@@ -0,0 +1,80 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.os.Build;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process wide registry of the notification channels known to exist.
+ *
+ * <p>Looking up a channel with {@link NotificationManager#getNotificationChannel(String)} is a
+ * binder call to the system server. The registry remembers the channels which were found or
+ * created, so that building a notification does not query the system again for them. A known
+ * channel is validated against the system again once {@link
+ * CampaignPushConstants.DefaultValues#NOTIFICATION_CHANNEL_REVALIDATION_INTERVAL_IN_MILLISECONDS}
+ * elapsed, so that a channel deleted by the app is created again.
+ */
+final class NotificationChannelRegistry {
+    // channel ids mapped to the elapsed realtime at which they were last known to exist
+    private static final ConcurrentHashMap<String, Long> KNOWN_CHANNELS = new ConcurrentHashMap<>();
+
+    private NotificationChannelRegistry() {}
+
+    /**
+     * Returns whether a notification channel exists for the provided channel id. The system is
+     * only queried if the channel is not known to exist or if it was validated too long ago.
+     *
+     * @param notificationManager the {@link NotificationManager} used to look up the channel
+     * @param channelId {@code String} containing the notification channel id
+     * @return true if the channel exists, false otherwise
+     */
+    @RequiresApi(api = Build.VERSION_CODES.O)
+    static boolean exists(
+            @NonNull final NotificationManager notificationManager,
+            @NonNull final String channelId) {
+        final long now = SystemClock.elapsedRealtime();
+        final Long validatedAt = KNOWN_CHANNELS.get(channelId);
+        if (validatedAt != null
+                && now - validatedAt
+                        < CampaignPushConstants.DefaultValues
+                                .NOTIFICATION_CHANNEL_REVALIDATION_INTERVAL_IN_MILLISECONDS) {
+            return true;
+        }
+
+        if (notificationManager.getNotificationChannel(channelId) == null) {
+            KNOWN_CHANNELS.remove(channelId);
+            return false;
+        }
+
+        KNOWN_CHANNELS.put(channelId, now);
+        return true;
+    }
+
+    /**
+     * Creates the provided notification channel and records it as existing.
+     *
+     * @param notificationManager the {@link NotificationManager} used to create the channel
+     * @param channel the {@link NotificationChannel} to create
+     */
+    @RequiresApi(api = Build.VERSION_CODES.O)
+    static void create(
+            @NonNull final NotificationManager notificationManager,
+            @NonNull final NotificationChannel channel) {
+        notificationManager.createNotificationChannel(channel);
+        KNOWN_CHANNELS.put(channel.getId(), SystemClock.elapsedRealtime());
+    }
+}
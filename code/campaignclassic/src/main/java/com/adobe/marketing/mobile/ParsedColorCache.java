@@ -0,0 +1,73 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile;
+
+import android.graphics.Color;
+import android.util.LruCache;
+import androidx.annotation.Nullable;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.util.StringUtils;
+
+/**
+ * Process wide cache of the colors parsed from push template hex strings.
+ *
+ * <p>Push templates represent colors as hex strings without the leading "#", e.g. "FFD966". Each
+ * hex string is parsed with {@link Color#parseColor(String)} once, and the resulting color is
+ * reused by the following notifications of the same campaign. Hex strings which cannot be parsed
+ * are cached as a separate sentinel object, so that every color int, including {@code #00000001},
+ * can be cached as a valid color.
+ */
+final class ParsedColorCache {
+    private static final String SELF_TAG = "ParsedColorCache";
+    private static final int MAXIMUM_CACHE_SIZE = 32;
+
+    // cached for hex strings which cannot be parsed, distinct from every parsed color
+    private static final Object INVALID_COLOR = new Object();
+
+    private static class CacheHolder {
+        static final LruCache<String, Object> INSTANCE = new LruCache<>(MAXIMUM_CACHE_SIZE);
+    }
+
+    private ParsedColorCache() {}
+
+    /**
+     * Returns the color for the provided hex string.
+     *
+     * @param colorHex {@code String} containing the color hex string, without the leading "#"
+     * @return the color {@code Integer}, or null if {@code colorHex} is null, empty or cannot be
+     *     parsed
+     */
+    @Nullable static Integer parse(@Nullable final String colorHex) {
+        if (StringUtils.isNullOrEmpty(colorHex)) {
+            return null;
+        }
+
+        final Object cachedColor = CacheHolder.INSTANCE.get(colorHex);
+        if (cachedColor != null) {
+            return cachedColor == INVALID_COLOR ? null : (Integer) cachedColor;
+        }
+
+        try {
+            final Integer color = Color.parseColor("#" + colorHex);
+            CacheHolder.INSTANCE.put(colorHex, color);
+            return color;
+        } catch (final IllegalArgumentException exception) {
+            Log.trace(
+                    CampaignPushConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Unrecognized hex string (%s) passed to Color.parseColor(), custom color will"
+                            + " not be applied.",
+                    colorHex);
+            CacheHolder.INSTANCE.put(colorHex, INVALID_COLOR);
+            return null;
+        }
+    }
+}
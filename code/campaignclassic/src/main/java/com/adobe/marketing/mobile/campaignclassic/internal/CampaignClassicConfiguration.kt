@@ -17,97 +17,103 @@ import com.adobe.marketing.mobile.SharedStateResolution
 import com.adobe.marketing.mobile.util.DataReader
 import com.adobe.marketing.mobile.util.DataReaderException
 
-internal data class CampaignClassicConfiguration(val event: Event, val extensionApi: ExtensionApi) {
+/**
+ * Immutable snapshot of the configuration used by the Campaign Classic extension.
+ * <p>
+ * All the configuration values are read from the configuration shared state once, when the snapshot is created,
+ * so that reading a value afterwards is a plain field read.
+ *
+ * @param configSharedState the configuration shared state [Map], or null if it is not available
+ */
+internal class CampaignClassicConfiguration(configSharedState: Map<String, Any>?) {
 
-    private val configSharedState: Map<String, Any>? = extensionApi.getSharedState(
-        CampaignClassicConstants.EventDataKeys.Configuration.EXTENSION_NAME,
-        event,
-        false,
-        SharedStateResolution.ANY
-    )?.value
+    /**
+     * Creates a snapshot of the configuration shared state for the provided [event].
+     *
+     * @param event the [Event] for which the configuration shared state is read
+     * @param extensionApi the [ExtensionApi] used to read the configuration shared state
+     */
+    constructor(event: Event, extensionApi: ExtensionApi) : this(
+        extensionApi.getSharedState(
+            CampaignClassicConstants.EventDataKeys.Configuration.EXTENSION_NAME,
+            event,
+            false,
+            SharedStateResolution.ANY
+        )?.value
+    )
 
     /**
-     * @return configured CampaignClassics marketing server [String] if available, not null, not empty
+     * Configured CampaignClassics marketing server [String] if available, not null, not empty
      * and of type String, null otherwise
      */
-    val marketingServer: String?
-        get() {
-            val marketingServer = DataReader.optString(
-                configSharedState,
-                CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_MARKETING_SERVER,
-                null
-            )
-            return if (marketingServer.isNullOrBlank()) {
-                null
-            } else {
-                marketingServer
-            }
-        }
+    val marketingServer: String? = DataReader.optString(
+        configSharedState,
+        CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_MARKETING_SERVER,
+        null
+    ).takeUnless { it.isNullOrBlank() }
 
     /**
-     * @return configured CampaignClassics integration key [String] if available, not null and not empty,
+     * Configured CampaignClassics integration key [String] if available, not null and not empty,
      * and of type String, null otherwise
      */
-    val integrationKey: String?
-        get() {
-            val integrationKey = DataReader.optString(
-                configSharedState,
-                CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_APP_INTEGRATION_KEY,
-                null
-            )
-            return if (integrationKey.isNullOrBlank()) {
-                null
-            } else {
-                integrationKey
-            }
-        }
+    val integrationKey: String? = DataReader.optString(
+        configSharedState,
+        CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_APP_INTEGRATION_KEY,
+        null
+    ).takeUnless { it.isNullOrBlank() }
 
     /**
-     * @return configured CampaignClassics tracking server [String] if available, not null and not empty,
+     * Configured CampaignClassics tracking server [String] if available, not null and not empty,
      * and of type String, null otherwise
      */
-    val trackingServer: String?
-        get() {
-            val trackingServer = DataReader.optString(
-                configSharedState,
-                CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_TRACKING_SERVER,
-                null
-            )
-            return if (trackingServer.isNullOrBlank()) {
-                null
-            } else {
-                trackingServer
-            }
-        }
+    val trackingServer: String? = DataReader.optString(
+        configSharedState,
+        CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_TRACKING_SERVER,
+        null
+    ).takeUnless { it.isNullOrBlank() }
 
     /**
-     * @return the configured CampaignClassics network timeout [Int] if available and of type Int,
+     * The configured CampaignClassics network timeout [Int] if available and of type Int,
      * default timeout otherwise
      */
-    val timeout: Int
-        get() {
-            return DataReader.optInt(
-                configSharedState,
-                CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_TIMEOUT,
-                CampaignClassicConstants.DEFAULT_TIMEOUT
-            )
-        }
+    val timeout: Int = DataReader.optInt(
+        configSharedState,
+        CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_TIMEOUT,
+        CampaignClassicConstants.DEFAULT_TIMEOUT
+    )
 
     /**
-     * @return configured [MobilePrivacyStatus] if available and of type String,
+     * The configured maximum size in bytes [Long] of the push image cache if available and of type Long,
+     * default maximum size otherwise
+     */
+    val pushImageCacheMaxSize: Long = DataReader.optLong(
+        configSharedState,
+        CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_PUSH_IMAGE_CACHE_MAX_SIZE,
+        CampaignClassicConstants.DEFAULT_PUSH_IMAGE_CACHE_MAX_SIZE_IN_BYTES
+    )
+
+    /**
+     * The configured encoding [String] of the images written to the push image cache if available, not null, not
+     * empty and of type String, default encoding otherwise. Valid values are "ORIGINAL", "WEBP_LOSSY" and "RAW_ARGB".
+     */
+    val pushImageCacheEncoding: String = DataReader.optString(
+        configSharedState,
+        CampaignClassicConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_PUSH_IMAGE_CACHE_ENCODING,
+        null
+    ).takeUnless { it.isNullOrBlank() } ?: CampaignClassicConstants.DEFAULT_PUSH_IMAGE_CACHE_ENCODING
+
+    /**
+     * Configured [MobilePrivacyStatus] if available and of type String,
      * default [MobilePrivacyStatus.UNKNOWN] otherwise
      */
-    val privacyStatus: MobilePrivacyStatus
-        get() {
-            return try {
-                MobilePrivacyStatus.fromString(
-                    DataReader.getString(
-                        configSharedState,
-                        CampaignClassicConstants.EventDataKeys.Configuration.GLOBAL_CONFIG_PRIVACY
-                    )
-                )
-            } catch (e: DataReaderException) {
-                MobilePrivacyStatus.UNKNOWN
-            }
-        }
+    val privacyStatus: MobilePrivacyStatus = try {
+        MobilePrivacyStatus.fromString(
+            DataReader.getString(
+                configSharedState,
+                CampaignClassicConstants.EventDataKeys.Configuration.GLOBAL_CONFIG_PRIVACY
+            )
+        )
+    } catch (e: DataReaderException) {
+        MobilePrivacyStatus.UNKNOWN
+    }
 }
@@ -0,0 +1,62 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventSource
+import com.adobe.marketing.mobile.EventType
+import com.adobe.marketing.mobile.ExtensionApi
+
+/**
+ * Holds the latest [CampaignClassicConfiguration] snapshot shared by the Campaign Classic managers.
+ * <p>
+ * The snapshot is rebuilt once for each [EventType.CONFIGURATION] [EventSource.RESPONSE_CONTENT] event and read
+ * without locking by the managers. Until the first configuration response is received, the configuration is read
+ * from the configuration shared state of the processed event.
+ *
+ * @param extensionApi the [ExtensionApi] used to read the configuration shared state
+ */
+internal class CampaignClassicConfigurationProvider(private val extensionApi: ExtensionApi) {
+    @Volatile
+    private var snapshot: CampaignClassicConfiguration? = null
+
+    /**
+     * Rebuilds the configuration snapshot from the configuration shared state for the provided [event].
+     *
+     * @param event the configuration response [Event]
+     * @return the new [CampaignClassicConfiguration] snapshot
+     */
+    fun update(event: Event): CampaignClassicConfiguration {
+        val configuration = CampaignClassicConfiguration(event, extensionApi)
+        snapshot = configuration
+        return configuration
+    }
+
+    /**
+     * Returns the latest configuration snapshot, or a configuration read from the configuration shared state for
+     * the provided [event] if no configuration response was received yet.
+     *
+     * @param event the [Event] being processed
+     * @return the [CampaignClassicConfiguration] to use for the [event]
+     */
+    fun get(event: Event): CampaignClassicConfiguration {
+        return snapshot ?: CampaignClassicConfiguration(event, extensionApi)
+    }
+
+    /**
+     * Returns the latest configuration snapshot, for work which is not triggered by an [Event].
+     *
+     * @return the latest [CampaignClassicConfiguration], or null if no configuration response was received yet
+     */
+    fun latest(): CampaignClassicConfiguration? {
+        return snapshot
+    }
+}
@@ -29,15 +29,41 @@ final class CampaignClassicConstants {
     static final String MESSAGE_RECEIVED_TAGID = "1";
     static final String MESSAGE_CLICKED_TAGID = "2";
 
+    static final String TRACK_REQUEST_QUEUE_NAME = EXTENSION_NAME + ".trackrequests";
+    static final int HTTP_TOO_MANY_REQUESTS = 429;
+    static final int TRACK_REQUEST_BASE_RETRY_INTERVAL_IN_SECONDS = 5;
+    static final int TRACK_REQUEST_MAX_RETRY_INTERVAL_IN_SECONDS = 300; // 5 minutes
+    static final int TRACK_REQUEST_MAX_BACKOFF_SHIFT = 10;
+    static final long TRACK_REQUEST_MAX_AGE_IN_MILLISECONDS = 604800000L; // 7 days
+    static final int TRACK_REQUEST_MAX_IN_FLIGHT_REQUESTS = 2;
+    static final long TRACK_REQUEST_DEDUPLICATION_TTL_IN_MILLISECONDS = 86400000L; // 1 day
+    static final int TRACK_REQUEST_DEDUPLICATION_MAX_ENTRIES = 200;
+
+    static final long REGISTRATION_DEBOUNCE_WINDOW_IN_MILLISECONDS = 1000;
+    static final long REGISTRATION_RETRY_BASE_DELAY_IN_MILLISECONDS = 30000L; // 30 seconds
+    static final long REGISTRATION_RETRY_MAX_DELAY_IN_MILLISECONDS = 3600000L; // 1 hour
+    static final int REGISTRATION_RETRY_MAX_BACKOFF_SHIFT = 7;
+    static final int REGISTRATION_RETRY_MAX_ATTEMPTS = 10;
+
     static final String DATASTORE_KEY = "ADOBEMOBILE_CAMPAIGNCLASSIC";
 
     static final String HEX_CONVERSION_FORMAT_STRING = "%02x";
+
+    static final String PUSH_IMAGE_CACHE_BASE_DIR = "campaignclassic";
+    static final String PUSH_IMAGE_CACHE_DIR = "pushimagecache";
+    static final long DEFAULT_PUSH_IMAGE_CACHE_MAX_SIZE_IN_BYTES = 20L * 1024 * 1024; // 20 MB
+    static final String DEFAULT_PUSH_IMAGE_CACHE_ENCODING = "ORIGINAL";
     /*
        DataStoreKeys
     */
     static class DataStoreKeys {
         static final String TOKEN_HASH = "ADOBEMOBILE_STOREDDEFAULTS_TOKENHASH";
         static final String REGISTER_STATUS = "ADOBEMOBILE_STOREDDEFAULTS_REGISTERSTATUS";
+        static final String PUSH_IMAGE_CACHE_INDEX =
+                "ADOBEMOBILE_STOREDDEFAULTS_PUSHIMAGECACHEINDEX";
+        static final String SENT_TRACK_REQUESTS = "ADOBEMOBILE_STOREDDEFAULTS_SENTTRACKREQUESTS";
+        static final String PENDING_REGISTRATION =
+                "ADOBEMOBILE_STOREDDEFAULTS_PENDINGREGISTRATION";
 
         private DataStoreKeys() {}
     }
@@ -57,6 +83,10 @@ final class CampaignClassicConstants {
             static final String CAMPAIGNCLASSIC_APP_INTEGRATION_KEY =
                     "campaignclassic.android.integrationKey";
             static final String CAMPAIGNCLASSIC_TIMEOUT = "campaignclassic.timeout";
+            static final String CAMPAIGNCLASSIC_PUSH_IMAGE_CACHE_MAX_SIZE =
+                    "campaignclassic.pushImageCacheMaxSize";
+            static final String CAMPAIGNCLASSIC_PUSH_IMAGE_CACHE_ENCODING =
+                    "campaignclassic.pushImageCacheEncoding";
 
             private Configuration() {}
         }
@@ -20,6 +20,7 @@ import com.adobe.marketing.mobile.ExtensionApi
 import com.adobe.marketing.mobile.MobilePrivacyStatus
 import com.adobe.marketing.mobile.SharedStateResolution
 import com.adobe.marketing.mobile.SharedStateStatus
+import com.adobe.marketing.mobile.services.DataQueuing
 import com.adobe.marketing.mobile.services.DataStoring
 import com.adobe.marketing.mobile.services.DeviceInforming
 import com.adobe.marketing.mobile.services.Log
@@ -39,6 +40,7 @@ import com.adobe.marketing.mobile.services.ServiceProvider
  *
  * The Campaign Classic extension has dependencies on the following services from [ServiceProvider]:
  * - [DataStoring]
+ * - [DataQueuing]
  * - [Networking]
  * - [DeviceInforming]
  */
@@ -46,22 +48,29 @@ class CampaignClassicExtension : Extension {
     private val extensionApi: ExtensionApi
     private val registrationManager: RegistrationManager
     private val trackRequestManager: TrackRequestManager
+    private val pushImageCacheManager: PushImageCacheManager
+    private val configurationProvider: CampaignClassicConfigurationProvider
 
     constructor(extensionApi: ExtensionApi) : super(extensionApi) {
         this.extensionApi = extensionApi
-        registrationManager = RegistrationManager(api)
-        trackRequestManager = TrackRequestManager(api)
+        configurationProvider = CampaignClassicConfigurationProvider(api)
+        registrationManager = RegistrationManager(api, configurationProvider)
+        trackRequestManager = TrackRequestManager(api, configurationProvider)
+        pushImageCacheManager = PushImageCacheManager.getInstance()
     }
 
     @VisibleForTesting
     internal constructor(
         extensionApi: ExtensionApi,
         registrationManager: RegistrationManager,
-        trackRequestManager: TrackRequestManager
+        trackRequestManager: TrackRequestManager,
+        pushImageCacheManager: PushImageCacheManager = PushImageCacheManager.getInstance()
     ) : super(extensionApi) {
         this.extensionApi = extensionApi
         this.registrationManager = registrationManager
         this.trackRequestManager = trackRequestManager
+        this.pushImageCacheManager = pushImageCacheManager
+        configurationProvider = CampaignClassicConfigurationProvider(extensionApi)
     }
 
     companion object {
@@ -87,6 +96,7 @@ class CampaignClassicExtension : Extension {
         api.registerEventListener(EventType.CONFIGURATION, EventSource.RESPONSE_CONTENT) {
             handleConfigurationResponseEvent(it)
         }
+        pushImageCacheManager.trimInBackground()
     }
 
     override fun readyForEvent(event: Event): Boolean {
@@ -103,11 +113,18 @@ class CampaignClassicExtension : Extension {
      * <p>
      * If the configuration event data contains {@code global.privacy} key, and the new privacy status
      * is [MobilePrivacyStatus.OPT_OUT], then the persisted identifiers for this extension are cleared.
+     * The configuration snapshot shared by the managers is rebuilt from the new configuration.
+     * Queued track requests are resumed or discarded based on the privacy status, and the configured push image
+     * cache size and encoding are applied to the [PushImageCacheManager]. When the privacy status is [MobilePrivacyStatus.OPT_IN],
+     * a device registration which previously failed is retried.
      *
      * @param event incoming configuration response [Event]
      */
     internal fun handleConfigurationResponseEvent(event: Event) {
-        val configData = CampaignClassicConfiguration(event, extensionApi)
+        val configData = configurationProvider.update(event)
+        pushImageCacheManager.setMaximumSizeInBytes(configData.pushImageCacheMaxSize)
+        pushImageCacheManager.setCacheEncoding(configData.pushImageCacheEncoding)
+        trackRequestManager.updatePrivacyStatus(configData.privacyStatus)
         if (configData.privacyStatus == MobilePrivacyStatus.OPT_OUT) {
             // Reset registration info in data store
             Log.debug(
@@ -116,6 +133,8 @@ class CampaignClassicExtension : Extension {
                 "handleConfigurationResponseEvent - Privacy status is opt out, clearing persisted registration info."
             )
             registrationManager.clearRegistrationData()
+        } else if (configData.privacyStatus == MobilePrivacyStatus.OPT_IN) {
+            registrationManager.resumePendingRegistration()
         }
     }
 
@@ -10,10 +10,8 @@
 */
 package com.adobe.marketing.mobile.campaignclassic.internal;
 
-import java.text.CharacterIterator;
-import java.text.StringCharacterIterator;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /** CampaignClassicMapSerializer class */
 // Reference impl: Refer
@@ -22,6 +20,14 @@ class CampaignClassicMapSerializer {
 
     private CampaignClassicMapSerializer() {}
 
+    private static final String ADDITIONAL_PARAMETERS_START = "<additionalParameters>";
+    private static final String ADDITIONAL_PARAMETERS_END = "</additionalParameters>";
+    private static final String PARAM_NAME_START = "<param name=\"";
+    private static final String PARAM_VALUE_START = "\" value=\"";
+    private static final String PARAM_END = "\"/>";
+    // estimated length of a serialized param, including the markup, used to pre-size the builder
+    private static final int ESTIMATED_PARAM_LENGTH = 64;
+
     /**
      * Serialize provided input map to XML string.
      *
@@ -35,95 +41,150 @@ class CampaignClassicMapSerializer {
      * @return escaped {@link String} in Campaign Classic XML format
      */
     public static String serializeMap(final Map<String, Object> input) {
-        final Map<String, Object> validInput =
-                (input == null) ? new HashMap<String, Object>() : input;
-        StringBuilder sb = new StringBuilder();
-        sb.append("<additionalParameters>");
+        final int paramCount = (input == null) ? 0 : input.size();
+        final StringBuilder sb =
+                new StringBuilder(
+                        ADDITIONAL_PARAMETERS_START.length()
+                                + ADDITIONAL_PARAMETERS_END.length()
+                                + paramCount * ESTIMATED_PARAM_LENGTH);
+        serializeMap(input, sb);
+        return sb.toString();
+    }
 
-        for (Map.Entry<String, Object> entry : validInput.entrySet()) {
-            final String key = entry.getKey();
-            final Object value = entry.getValue();
+    /**
+     * Serialize provided input map to XML string, with the params sorted by key.
+     *
+     * <p>The output is the same as {@link #serializeMap(Map)}, except that the params are always
+     * written in the natural order of their keys, so that maps containing the same key-value pairs
+     * are serialized to the same {@code String} regardless of their iteration order.
+     *
+     * @param input {@code Map<String, Object>} containing key-value pairs
+     * @return escaped {@link String} in Campaign Classic XML format, with the params sorted by key
+     */
+    public static String serializeMapCanonical(final Map<String, Object> input) {
+        if (input == null || input.size() < 2) {
+            return serializeMap(input);
+        }
 
-            if (key != null && value != null) {
-                sb.append(serializeObject(value, key));
+        final Map<String, Object> sortedInput = new TreeMap<String, Object>();
+        for (Map.Entry<String, Object> entry : input.entrySet()) {
+            if (entry.getKey() != null) {
+                sortedInput.put(entry.getKey(), entry.getValue());
             }
         }
 
-        sb.append("</additionalParameters>");
-        return sb.toString();
+        return serializeMap(sortedInput);
+    }
+
+    /**
+     * Serialize provided input map to XML, appending it to the provided {@code StringBuilder}.
+     *
+     * <p>The output is the same as {@link #serializeMap(Map)}, written directly into {@code out}
+     * without creating intermediate {@code String}s for the params.
+     *
+     * @param input {@code Map<String, Object>} containing key-value pairs
+     * @param out {@link StringBuilder} the escaped Campaign Classic XML is appended to
+     */
+    static void serializeMap(final Map<String, Object> input, final StringBuilder out) {
+        out.append(ADDITIONAL_PARAMETERS_START);
+
+        if (input != null) {
+            for (Map.Entry<String, Object> entry : input.entrySet()) {
+                final String key = entry.getKey();
+                final Object value = entry.getValue();
+
+                if (key != null && value != null) {
+                    serializeObject(value, key, out);
+                }
+            }
+        }
+
+        out.append(ADDITIONAL_PARAMETERS_END);
     }
 
     /**
-     * Serialize provided {@code Object} to {@code String}.
+     * Serialize provided {@code Object} to the provided {@code StringBuilder}.
      *
-     * <p>The {@code Object} key-value pairs are serialized to a {@code String} in the format
-     * {@literal <param name=\"key\" value=\"value\"/>}
+     * <p>The {@code Object} key-value pairs are serialized in the format {@literal <param
+     * name=\"key\" value=\"value\"/>}
      *
-     * <p>This method returns the {@code String} representation of the provided {@code Object}. If
-     * the {@code Object} contains a {@code Boolean}, {@code String} "true" or "false" is returned.
+     * <p>Numeric values are appended directly since they contain no character to escape. {@code
+     * Byte} and {@code Character} values are written as their integer value, and {@code Boolean}
+     * values as "true" or "false".
      *
      * @param o {@link Object} containing value corresponding to the given {@code key}
      * @param key {@link String} containing the key value
-     * @return escaped {@code String} in Campaign Classic XML format containing given key-value.
+     * @param out {@link StringBuilder} the escaped param is appended to
      */
-    private static String serializeObject(final Object o, final String key) {
-        String value;
+    private static void serializeObject(
+            final Object o, final String key, final StringBuilder out) {
+        out.append(PARAM_NAME_START);
+        appendEscapedXMLAttrString(key, out);
+        out.append(PARAM_VALUE_START);
 
         if (o instanceof String) {
-            value = (String) o;
+            appendEscapedXMLAttrString((String) o, out);
         } else if (o instanceof Integer) {
-            value = String.valueOf((Integer) o);
+            out.append(((Integer) o).intValue());
         } else if (o instanceof Float) {
-            value = String.valueOf((Float) o);
+            out.append(((Float) o).floatValue());
         } else if (o instanceof Double) {
-            value = String.valueOf((Double) o);
+            out.append(((Double) o).doubleValue());
         } else if (o instanceof Long) {
-            value = String.valueOf((Long) o);
+            out.append(((Long) o).longValue());
         } else if (o instanceof Byte) {
-            value = String.valueOf(Integer.valueOf((Byte) o));
+            out.append((int) (Byte) o);
         } else if (o instanceof Character) {
-            value = String.valueOf(Integer.valueOf((Character) o));
+            out.append((int) (Character) o);
         } else if (o instanceof Short) {
-            value = String.valueOf((Short) o);
+            out.append((int) (Short) o);
         } else if (o instanceof Boolean) {
-            Boolean b = (Boolean) o;
-            value = b ? "true" : "false";
+            out.append(((Boolean) o) ? "true" : "false");
         } else {
             // unknown type
-            value = o.toString();
+            appendEscapedXMLAttrString(o.toString(), out);
         }
 
-        return "<param name=\""
-                + escapeXMLAttrString(key)
-                + "\" value=\""
-                + escapeXMLAttrString(value)
-                + "\"/>";
+        out.append(PARAM_END);
     }
 
     /**
-     * Escape provided XML {@code String} attribute.
+     * Escape provided XML {@code String} attribute, appending it to the provided {@code
+     * StringBuilder}.
+     *
+     * <p>Runs of characters which need no escaping are copied in bulk, so a {@code String} without
+     * any special character is appended as is.
      *
      * @param attributeString the provided {@link String} to escape
-     * @return the escaped {@code String}
+     * @param out {@link StringBuilder} the escaped {@code String} is appended to
      */
-    private static String escapeXMLAttrString(final String attributeString) {
-        StringBuilder result = new StringBuilder();
-        StringCharacterIterator iter = new StringCharacterIterator(attributeString);
-        char c = iter.current();
-
-        while (c != CharacterIterator.DONE) {
-            result.append(escapeXMLAttrChar(c));
-            c = iter.next();
+    private static void appendEscapedXMLAttrString(
+            final String attributeString, final StringBuilder out) {
+        final int length = attributeString.length();
+        int runStart = 0;
+
+        for (int i = 0; i < length; i++) {
+            final String escaped = escapeXMLAttrChar(attributeString.charAt(i));
+
+            if (escaped != null) {
+                out.append(attributeString, runStart, i).append(escaped);
+                runStart = i + 1;
+            }
         }
 
-        return result.toString();
+        if (runStart == 0) {
+            out.append(attributeString);
+        } else {
+            out.append(attributeString, runStart, length);
+        }
     }
 
     /**
      * Escape provided XML {@code char} attribute.
      *
      * @param attributeChar {@code char} XML attribute char to escape
-     * @return escaped {@link String} value of the XML attribute char
+     * @return escaped {@link String} value of the XML attribute char, or null if the char does not
+     *     need to be escaped
      */
     private static String escapeXMLAttrChar(final char attributeChar) {
         switch (attributeChar) {
@@ -149,7 +210,7 @@ class CampaignClassicMapSerializer {
                 return "&amp;";
 
             default:
-                return String.valueOf(attributeChar);
+                return null;
         }
     }
 }
@@ -0,0 +1,97 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.services.DeviceInforming
+import com.adobe.marketing.mobile.util.UrlUtils
+import java.util.Locale
+import java.util.UUID
+
+/**
+ * Static device portion of the device registration request.
+ * <p>
+ * The device values do not change while the app is running, except for the active locale and the operating system
+ * version. The values are read and url encoded once, and the fingerprint is recreated only when [isCurrent] reports
+ * that the locale or the operating system version changed.
+ */
+internal class DeviceFingerprint private constructor(
+    private val locale: Locale?,
+    private val operatingSystemVersion: String?,
+    /** Device UUID [String] used in the registration info hash, empty if the device unique id is not available */
+    val deviceUuid: String,
+    /** Url encoded device unique id [String] */
+    val encodedDeviceId: String,
+    /** Url encoded device [String] */
+    val encodedDevice: String,
+    /** Url encoded device name [String] */
+    val encodedDeviceName: String,
+    /** Url encoded device brand [String] */
+    val encodedDeviceBrand: String,
+    /** Url encoded device manufacturer [String] */
+    val encodedDeviceManufacturer: String,
+    /** Url encoded operating system name [String] sent as the registration `osName` */
+    val encodedOsName: String,
+    /** Url encoded operating system name and version [String] */
+    val encodedOsVersion: String,
+    /** Url encoded active locale [String] */
+    val encodedOsLanguage: String
+) {
+    companion object {
+        /**
+         * Reads and url encodes the device values from the provided [DeviceInforming] service.
+         *
+         * @param deviceInfoService the [DeviceInforming] service, or null if it is not available
+         * @return the [DeviceFingerprint] for the current device
+         */
+        fun create(deviceInfoService: DeviceInforming?): DeviceFingerprint {
+            val deviceUniqueId = deviceInfoService?.deviceUniqueId
+            val deviceUuid = if (deviceUniqueId != null) {
+                UUID(
+                    deviceUniqueId.hashCode().toLong(),
+                    deviceUniqueId.hashCode().toLong()
+                ).toString()
+            } else {
+                ""
+            }
+            val locale = deviceInfoService?.activeLocale
+            val operatingSystemVersion = deviceInfoService?.operatingSystemVersion
+
+            return DeviceFingerprint(
+                locale,
+                operatingSystemVersion,
+                deviceUuid,
+                UrlUtils.urlEncode(deviceUniqueId ?: ""),
+                UrlUtils.urlEncode(deviceInfoService?.device ?: ""),
+                UrlUtils.urlEncode(deviceInfoService?.deviceName ?: ""),
+                UrlUtils.urlEncode(deviceInfoService?.deviceBrand ?: ""),
+                UrlUtils.urlEncode(deviceInfoService?.deviceManufacturer ?: ""),
+                UrlUtils.urlEncode(CampaignClassicConstants.REGISTER_PARAM_DEVICE_OS_NAME),
+                UrlUtils.urlEncode(deviceInfoService?.operatingSystemName + " " + operatingSystemVersion),
+                UrlUtils.urlEncode(formatLocale(locale))
+            )
+        }
+
+        private fun formatLocale(locale: Locale?): String {
+            return locale?.toString()?.replace('_', '-') ?: ""
+        }
+    }
+
+    /**
+     * Checks whether this fingerprint still matches the device.
+     *
+     * @param deviceInfoService the [DeviceInforming] service, or null if it is not available
+     * @return true if the active locale and the operating system version did not change, false otherwise
+     */
+    fun isCurrent(deviceInfoService: DeviceInforming?): Boolean {
+        return locale == deviceInfoService?.activeLocale &&
+            operatingSystemVersion == deviceInfoService?.operatingSystemVersion
+    }
+}
@@ -0,0 +1,22 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.services.HttpConnecting
+import java.net.HttpURLConnection
+
+/**
+ * @return true if the request failed with a response code indicating a temporary failure, and should be retried
+ */
+internal val HttpConnecting.hasRetryableResponseCode: Boolean
+    get() = responseCode == HttpURLConnection.HTTP_CLIENT_TIMEOUT ||
+        responseCode == CampaignClassicConstants.HTTP_TOO_MANY_REQUESTS ||
+        responseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR
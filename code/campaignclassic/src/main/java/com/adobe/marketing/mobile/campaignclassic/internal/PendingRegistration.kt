@@ -0,0 +1,93 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import org.json.JSONException
+import org.json.JSONObject
+import java.util.Random
+
+/**
+ * Retry state of a device registration request which failed and is retried later.
+ * <p>
+ * Only the registration hash and the retry state are persisted in the Campaign Classic data store. The registration
+ * token, the user key and the additional parameters are kept in memory as a [RegistrationRequest], so a pending
+ * registration persisted by a previous launch is not retried on its own. Its attempts are carried over by the next
+ * registration request with the same registration hash, so that the retry limit and the backoff still apply across
+ * launches. The record is removed when the registration request succeeds, is dropped after
+ * [CampaignClassicConstants.REGISTRATION_RETRY_MAX_ATTEMPTS] attempts, is superseded by a new registration request,
+ * or the privacy status is no longer [com.adobe.marketing.mobile.MobilePrivacyStatus.OPT_IN].
+ *
+ * @property registrationHash [String] containing the SHA256 hashed device registration information
+ * @property attempts `int` containing the number of failed attempts
+ * @property nextAttemptAt `long` containing the time in milliseconds at which the request can be retried
+ */
+internal data class PendingRegistration(
+    val registrationHash: String?,
+    val attempts: Int,
+    val nextAttemptAt: Long
+) {
+    companion object {
+        private const val KEY_HASH = "hash"
+        private const val KEY_ATTEMPTS = "attempts"
+        private const val KEY_NEXT_ATTEMPT_AT = "nextAttemptAt"
+
+        /**
+         * Reads a [PendingRegistration] from its persisted JSON representation.
+         *
+         * @param json [String] containing the persisted pending registration
+         * @return the [PendingRegistration], or null if [json] is null or invalid
+         */
+        fun fromJson(json: String?): PendingRegistration? {
+            if (json.isNullOrEmpty()) {
+                return null
+            }
+
+            return try {
+                val data = JSONObject(json)
+                PendingRegistration(
+                    data.optString(KEY_HASH).takeUnless { it.isEmpty() },
+                    data.getInt(KEY_ATTEMPTS),
+                    data.getLong(KEY_NEXT_ATTEMPT_AT)
+                )
+            } catch (e: JSONException) {
+                null
+            }
+        }
+
+        /**
+         * Computes the delay before retrying a registration request which failed [attempts] times. The delay grows
+         * exponentially up to [CampaignClassicConstants.REGISTRATION_RETRY_MAX_DELAY_IN_MILLISECONDS], and a random
+         * jitter of up to half the delay is removed so that devices do not retry all at once after an outage.
+         *
+         * @param attempts `int` containing the number of failed attempts
+         * @param random the [Random] used for the jitter
+         * @return `long` containing the retry delay in milliseconds
+         */
+        fun retryDelayMillis(attempts: Int, random: Random): Long {
+            val shift = (attempts - 1).coerceIn(0, CampaignClassicConstants.REGISTRATION_RETRY_MAX_BACKOFF_SHIFT)
+            val delay = (CampaignClassicConstants.REGISTRATION_RETRY_BASE_DELAY_IN_MILLISECONDS shl shift)
+                .coerceAtMost(CampaignClassicConstants.REGISTRATION_RETRY_MAX_DELAY_IN_MILLISECONDS)
+            val halfDelay = delay / 2
+            return halfDelay + (random.nextDouble() * halfDelay).toLong()
+        }
+    }
+
+    /**
+     * @return the JSON [String] representation of this pending registration
+     */
+    fun toJson(): String {
+        return JSONObject()
+            .put(KEY_HASH, registrationHash ?: "")
+            .put(KEY_ATTEMPTS, attempts)
+            .put(KEY_NEXT_ATTEMPT_AT, nextAttemptAt)
+            .toString()
+    }
+}
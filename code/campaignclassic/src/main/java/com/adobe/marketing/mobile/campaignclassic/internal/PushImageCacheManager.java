@@ -0,0 +1,503 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import com.adobe.marketing.mobile.services.DeviceInforming;
+import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.services.NamedCollection;
+import com.adobe.marketing.mobile.services.ServiceProvider;
+import com.adobe.marketing.mobile.services.caching.CacheResult;
+import com.adobe.marketing.mobile.services.caching.CacheService;
+import com.adobe.marketing.mobile.util.StringUtils;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Keeps the push notification image cache under a maximum size.
+ *
+ * <p>The manager keeps an index of the cached images ordered by last access, along with the size
+ * of each cache entry. When the total size of the cached images goes over the configured maximum,
+ * the least recently used images are removed from the cache. The index is persisted in the
+ * Campaign Classic data store so that the cache size is tracked across app launches. Changes to the
+ * index are persisted in the background, never on the thread recording them, and changes recorded
+ * while a persist is pending are written together.
+ *
+ * <p>This class is used internally by the Campaign Classic extension and is not intended to be
+ * used by the customers.
+ */
+public final class PushImageCacheManager {
+    private static final String SELF_TAG = "PushImageCacheManager";
+    private static final String INDEX_KEY_URI = "uri";
+    private static final String INDEX_KEY_SIZE = "size";
+
+    private static class InstanceHolder {
+        static final PushImageCacheManager INSTANCE = new PushImageCacheManager();
+    }
+
+    private final CacheService cacheServiceOverride;
+    private final NamedCollection dataStoreOverride;
+    private final String cacheLocationOverride;
+    private final Executor trimExecutor;
+
+    // cached image uris and entry sizes in bytes, ordered from least to most recently used
+    private final LinkedHashMap<String, Long> entrySizes = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private long totalSizeInBytes;
+    private long maximumSizeInBytes =
+            CampaignClassicConstants.DEFAULT_PUSH_IMAGE_CACHE_MAX_SIZE_IN_BYTES;
+    private volatile String cacheEncoding =
+            CampaignClassicConstants.DEFAULT_PUSH_IMAGE_CACHE_ENCODING;
+    private boolean indexLoaded;
+    // true if the index changed since it was last persisted
+    private boolean indexDirty;
+    // true if a persist of the index is waiting to run on the trim executor
+    private boolean persistScheduled;
+
+    private PushImageCacheManager() {
+        this(null, null, null, Executors.newSingleThreadExecutor());
+    }
+
+    @VisibleForTesting
+    PushImageCacheManager(
+            final CacheService cacheService,
+            final NamedCollection dataStore,
+            final String cacheLocation,
+            @NonNull final Executor trimExecutor) {
+        this.cacheServiceOverride = cacheService;
+        this.dataStoreOverride = dataStore;
+        this.cacheLocationOverride = cacheLocation;
+        this.trimExecutor = trimExecutor;
+    }
+
+    /**
+     * Returns the shared {@code PushImageCacheManager} instance.
+     *
+     * @return the {@link PushImageCacheManager} instance
+     */
+    public static PushImageCacheManager getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Retrieves the Campaign Classic extension's push image cache location.
+     *
+     * @return {@code String} containing the push image cache location, or null if the application
+     *     cache directory is not available
+     */
+    public String getCacheLocation() {
+        if (cacheLocationOverride != null) {
+            return cacheLocationOverride;
+        }
+
+        final DeviceInforming deviceInfoService =
+                ServiceProvider.getInstance().getDeviceInfoService();
+        if (deviceInfoService == null) return null;
+        final File applicationCacheDir = deviceInfoService.getApplicationCacheDir();
+
+        return (applicationCacheDir == null)
+                ? null
+                : applicationCacheDir
+                        + File.separator
+                        + CampaignClassicConstants.PUSH_IMAGE_CACHE_BASE_DIR
+                        + File.separator
+                        + CampaignClassicConstants.PUSH_IMAGE_CACHE_DIR;
+    }
+
+    /**
+     * Records that the image for the provided uri was read from the cache, making it the most
+     * recently used image.
+     *
+     * @param uri {@code String} containing the image uri
+     */
+    public void recordHit(final String uri) {
+        hitCount.incrementAndGet();
+        synchronized (entrySizes) {
+            loadIndex();
+            // reading the entry moves it to the most recently used position. the new order is
+            // persisted with the next write or trim to avoid a data store write for every read.
+            if (entrySizes.get(uri) != null) {
+                indexDirty = true;
+            }
+        }
+    }
+
+    /**
+     * Records that the image for the provided uri was not found in the cache.
+     *
+     * @param uri {@code String} containing the image uri
+     */
+    public void recordMiss(final String uri) {
+        missCount.incrementAndGet();
+        synchronized (entrySizes) {
+            loadIndex();
+            if (entrySizes.containsKey(uri)) {
+                // the cache entry expired and was removed by the cache service
+                totalSizeInBytes -= entrySizes.remove(uri);
+                schedulePersistIndex();
+            }
+        }
+    }
+
+    /**
+     * Records that the image for the provided uri was written to the cache, then evicts the least
+     * recently used images if the cache is over its maximum size.
+     *
+     * @param uri {@code String} containing the image uri
+     * @param sizeInBytes {@code long} containing the size of the cache entry in bytes
+     */
+    public void recordWrite(final String uri, final long sizeInBytes) {
+        if (StringUtils.isNullOrEmpty(uri)) {
+            return;
+        }
+
+        synchronized (entrySizes) {
+            loadIndex();
+            final long entrySize = Math.max(sizeInBytes, 0);
+            final Long previousSize = entrySizes.put(uri, entrySize);
+            totalSizeInBytes += entrySize - (previousSize == null ? 0 : previousSize);
+            evictLeastRecentlyUsed(uri);
+            schedulePersistIndex();
+        }
+    }
+
+    /**
+     * Trims the cache to its maximum size on a background thread. Entries which expired since
+     * the last launch are removed from the index before evicting any image.
+     */
+    public void trimInBackground() {
+        trimExecutor.execute(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        trim();
+                    }
+                });
+    }
+
+    /** @return {@code long} containing the number of images read from the cache */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /** @return {@code long} containing the number of images not found in the cache */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /** @return {@code long} containing the number of images evicted from the cache */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Sets the maximum size of the push image cache. The cache is trimmed in the background if
+     * the maximum size is reduced.
+     *
+     * @param sizeInBytes {@code long} containing the maximum cache size in bytes
+     */
+    void setMaximumSizeInBytes(final long sizeInBytes) {
+        if (sizeInBytes <= 0) {
+            Log.debug(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Ignoring invalid push image cache size (%d).",
+                    sizeInBytes);
+            return;
+        }
+
+        final boolean reduced;
+        synchronized (entrySizes) {
+            reduced = sizeInBytes < maximumSizeInBytes;
+            maximumSizeInBytes = sizeInBytes;
+        }
+
+        if (reduced) {
+            trimInBackground();
+        }
+    }
+
+    /**
+     * Returns the configured encoding of the images written to the push image cache. Images
+     * already cached keep the encoding they were written with.
+     *
+     * @return {@code String} containing the name of the configured image cache encoding
+     */
+    public String getCacheEncoding() {
+        return cacheEncoding;
+    }
+
+    /**
+     * Sets the encoding of the images written to the push image cache.
+     *
+     * @param encoding {@code String} containing the name of the image cache encoding
+     */
+    void setCacheEncoding(@NonNull final String encoding) {
+        cacheEncoding = encoding;
+    }
+
+    @VisibleForTesting
+    long getTotalSizeInBytes() {
+        synchronized (entrySizes) {
+            loadIndex();
+            return totalSizeInBytes;
+        }
+    }
+
+    @VisibleForTesting
+    void trim() {
+        final CacheService cacheService = getCacheService();
+        final String cacheLocation = getCacheLocation();
+        if (cacheService == null || cacheLocation == null) {
+            return;
+        }
+
+        final List<String> uris;
+        synchronized (entrySizes) {
+            loadIndex();
+            uris = new ArrayList<>(entrySizes.keySet());
+        }
+
+        // the cache service deletes expired entries when they are read, drop them from the index
+        final List<String> expiredUris = new ArrayList<>();
+        for (final String uri : uris) {
+            final CacheResult cacheResult = cacheService.get(cacheLocation, uri);
+            if (cacheResult == null) {
+                expiredUris.add(uri);
+            } else {
+                closeCacheResult(cacheResult, uri);
+            }
+        }
+
+        final String serializedIndex;
+        synchronized (entrySizes) {
+            for (final String uri : expiredUris) {
+                final Long size = entrySizes.remove(uri);
+                if (size != null) {
+                    totalSizeInBytes -= size;
+                    indexDirty = true;
+                }
+            }
+            evictLeastRecentlyUsed(null);
+            serializedIndex = serializeIndexIfDirty();
+
+            Log.trace(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Trimmed push image cache to %d bytes (%d images). Hits: %d, misses: %d,"
+                            + " evictions: %d.",
+                    totalSizeInBytes,
+                    entrySizes.size(),
+                    hitCount.get(),
+                    missCount.get(),
+                    evictionCount.get());
+        }
+        persistIndex(serializedIndex);
+    }
+
+    /**
+     * Closes the data stream of a cache entry which was only read to check its expiry.
+     *
+     * @param cacheResult the {@link CacheResult} to close
+     * @param uri {@code String} containing the image uri
+     */
+    private static void closeCacheResult(final CacheResult cacheResult, final String uri) {
+        final InputStream data = cacheResult.getData();
+        if (data == null) {
+            return;
+        }
+
+        try {
+            data.close();
+        } catch (final IOException exception) {
+            Log.debug(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to close the cached image for %s. Exception: %s",
+                    uri,
+                    exception.getMessage());
+        }
+    }
+
+    /**
+     * Removes the least recently used images from the cache until it is under its maximum size.
+     * Must be called while holding the index lock.
+     *
+     * @param retainedUri {@code String} containing an image uri which is never evicted, or null
+     */
+    private void evictLeastRecentlyUsed(final String retainedUri) {
+        if (totalSizeInBytes <= maximumSizeInBytes) {
+            return;
+        }
+
+        final CacheService cacheService = getCacheService();
+        final String cacheLocation = getCacheLocation();
+        final Iterator<Map.Entry<String, Long>> iterator = entrySizes.entrySet().iterator();
+        while (totalSizeInBytes > maximumSizeInBytes && iterator.hasNext()) {
+            final Map.Entry<String, Long> eldest = iterator.next();
+            if (eldest.getKey().equals(retainedUri)) {
+                continue;
+            }
+
+            if (cacheService != null && cacheLocation != null) {
+                cacheService.remove(cacheLocation, eldest.getKey());
+            }
+            totalSizeInBytes -= eldest.getValue();
+            iterator.remove();
+            indexDirty = true;
+            evictionCount.incrementAndGet();
+            Log.trace(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Evicted image for %s from the push image cache.",
+                    eldest.getKey());
+        }
+    }
+
+    /** Loads the persisted index on first use. Must be called while holding the index lock. */
+    private void loadIndex() {
+        if (indexLoaded) {
+            return;
+        }
+        indexLoaded = true;
+
+        final NamedCollection dataStore = getDataStore();
+        final String serializedIndex =
+                dataStore == null
+                        ? null
+                        : dataStore.getString(
+                                CampaignClassicConstants.DataStoreKeys.PUSH_IMAGE_CACHE_INDEX,
+                                null);
+        if (StringUtils.isNullOrEmpty(serializedIndex)) {
+            return;
+        }
+
+        try {
+            final JSONArray index = new JSONArray(serializedIndex);
+            for (int i = 0; i < index.length(); i++) {
+                final JSONObject entry = index.getJSONObject(i);
+                final long size = entry.getLong(INDEX_KEY_SIZE);
+                entrySizes.put(entry.getString(INDEX_KEY_URI), size);
+                totalSizeInBytes += size;
+            }
+        } catch (final JSONException exception) {
+            Log.warning(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to read the persisted push image cache index. Exception: %s",
+                    exception.getMessage());
+        }
+    }
+
+    /**
+     * Marks the index as changed and schedules a persist on the trim executor, unless one is
+     * already pending. Must be called while holding the index lock.
+     */
+    private void schedulePersistIndex() {
+        indexDirty = true;
+        if (persistScheduled) {
+            return;
+        }
+        persistScheduled = true;
+
+        trimExecutor.execute(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        final String serializedIndex;
+                        synchronized (entrySizes) {
+                            persistScheduled = false;
+                            serializedIndex = serializeIndexIfDirty();
+                        }
+                        persistIndex(serializedIndex);
+                    }
+                });
+    }
+
+    /**
+     * Serializes the index if it changed since it was last persisted. Must be called while holding
+     * the index lock.
+     *
+     * @return {@code String} containing the serialized index, or null if it is unchanged
+     */
+    private String serializeIndexIfDirty() {
+        if (!indexDirty) {
+            return null;
+        }
+
+        final JSONArray index = new JSONArray();
+        try {
+            for (final Map.Entry<String, Long> entry : entrySizes.entrySet()) {
+                index.put(
+                        new JSONObject()
+                                .put(INDEX_KEY_URI, entry.getKey())
+                                .put(INDEX_KEY_SIZE, entry.getValue().longValue()));
+            }
+        } catch (final JSONException exception) {
+            Log.warning(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "Failed to persist the push image cache index. Exception: %s",
+                    exception.getMessage());
+            return null;
+        }
+        indexDirty = false;
+        return index.toString();
+    }
+
+    /**
+     * Persists the serialized index to the data store. Only called from the trim executor so that
+     * the persisted indexes are written in order.
+     *
+     * @param serializedIndex {@code String} containing the serialized index, or null to skip
+     */
+    private void persistIndex(final String serializedIndex) {
+        final NamedCollection dataStore = getDataStore();
+        if (serializedIndex == null || dataStore == null) {
+            return;
+        }
+
+        dataStore.setString(
+                CampaignClassicConstants.DataStoreKeys.PUSH_IMAGE_CACHE_INDEX, serializedIndex);
+    }
+
+    private CacheService getCacheService() {
+        return cacheServiceOverride != null
+                ? cacheServiceOverride
+                : ServiceProvider.getInstance().getCacheService();
+    }
+
+    private NamedCollection getDataStore() {
+        if (dataStoreOverride != null) {
+            return dataStoreOverride;
+        }
+        return ServiceProvider.getInstance().getDataStoreService() == null
+                ? null
+                : ServiceProvider.getInstance()
+                        .getDataStoreService()
+                        .getNamedCollection(CampaignClassicConstants.DATASTORE_KEY);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.services.Log
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Collapses bursts of device registration requests into a single registration.
+ * <p>
+ * Registration requests received within [debounceMillis] of the first pending request are collapsed into the latest
+ * one. At most one registration is processed at a time, requests received meanwhile are collapsed and processed once
+ * the current registration completes. The final registration status is dispatched once for every collapsed request.
+ * Retries of failed registrations go through the same queue, and are dropped if a new registration request is
+ * pending since it supersedes them.
+ *
+ * @param debounceMillis `long` containing the window in milliseconds during which requests are collapsed,
+ * requests are processed immediately if it is not positive
+ * @param register processes the registration request [Event] and invokes the provided callback exactly once
+ * with the registration status
+ * @param dispatchStatus dispatches the registration status to a waiting caller
+ */
+internal class RegistrationCoalescer(
+    private val debounceMillis: Long,
+    private val register: (event: Event, onComplete: (Boolean) -> Unit) -> Unit,
+    private val dispatchStatus: (Boolean) -> Unit
+) {
+    private val lock = Any()
+    private var pendingEvent: Event? = null
+    private var pendingRetry: ((onComplete: (Boolean) -> Unit) -> Unit)? = null
+    private var waitingCallers = 0
+    private var inFlight = false
+    private var scheduledFlush: ScheduledFuture<*>? = null
+    private val scheduler: ScheduledExecutorService by lazy { Executors.newSingleThreadScheduledExecutor() }
+
+    companion object {
+        private const val SELF_TAG = "RegistrationCoalescer"
+    }
+
+    /**
+     * Adds a registration request, replacing any pending request which was not processed yet.
+     *
+     * @param event the registration request [Event]
+     */
+    fun submit(event: Event) {
+        val startNow = synchronized(lock) {
+            if (pendingEvent != null) {
+                Log.trace(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "submit - Collapsing pending registration request into the latest one."
+                )
+            }
+            pendingEvent = event
+            pendingRetry = null
+            waitingCallers++
+            if (debounceMillis <= 0) {
+                true
+            } else {
+                if (scheduledFlush == null) {
+                    scheduledFlush = scheduler.schedule({ flush() }, debounceMillis, TimeUnit.MILLISECONDS)
+                }
+                false
+            }
+        }
+
+        if (startNow) {
+            startPendingRegistration()
+        }
+    }
+
+    /**
+     * Retries a failed registration once no registration is in flight. The retry is dropped if a registration
+     * request is pending, and replaces any previous retry which did not start yet. No registration status is
+     * dispatched for a retry.
+     *
+     * @param retry sends the registration again and invokes the provided callback exactly once with the result
+     */
+    fun submitRetry(retry: (onComplete: (Boolean) -> Unit) -> Unit) {
+        synchronized(lock) {
+            if (pendingEvent != null) {
+                return
+            }
+            pendingRetry = retry
+        }
+        startPendingRegistration()
+    }
+
+    /**
+     * Ends the debounce window and processes the pending registration request if none is in flight.
+     */
+    private fun flush() {
+        synchronized(lock) {
+            scheduledFlush = null
+        }
+        startPendingRegistration()
+    }
+
+    /**
+     * Processes the pending registration request, unless a registration is already in flight.
+     */
+    private fun startPendingRegistration() {
+        val event: Event?
+        val retry: ((onComplete: (Boolean) -> Unit) -> Unit)?
+        val callers: Int
+        synchronized(lock) {
+            if (inFlight) {
+                return
+            }
+            event = pendingEvent
+            // a pending registration request waits for its debounce window, retries are sent right away
+            retry = if (event == null) pendingRetry else null
+            if (event == null && retry == null) {
+                return
+            }
+            callers = waitingCallers
+            pendingEvent = null
+            pendingRetry = null
+            waitingCallers = 0
+            inFlight = true
+        }
+
+        if (event != null) {
+            register(event) { status -> complete(status, callers) }
+        } else {
+            retry?.invoke { status -> complete(status, 0) }
+        }
+    }
+
+    /**
+     * Dispatches the registration status to the waiting callers, then processes the requests received while the
+     * registration was in flight once their debounce window elapsed.
+     */
+    private fun complete(status: Boolean, callers: Int) {
+        repeat(callers) { dispatchStatus(status) }
+
+        val startNext = synchronized(lock) {
+            inFlight = false
+            scheduledFlush == null
+        }
+        if (startNext) {
+            startPendingRegistration()
+        }
+    }
+}
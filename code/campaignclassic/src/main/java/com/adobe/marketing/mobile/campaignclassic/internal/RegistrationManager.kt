@@ -29,8 +29,11 @@ import java.net.HttpURLConnection
 import java.nio.charset.StandardCharsets
 import java.security.MessageDigest
 import java.security.NoSuchAlgorithmException
-import java.util.Locale
-import java.util.UUID
+import java.util.Random
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
 
 /**
  * Handles logic related to registering device token with Campaign Classic server
@@ -40,14 +43,27 @@ internal class RegistrationManager {
     private val deviceInfoService: DeviceInforming?
     private val dataStore: NamedCollection?
     private val networkService: Networking?
+    private val configurationProvider: CampaignClassicConfigurationProvider
+    // device information is read once and reused until the locale or the OS version changes
+    @Volatile
+    private var deviceFingerprint: DeviceFingerprint? = null
+    private val coalescer: RegistrationCoalescer
+    private val random = Random()
+    private val retryLock = Any()
+    private var scheduledRetry: ScheduledFuture<*>? = null
+    // inputs of the pending registration, kept in memory only so they are never written to the data store
+    private var pendingRequest: RegistrationRequest? = null
+    private val retryScheduler: ScheduledExecutorService by lazy { Executors.newSingleThreadScheduledExecutor() }
 
-    constructor(extensionApi: ExtensionApi) {
+    constructor(extensionApi: ExtensionApi, configurationProvider: CampaignClassicConfigurationProvider) {
         this.extensionApi = extensionApi
+        this.configurationProvider = configurationProvider
         deviceInfoService = ServiceProvider.getInstance().deviceInfoService
         dataStore = ServiceProvider.getInstance().dataStoreService?.getNamedCollection(
             CampaignClassicConstants.DATASTORE_KEY
         )
         networkService = ServiceProvider.getInstance().networkService
+        coalescer = createCoalescer(CampaignClassicConstants.REGISTRATION_DEBOUNCE_WINDOW_IN_MILLISECONDS)
     }
 
     @VisibleForTesting
@@ -55,12 +71,15 @@ internal class RegistrationManager {
         extensionApi: ExtensionApi,
         deviceInfoService: DeviceInforming?,
         dataStore: NamedCollection?,
-        networkService: Networking?
+        networkService: Networking?,
+        configurationProvider: CampaignClassicConfigurationProvider = CampaignClassicConfigurationProvider(extensionApi)
     ) {
         this.extensionApi = extensionApi
         this.deviceInfoService = deviceInfoService
         this.dataStore = dataStore
         this.networkService = networkService
+        this.configurationProvider = configurationProvider
+        coalescer = createCoalescer(0)
     }
 
     companion object {
@@ -75,10 +94,115 @@ internal class RegistrationManager {
      * - Privacy status is [MobilePrivacyStatus.OPT_OUT] or [MobilePrivacyStatus.UNKNOWN]
      * - Campaign Classic is not configured
      * - Registration information has not changed since the last request
+     * <p>
+     * Registration requests received in a burst are collapsed into the latest one by a [RegistrationCoalescer], and
+     * at most one registration request is sent at a time. The registration status is dispatched once per request.
      *
      * @param event incoming registration request [Event] containing all the device/user details
      */
     fun registerDevice(event: Event) {
+        coalescer.submit(event)
+    }
+
+    /**
+     * Clears the stored registration data hash and any pending registration retry from persistence.
+     */
+    fun clearRegistrationData() {
+        updateDataStoreWithRegistrationInfo(null)
+        clearPendingRegistration()
+    }
+
+    /**
+     * Retries the persisted device registration request which previously failed, if any.
+     * <p>
+     * The registration request is retried once its backoff delay elapsed, and only when the privacy status is
+     * [MobilePrivacyStatus.OPT_IN]. If the device is offline, the retry waits until a network connection is available.
+     * A registration request which failed in a previous launch is not retried, since its inputs are not persisted, it
+     * is sent again with the next [registerDevice] call.
+     */
+    fun resumePendingRegistration() {
+        val pendingRegistration = loadPendingRegistration() ?: return
+        if (configurationProvider.latest()?.privacyStatus != MobilePrivacyStatus.OPT_IN) {
+            Log.trace(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "resumePendingRegistration - Not retrying device registration request, MobilePrivacyStatus is not optedIn."
+            )
+            return
+        }
+
+        if (getPendingRequest(pendingRegistration) == null) {
+            Log.trace(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "resumePendingRegistration - Not retrying device registration request, waiting for the next registration request."
+            )
+            return
+        }
+
+        scheduleRetry(pendingRegistration)
+    }
+
+    // ========================================================
+    // private methods
+    // ========================================================
+
+    /**
+     * Schedules the retry of the [pendingRegistration] once its backoff delay elapsed, or once a network connection
+     * is available if the device is offline.
+     *
+     * @param pendingRegistration the [PendingRegistration] to retry
+     */
+    private fun scheduleRetry(pendingRegistration: PendingRegistration) {
+        val deviceInfo = deviceInfoService
+        if (deviceInfo != null &&
+            deviceInfo.networkConnectionStatus == DeviceInforming.ConnectionStatus.DISCONNECTED &&
+            deviceInfo.registerOneTimeNetworkConnectionActiveListener { resumePendingRegistration() }
+        ) {
+            Log.trace(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "scheduleRetry - Device is offline, device registration request will be retried once a network connection is available."
+            )
+            return
+        }
+
+        val delayMillis = pendingRegistration.nextAttemptAt - System.currentTimeMillis()
+        synchronized(retryLock) {
+            scheduledRetry?.cancel(false)
+            scheduledRetry = if (delayMillis > 0) {
+                retryScheduler.schedule({ retryPendingRegistration() }, delayMillis, TimeUnit.MILLISECONDS)
+            } else {
+                null
+            }
+        }
+
+        if (delayMillis <= 0) {
+            retryPendingRegistration()
+        }
+    }
+
+    /**
+     * Creates the [RegistrationCoalescer] used to collapse bursts of registration requests.
+     *
+     * @param debounceMillis `long` containing the window in milliseconds during which requests are collapsed
+     * @return the [RegistrationCoalescer]
+     */
+    private fun createCoalescer(debounceMillis: Long): RegistrationCoalescer {
+        return RegistrationCoalescer(
+            debounceMillis,
+            { event, onComplete -> processRegistration(event, onComplete) },
+            { registrationStatus -> dispatchRegistrationStatus(registrationStatus) }
+        )
+    }
+
+    /**
+     * Processes a device registration request and sends it to the configured Campaign Classic server if needed.
+     *
+     * @param event registration request [Event] containing all the device/user details
+     * @param onComplete invoked exactly once with the registration status
+     */
+    private fun processRegistration(event: Event, onComplete: (Boolean) -> Unit) {
         // retrieve the device token from the event
         // device token is the unique token received from Firebase service through the application
         // bail out from the registration request if device token is unavailable
@@ -86,23 +210,23 @@ internal class RegistrationManager {
             Log.debug(
                 CampaignClassicConstants.LOG_TAG,
                 SELF_TAG,
-                "registerDevice - Failed to process device registration request," +
+                "processRegistration - Failed to process device registration request," +
                     "device token is not available."
             )
-            dispatchRegistrationStatus(false)
+            onComplete(false)
             return
         }
 
         // bail out if the privacy is not opted In
-        val configData = CampaignClassicConfiguration(event, extensionApi)
+        val configData = configurationProvider.get(event)
         if (configData.privacyStatus != MobilePrivacyStatus.OPT_IN) {
             Log.debug(
                 CampaignClassicConstants.LOG_TAG,
                 SELF_TAG,
-                "registerDevice - Failed to process device registration request," +
+                "processRegistration - Failed to process device registration request," +
                     "MobilePrivacyStatus is not optedIn."
             )
-            dispatchRegistrationStatus(false)
+            onComplete(false)
             return
         }
 
@@ -111,10 +235,10 @@ internal class RegistrationManager {
             Log.debug(
                 CampaignClassicConstants.LOG_TAG,
                 SELF_TAG,
-                "registerDevice - Failed to process device registration request," +
+                "processRegistration - Failed to process device registration request," +
                     "Marketing server is not configured."
             )
-            dispatchRegistrationStatus(false)
+            onComplete(false)
             return
         }
 
@@ -122,69 +246,217 @@ internal class RegistrationManager {
             Log.debug(
                 CampaignClassicConstants.LOG_TAG,
                 SELF_TAG,
-                "registerDevice - Failed to process device registration request," +
+                "processRegistration - Failed to process device registration request," +
                     "Integration key is not configured."
             )
-            dispatchRegistrationStatus(false)
+            onComplete(false)
             return
         }
 
         // retrieve the userKey from the event
         // userKey is a string containing user identifier e.g. email
         val userKey = event.userKey ?: ""
-        val additionalParametersString =
-            CampaignClassicMapSerializer.serializeMap(event.additionalParameters)
-        val deviceUniqueId = deviceInfoService?.deviceUniqueId
-        val deviceUuid = if (deviceUniqueId != null) {
-            UUID(
-                deviceUniqueId.hashCode().toLong(),
-                deviceUniqueId.hashCode().toLong()
-            ).toString()
-        } else {
-            ""
-        }
+        // additional parameters are serialized in canonical order so that the registration hash only changes
+        // when their content changes
+        val additionalParameters = SerializedAdditionalParameters(event.additionalParameters)
+        val fingerprint = getDeviceFingerprint()
 
         val registrationInfoHash: String? = try {
-            getSha256Hash(registrationToken + userKey + additionalParametersString.hashCode() + deviceUuid)
+            getSha256Hash(registrationToken + userKey + additionalParameters.digest + fingerprint.deviceUuid)
         } catch (ex: Exception) {
             Log.debug(
                 CampaignClassicConstants.LOG_TAG,
                 SELF_TAG,
-                "registerDevice - Failed to process device registration request," +
+                "processRegistration - Failed to process device registration request," +
                     "Cannot create registration info hash. Error $ex.message"
             )
             null
         }
 
+        // a new registration request supersedes the pending retry of a previous one, the failed attempts of the same
+        // registration request are carried over so that the retry limit applies across launches
+        val previousAttempts = loadPendingRegistration()
+            ?.takeIf { it.registrationHash == registrationInfoHash }
+            ?.attempts ?: 0
+        clearPendingRegistration()
+
         // bail out, if the registration request data has not changed
         if (!hasRegistrationInfoChanged(registrationInfoHash)) {
             Log.debug(
                 CampaignClassicConstants.LOG_TAG,
                 SELF_TAG,
-                "registerDevice - Not sending device registration request," +
+                "processRegistration - Not sending device registration request," +
                     "there is no change in registration info."
             )
-            dispatchRegistrationStatus(true)
+            onComplete(true)
             return
         }
 
-        val payload = prepareRegistrationParams(registrationToken, integrationKey, userKey, additionalParametersString)
-        val registerURL = String.format(CampaignClassicConstants.REGISTER_API_URL_BASE, marketingServer)
+        val registration = RegistrationRequest(
+            registrationToken,
+            userKey,
+            additionalParameters.xml,
+            registrationInfoHash
+        )
 
         // make the network request
-        sendRegistrationRequest(registerURL, payload, configData.timeout, registrationInfoHash)
+        sendRegistrationRequest(
+            registration,
+            previousAttempts,
+            marketingServer,
+            integrationKey,
+            configData.timeout,
+            fingerprint,
+            onComplete
+        )
     }
 
     /**
-     * Clears the stored registration data hash from persistence.
+     * Sends the persisted device registration request again through the [RegistrationCoalescer], so that it is not
+     * sent concurrently with a new registration request.
      */
-    fun clearRegistrationData() {
-        updateDataStoreWithRegistrationInfo(null)
+    private fun retryPendingRegistration() {
+        synchronized(retryLock) {
+            scheduledRetry = null
+        }
+
+        coalescer.submitRetry { onComplete ->
+            // the pending registration may have been replaced or cleared while the retry was waiting
+            val pendingRegistration = loadPendingRegistration()
+            val pendingRequest = pendingRegistration?.let { getPendingRequest(it) }
+            val configData = configurationProvider.latest()
+            if (pendingRegistration == null || pendingRequest == null || configData == null ||
+                configData.privacyStatus != MobilePrivacyStatus.OPT_IN
+            ) {
+                onComplete(false)
+                return@submitRetry
+            }
+
+            // the registration request is rebuilt with the current configuration
+            val marketingServer = configData.marketingServer
+            val integrationKey = configData.integrationKey
+            if (marketingServer == null || integrationKey == null) {
+                Log.debug(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "retryPendingRegistration - Not retrying device registration request, Campaign Classic is not configured."
+                )
+                onComplete(false)
+                return@submitRetry
+            }
+
+            Log.debug(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "retryPendingRegistration - Retrying device registration request, attempt ${pendingRegistration.attempts + 1}."
+            )
+            sendRegistrationRequest(
+                pendingRequest,
+                pendingRegistration.attempts,
+                marketingServer,
+                integrationKey,
+                configData.timeout,
+                getDeviceFingerprint(),
+                onComplete
+            )
+        }
+    }
+
+    /**
+     * Persists the retry state of a device registration request which failed so that it is retried after a backoff
+     * delay, and keeps its inputs in memory. The request is dropped once it failed
+     * [CampaignClassicConstants.REGISTRATION_RETRY_MAX_ATTEMPTS] times, or if the privacy status is no longer
+     * [MobilePrivacyStatus.OPT_IN].
+     *
+     * @param failedRequest the [RegistrationRequest] which failed
+     * @param attempts `int` containing the number of failed attempts, including this one
+     * @return the persisted [PendingRegistration], or null if the registration request will not be retried
+     */
+    private fun persistFailedRegistration(failedRequest: RegistrationRequest, attempts: Int): PendingRegistration? {
+        if (attempts >= CampaignClassicConstants.REGISTRATION_RETRY_MAX_ATTEMPTS) {
+            Log.debug(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "persistFailedRegistration - Device registration request failed $attempts times, it will not be retried."
+            )
+            clearPendingRegistration()
+            return null
+        }
+
+        if (dataStore == null) {
+            Log.debug(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "persistFailedRegistration - Cannot persist device registration request, data store is not available."
+            )
+            return null
+        }
+
+        val retryDelayMillis = PendingRegistration.retryDelayMillis(attempts, random)
+        val pendingRegistration = PendingRegistration(
+            failedRequest.registrationHash,
+            attempts,
+            System.currentTimeMillis() + retryDelayMillis
+        )
+        synchronized(retryLock) {
+            // checked under the lock so that an opt out received meanwhile cannot be followed by this write. an opt out
+            // is always received through a configuration response, which updates the latest configuration first.
+            val privacyStatus = configurationProvider.latest()?.privacyStatus
+            if (privacyStatus != null && privacyStatus != MobilePrivacyStatus.OPT_IN) {
+                Log.debug(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "persistFailedRegistration - Not persisting device registration request, MobilePrivacyStatus is not optedIn."
+                )
+                clearPendingRegistration()
+                return null
+            }
+            pendingRequest = failedRequest
+            dataStore.setString(CampaignClassicConstants.DataStoreKeys.PENDING_REGISTRATION, pendingRegistration.toJson())
+        }
+        Log.debug(
+            CampaignClassicConstants.LOG_TAG,
+            SELF_TAG,
+            "persistFailedRegistration - Device registration request will be retried in $retryDelayMillis ms."
+        )
+        return pendingRegistration
+    }
+
+    /**
+     * Reads the persisted device registration request which failed, if any.
+     *
+     * @return the [PendingRegistration], or null if none is persisted
+     */
+    private fun loadPendingRegistration(): PendingRegistration? {
+        return PendingRegistration.fromJson(
+            dataStore?.getString(CampaignClassicConstants.DataStoreKeys.PENDING_REGISTRATION, null)
+        )
+    }
+
+    /**
+     * Returns the in-memory inputs of the provided pending registration.
+     *
+     * @param pendingRegistration the persisted [PendingRegistration]
+     * @return the [RegistrationRequest], or null if the pending registration was persisted by a previous launch
+     */
+    private fun getPendingRequest(pendingRegistration: PendingRegistration): RegistrationRequest? {
+        synchronized(retryLock) {
+            return pendingRequest?.takeIf { it.registrationHash == pendingRegistration.registrationHash }
+        }
+    }
+
+    /**
+     * Removes the persisted device registration request which failed and its inputs, and cancels its scheduled retry.
+     */
+    private fun clearPendingRegistration() {
+        synchronized(retryLock) {
+            scheduledRetry?.cancel(false)
+            scheduledRetry = null
+            pendingRequest = null
+            dataStore?.remove(CampaignClassicConstants.DataStoreKeys.PENDING_REGISTRATION)
+        }
     }
 
-    // ========================================================
-    // private methods
-    // ========================================================
 
     /**
      * Checks if persisted registration information has changed in SDK.
@@ -219,6 +491,26 @@ internal class RegistrationManager {
         return true
     }
 
+    /**
+     * Returns the cached [DeviceFingerprint], recreating it if the active locale or the operating system version
+     * changed since it was created.
+     *
+     * @return the [DeviceFingerprint] for the current device
+     */
+    private fun getDeviceFingerprint(): DeviceFingerprint {
+        val fingerprint = deviceFingerprint
+        if (fingerprint != null && fingerprint.isCurrent(deviceInfoService)) {
+            return fingerprint
+        }
+
+        Log.trace(
+            CampaignClassicConstants.LOG_TAG,
+            SELF_TAG,
+            "getDeviceFingerprint - Reading device information for registration."
+        )
+        return DeviceFingerprint.create(deviceInfoService).also { deviceFingerprint = it }
+    }
+
     /**
      * Prepares payload string for the device registration request.
      *
@@ -226,51 +518,72 @@ internal class RegistrationManager {
      * @param integrationKey [String] containing integration key
      * @param userKey [String] containing the user identifier e.g. email
      * @param additionalParameters xml [String] containing additional parameters to be sent in the request
+     * @param fingerprint [DeviceFingerprint] containing the url encoded device information
      * @return [String] containing url encoded parameters to be sent in device registration POST payload
      */
     private fun prepareRegistrationParams(
         registrationToken: String,
         integrationKey: String,
         userKey: String,
-        additionalParameters: String
+        additionalParameters: String,
+        fingerprint: DeviceFingerprint
     ): String {
         return java.lang.String.format(
             CampaignClassicConstants.REGISTER_PARAMS_FORMAT,
             UrlUtils.urlEncode(registrationToken),
             UrlUtils.urlEncode(integrationKey),
             UrlUtils.urlEncode(userKey),
-            UrlUtils.urlEncode(deviceInfoService?.deviceUniqueId ?: ""),
-            UrlUtils.urlEncode(deviceInfoService?.device ?: ""),
-            UrlUtils.urlEncode(deviceInfoService?.deviceName ?: ""),
-            UrlUtils.urlEncode(deviceInfoService?.deviceBrand ?: ""),
-            UrlUtils.urlEncode(deviceInfoService?.deviceManufacturer ?: ""),
-            UrlUtils.urlEncode(CampaignClassicConstants.REGISTER_PARAM_DEVICE_OS_NAME),
-            UrlUtils.urlEncode(deviceInfoService?.operatingSystemName + " " + deviceInfoService?.operatingSystemVersion),
-            UrlUtils.urlEncode(formatLocale(deviceInfoService?.activeLocale)),
+            fingerprint.encodedDeviceId,
+            fingerprint.encodedDevice,
+            fingerprint.encodedDeviceName,
+            fingerprint.encodedDeviceBrand,
+            fingerprint.encodedDeviceManufacturer,
+            fingerprint.encodedOsName,
+            fingerprint.encodedOsVersion,
+            fingerprint.encodedOsLanguage,
             UrlUtils.urlEncode(additionalParameters)
         )
     }
 
     /**
-     * Sends a registration request to the configured Campaign Classic registration server as specified by the `requestUrl`.
+     * Sends a registration request to the configured Campaign Classic registration server. A registration request
+     * which fails temporarily is persisted to be retried later.
      *
-     * @param requestUrl [String] containing Campaign Classic registration server url to connect to
-     * @param payload `String` containing the url encoded registration payload
+     * @param registration the [RegistrationRequest] containing the registration inputs
+     * @param attempts `int` containing the number of times this registration request failed before
+     * @param marketingServer [String] containing the Campaign Classic marketing server
+     * @param integrationKey [String] containing integration key
      * @param requestTimeout `int` containing the request timeout to use for the connection
-     * @param registrationHash [String] containing the SHA256 hashed device registration information.
-     * @return true if registration request was successful, false otherwise
+     * @param fingerprint [DeviceFingerprint] containing the url encoded device information
+     * @param onComplete invoked with true if registration request was successful, false otherwise
      */
-    private fun sendRegistrationRequest(requestUrl: String, payload: String, requestTimeout: Int, registrationHash: String?) {
+    private fun sendRegistrationRequest(
+        registration: RegistrationRequest,
+        attempts: Int,
+        marketingServer: String,
+        integrationKey: String,
+        requestTimeout: Int,
+        fingerprint: DeviceFingerprint,
+        onComplete: (Boolean) -> Unit
+    ) {
         if (networkService == null) {
             Log.debug(
                 CampaignClassicConstants.LOG_TAG,
                 SELF_TAG,
                 "sendRegistrationRequest - Cannot send request, Network service is not available."
             )
-            dispatchRegistrationStatus(false)
+            onComplete(false)
             return
         }
 
+        val payload = prepareRegistrationParams(
+            registration.registrationToken,
+            integrationKey,
+            registration.userKey,
+            registration.additionalParameters,
+            fingerprint
+        )
+        val requestUrl = String.format(CampaignClassicConstants.REGISTER_API_URL_BASE, marketingServer)
         val headers = buildHeaders(payload)
         val postBody = payload.toByteArray(StandardCharsets.UTF_8)
         val networkRequest = NetworkRequest(
@@ -285,19 +598,29 @@ internal class RegistrationManager {
         // send registration request
         Log.trace(CampaignClassicConstants.LOG_TAG, SELF_TAG, "sendRegistrationRequest - Registration request was sent with url $requestUrl")
         networkService.connectAsync(networkRequest) {
-            if (it.responseCode == HttpURLConnection.HTTP_OK) {
+            if (it?.responseCode == HttpURLConnection.HTTP_OK) {
                 Log.debug(CampaignClassicConstants.LOG_TAG, SELF_TAG, "sendRegistrationRequest - Registration successful.")
-                dispatchRegistrationStatus(true)
-                updateDataStoreWithRegistrationInfo(registrationHash)
+                updateDataStoreWithRegistrationInfo(registration.registrationHash)
+                clearPendingRegistration()
+                it.close()
+                onComplete(true)
             } else {
                 Log.debug(
                     CampaignClassicConstants.LOG_TAG,
                     SELF_TAG,
-                    "sendRegistrationRequest - Unsuccessful Registration request with connection status ${it.responseCode}"
+                    "sendRegistrationRequest - Unsuccessful Registration request with connection status ${it?.responseCode}"
                 )
-                dispatchRegistrationStatus(false)
+                // retry when the server could not be reached or is temporarily unavailable
+                val pendingRegistration = if (it == null || it.hasRetryableResponseCode) {
+                    persistFailedRegistration(registration, attempts + 1)
+                } else {
+                    clearPendingRegistration()
+                    null
+                }
+                it?.close()
+                onComplete(false)
+                pendingRegistration?.let { pending -> scheduleRetry(pending) }
             }
-            it.close()
         }
     }
 
@@ -343,10 +666,6 @@ internal class RegistrationManager {
         }
     }
 
-    private fun formatLocale(locale: Locale?): String {
-        return locale?.toString()?.replace('_', '-') ?: ""
-    }
-
     /**
      * Generate `SHA256` hash for the provided input `String`.
      *
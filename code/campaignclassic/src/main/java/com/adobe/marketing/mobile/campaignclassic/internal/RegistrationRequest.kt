@@ -0,0 +1,29 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+/**
+ * Inputs of a [CampaignClassic.registerDevice][com.adobe.marketing.mobile.CampaignClassic.registerDevice] call used
+ * to build the device registration request.
+ * <p>
+ * The inputs are only kept in memory, they are never persisted.
+ *
+ * @property registrationToken [String] containing the registration token
+ * @property userKey [String] containing the user identifier e.g. email
+ * @property additionalParameters xml [String] containing the additional parameters to be sent in the request
+ * @property registrationHash [String] containing the SHA256 hashed device registration information
+ */
+internal data class RegistrationRequest(
+    val registrationToken: String,
+    val userKey: String,
+    val additionalParameters: String,
+    val registrationHash: String?
+)
@@ -0,0 +1,41 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+
+/**
+ * Registration additional parameters serialized in canonical form, along with their digest.
+ * <p>
+ * The parameters are serialized with their keys sorted, so the same parameters always produce the same [xml] and
+ * [digest] regardless of the iteration order of the provided map. Both are computed once, when the instance is
+ * created.
+ *
+ * @param additionalParameters the additional parameters [Map], or null if none were provided
+ */
+internal class SerializedAdditionalParameters(additionalParameters: Map<String, Any>?) {
+
+    /** Escaped Campaign Classic XML [String] containing the additional parameters sorted by key */
+    val xml: String = CampaignClassicMapSerializer.serializeMapCanonical(additionalParameters)
+
+    /** Hex encoded SHA-256 digest [String] of the UTF-8 encoded [xml] */
+    val digest: String = sha256Hex(xml)
+
+    private fun sha256Hex(input: String): String {
+        val digestBytes = MessageDigest.getInstance("SHA-256").digest(input.toByteArray(StandardCharsets.UTF_8))
+        val sb = StringBuilder(digestBytes.size * 2)
+        for (b in digestBytes) {
+            sb.append(java.lang.String.format(CampaignClassicConstants.HEX_CONVERSION_FORMAT_STRING, b))
+        }
+        return sb.toString()
+    }
+}
@@ -0,0 +1,180 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.services.Log
+import com.adobe.marketing.mobile.services.NamedCollection
+import org.json.JSONException
+import org.json.JSONObject
+
+/**
+ * Remembers the notification track requests sent recently so that repeated receive or click tracking for the same
+ * delivery is sent only once.
+ * <p>
+ * Track requests are identified by their messageId, deliveryId and tagId. A key is only recorded with [recordSent]
+ * once its track request was sent successfully or persisted for retry, so that a track request which was dropped can
+ * be sent again. While a track request is being sent its key is kept in memory, which suppresses concurrent
+ * duplicates until [recordSent] or [release] is called. Recorded keys are kept for [ttlMillis] and at most
+ * [maxEntries] keys are kept, the oldest keys being dropped first. The recorded keys are persisted in the data store
+ * so that duplicates are also detected across app launches.
+ *
+ * @param dataStore the [NamedCollection] used to persist the keys, or null to keep them in memory only
+ * @param ttlMillis `long` containing the time in milliseconds during which a repeated track request is suppressed
+ * @param maxEntries `int` containing the maximum number of keys kept
+ * @param clock returns the current time in milliseconds
+ */
+internal class TrackRequestDeduplicator(
+    private val dataStore: NamedCollection?,
+    private val ttlMillis: Long,
+    private val maxEntries: Int,
+    private val clock: () -> Long = { System.currentTimeMillis() }
+) {
+    // track request keys and the time they were sent at, ordered from oldest to newest
+    private val sentRequests = LinkedHashMap<String, Long>()
+    // keys of the track requests currently being sent, not persisted
+    private val inFlightRequests = HashSet<String>()
+    private var loaded = false
+
+    companion object {
+        private const val SELF_TAG = "TrackRequestDeduplicator"
+    }
+
+    /**
+     * Returns whether a track request should be sent. If it should, the track request is marked as being sent until
+     * [recordSent] or [release] is called for it, nothing is persisted.
+     *
+     * @param messageId [String] containing the tracking messageId `_mId`
+     * @param deliveryId [String] containing the tracking deliveryId `_dId`
+     * @param tagId [String] indicating whether it is a notification receive or notification click request
+     * @return true if the track request was not sent within the TTL and is not being sent, false if it is a duplicate
+     */
+    fun shouldSend(messageId: String, deliveryId: String, tagId: String): Boolean {
+        val key = createKey(messageId, deliveryId, tagId)
+        synchronized(sentRequests) {
+            load()
+            removeExpired(clock())
+            if (sentRequests.containsKey(key) || !inFlightRequests.add(key)) {
+                Log.debug(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "shouldSend - Track request ($key) was already sent, ignoring duplicate request."
+                )
+                return false
+            }
+            return true
+        }
+    }
+
+    /**
+     * Records a track request which was sent successfully or persisted for retry, so that repeated track requests
+     * are suppressed.
+     *
+     * @param messageId [String] containing the tracking messageId `_mId`
+     * @param deliveryId [String] containing the tracking deliveryId `_dId`
+     * @param tagId [String] indicating whether it is a notification receive or notification click request
+     */
+    fun recordSent(messageId: String, deliveryId: String, tagId: String) {
+        val key = createKey(messageId, deliveryId, tagId)
+        synchronized(sentRequests) {
+            load()
+            inFlightRequests.remove(key)
+            sentRequests.remove(key)
+            sentRequests[key] = clock()
+            val iterator = sentRequests.entries.iterator()
+            while (sentRequests.size > maxEntries && iterator.hasNext()) {
+                iterator.next()
+                iterator.remove()
+            }
+            persist()
+        }
+    }
+
+    /**
+     * Forgets a track request which was not sent, so that it can be sent again.
+     *
+     * @param messageId [String] containing the tracking messageId `_mId`
+     * @param deliveryId [String] containing the tracking deliveryId `_dId`
+     * @param tagId [String] indicating whether it is a notification receive or notification click request
+     */
+    fun release(messageId: String, deliveryId: String, tagId: String) {
+        synchronized(sentRequests) {
+            inFlightRequests.remove(createKey(messageId, deliveryId, tagId))
+        }
+    }
+
+    /**
+     * Forgets all the recorded track requests.
+     */
+    fun clear() {
+        synchronized(sentRequests) {
+            loaded = true
+            sentRequests.clear()
+            inFlightRequests.clear()
+            dataStore?.remove(CampaignClassicConstants.DataStoreKeys.SENT_TRACK_REQUESTS)
+        }
+    }
+
+    private fun createKey(messageId: String, deliveryId: String, tagId: String): String {
+        return "$messageId,$deliveryId,$tagId"
+    }
+
+    /**
+     * Removes the keys older than the TTL. Must be called while holding the [sentRequests] lock.
+     */
+    private fun removeExpired(now: Long) {
+        val iterator = sentRequests.entries.iterator()
+        while (iterator.hasNext()) {
+            if (now - iterator.next().value < ttlMillis) {
+                break
+            }
+            iterator.remove()
+        }
+    }
+
+    /**
+     * Loads the persisted keys on first use. Must be called while holding the [sentRequests] lock.
+     */
+    private fun load() {
+        if (loaded) {
+            return
+        }
+        loaded = true
+
+        val serialized = dataStore?.getString(CampaignClassicConstants.DataStoreKeys.SENT_TRACK_REQUESTS, null)
+        if (serialized.isNullOrEmpty()) {
+            return
+        }
+
+        try {
+            val persisted = JSONObject(serialized)
+            val entries = persisted.keys().asSequence()
+                .map { it to persisted.getLong(it) }
+                .sortedBy { it.second }
+            entries.forEach { sentRequests[it.first] = it.second }
+        } catch (e: JSONException) {
+            Log.warning(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "load - Failed to read the persisted track requests. Error ${e.message}"
+            )
+        }
+    }
+
+    /**
+     * Persists the keys to the data store. Must be called while holding the [sentRequests] lock.
+     */
+    private fun persist() {
+        val store = dataStore ?: return
+        val serialized = JSONObject()
+        sentRequests.forEach { (key, sentAt) -> serialized.put(key, sentAt) }
+        store.setString(CampaignClassicConstants.DataStoreKeys.SENT_TRACK_REQUESTS, serialized.toString())
+    }
+}
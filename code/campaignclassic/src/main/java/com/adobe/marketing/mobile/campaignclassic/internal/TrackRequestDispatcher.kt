@@ -0,0 +1,100 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.services.HttpConnecting
+import com.adobe.marketing.mobile.services.HttpMethod
+import com.adobe.marketing.mobile.services.Log
+import com.adobe.marketing.mobile.services.NetworkRequest
+import com.adobe.marketing.mobile.services.Networking
+import java.util.ArrayDeque
+
+/**
+ * Limits the number of notification track requests sent at the same time.
+ * <p>
+ * Track requests are sent as soon as they are dispatched. At most [maxInFlightRequests] track requests are sent
+ * at the same time, the next waiting track request is sent as soon as one completes. Sending the track requests of
+ * a burst back to back lets the network stack reuse its kept-alive connection to the tracking server instead of
+ * opening a new connection per track request.
+ *
+ * @param networkService the [Networking] service used to send the track requests
+ * @param maxInFlightRequests `int` containing the maximum number of track requests sent at the same time
+ * @param responseHandler invoked with the track url, the request timeout and the connection (null if the
+ * connection failed) once a track request completes. The handler is responsible for closing the connection.
+ */
+internal class TrackRequestDispatcher(
+    private val networkService: Networking,
+    private val maxInFlightRequests: Int,
+    private val responseHandler: (trackUrl: String, requestTimeout: Int, connection: HttpConnecting?) -> Unit
+) {
+    private val lock = Any()
+    // track requests waiting for an in-flight slot
+    private val readyRequests = ArrayDeque<NetworkRequest>()
+    private var inFlightRequests = 0
+
+    companion object {
+        private const val SELF_TAG = "TrackRequestDispatcher"
+    }
+
+    /**
+     * Sends a track request, or queues it in memory until one of the in-flight track requests completes.
+     *
+     * @param trackUrl [String] containing the Campaign Classic tracking server url to connect to
+     * @param requestTimeout `int` containing the request timeout to use for the connection
+     */
+    fun dispatch(trackUrl: String, requestTimeout: Int) {
+        val networkRequest = NetworkRequest(
+            trackUrl,
+            HttpMethod.GET,
+            null,
+            null,
+            requestTimeout,
+            requestTimeout
+        )
+
+        synchronized(lock) {
+            readyRequests.add(networkRequest)
+        }
+        sendReadyRequests()
+    }
+
+    /**
+     * Sends ready track requests until the maximum number of in-flight track requests is reached.
+     */
+    private fun sendReadyRequests() {
+        while (true) {
+            val networkRequest = synchronized(lock) {
+                if (inFlightRequests >= maxInFlightRequests) {
+                    return
+                }
+                val next = readyRequests.poll() ?: return
+                inFlightRequests++
+                next
+            }
+
+            Log.trace(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "sendReadyRequests - TrackingNotification network call initiated with URL :  ${networkRequest.url}."
+            )
+            networkService.connectAsync(networkRequest) {
+                try {
+                    responseHandler(networkRequest.url, networkRequest.readTimeout, it)
+                } finally {
+                    synchronized(lock) {
+                        inFlightRequests--
+                    }
+                    sendReadyRequests()
+                }
+            }
+        }
+    }
+}
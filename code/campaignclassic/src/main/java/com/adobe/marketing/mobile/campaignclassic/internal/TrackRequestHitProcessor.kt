@@ -0,0 +1,158 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.services.DataEntity
+import com.adobe.marketing.mobile.services.HitProcessing
+import com.adobe.marketing.mobile.services.HitProcessingResult
+import com.adobe.marketing.mobile.services.HttpMethod
+import com.adobe.marketing.mobile.services.Log
+import com.adobe.marketing.mobile.services.NetworkRequest
+import com.adobe.marketing.mobile.services.Networking
+import org.json.JSONException
+import org.json.JSONObject
+import java.net.HttpURLConnection
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Sends the notification track requests persisted in the track request hit queue.
+ * <p>
+ * A track request which fails because of a network error or a retryable response code is retried with an
+ * exponential backoff. Track requests older than [CampaignClassicConstants.TRACK_REQUEST_MAX_AGE_IN_MILLISECONDS]
+ * are dropped without being sent.
+ *
+ * @param networkService the [Networking] service used to send the track requests
+ * @param onRetry invoked whenever a track request failed and will be retried
+ */
+internal class TrackRequestHitProcessor(
+    private val networkService: Networking?,
+    private val onRetry: () -> Unit
+) : HitProcessing {
+    // number of failed attempts for each queued track request, used to compute the backoff
+    private val failedAttempts = ConcurrentHashMap<String, Int>()
+
+    companion object {
+        private const val SELF_TAG = "TrackRequestHitProcessor"
+        private const val KEY_URL = "url"
+        private const val KEY_TIMEOUT = "timeout"
+
+        /**
+         * Creates the [DataEntity] persisted in the track request hit queue for a track request.
+         *
+         * @param trackUrl [String] containing the Campaign Classic tracking server url to connect to
+         * @param requestTimeout `int` containing the request timeout to use for the connection
+         * @return the [DataEntity] for the track request
+         */
+        fun createDataEntity(trackUrl: String, requestTimeout: Int): DataEntity {
+            val data = JSONObject()
+                .put(KEY_URL, trackUrl)
+                .put(KEY_TIMEOUT, requestTimeout)
+            return DataEntity(data.toString())
+        }
+    }
+
+    override fun retryInterval(entity: DataEntity): Int {
+        val attempts = failedAttempts[entity.uniqueIdentifier] ?: 1
+        val backoff = CampaignClassicConstants.TRACK_REQUEST_BASE_RETRY_INTERVAL_IN_SECONDS.toLong() shl
+            (attempts - 1).coerceAtMost(CampaignClassicConstants.TRACK_REQUEST_MAX_BACKOFF_SHIFT)
+        return backoff.coerceAtMost(CampaignClassicConstants.TRACK_REQUEST_MAX_RETRY_INTERVAL_IN_SECONDS.toLong())
+            .toInt()
+    }
+
+    override fun processHit(entity: DataEntity, processingResult: HitProcessingResult) {
+        val hitAge = System.currentTimeMillis() - entity.timestamp.time
+        if (hitAge > CampaignClassicConstants.TRACK_REQUEST_MAX_AGE_IN_MILLISECONDS) {
+            Log.debug(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "processHit - Dropping track request queued ${hitAge / 1000} seconds ago, it is too old to be sent."
+            )
+            complete(entity, processingResult, true)
+            return
+        }
+
+        val networkRequest = try {
+            val data = JSONObject(entity.data ?: "")
+            val timeout = data.optInt(KEY_TIMEOUT, CampaignClassicConstants.DEFAULT_TIMEOUT)
+            NetworkRequest(data.getString(KEY_URL), HttpMethod.GET, null, null, timeout, timeout)
+        } catch (e: JSONException) {
+            Log.warning(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "processHit - Dropping track request which could not be read. Error ${e.message}"
+            )
+            complete(entity, processingResult, true)
+            return
+        }
+
+        if (networkService == null) {
+            Log.debug(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "processHit - Cannot send request, Network service is not available"
+            )
+            complete(entity, processingResult, false)
+            return
+        }
+
+        Log.trace(
+            CampaignClassicConstants.LOG_TAG,
+            SELF_TAG,
+            "processHit - Retrying queued track request with URL : ${networkRequest.url}."
+        )
+        networkService.connectAsync(networkRequest) {
+            val processed = if (it == null) {
+                Log.debug(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "processHit - Connection failed, track request will be retried."
+                )
+                false
+            } else if (it.hasRetryableResponseCode) {
+                Log.debug(
+                    CampaignClassicConstants.LOG_TAG,
+                    SELF_TAG,
+                    "processHit - Connection failed (${it.responseCode}), track request will be retried."
+                )
+                false
+            } else {
+                if (it.responseCode == HttpURLConnection.HTTP_OK) {
+                    Log.trace(
+                        CampaignClassicConstants.LOG_TAG,
+                        SELF_TAG,
+                        "processHit - Connection successful ${it.responseMessage}."
+                    )
+                } else {
+                    Log.warning(
+                        CampaignClassicConstants.LOG_TAG,
+                        SELF_TAG,
+                        "processHit - Connection failed ${it.responseMessage}, dropping track request."
+                    )
+                }
+                true
+            }
+
+            // close the connection
+            it?.close()
+            complete(entity, processingResult, processed)
+        }
+    }
+
+    private fun complete(entity: DataEntity, processingResult: HitProcessingResult, processed: Boolean) {
+        if (processed) {
+            failedAttempts.remove(entity.uniqueIdentifier)
+        } else {
+            failedAttempts[entity.uniqueIdentifier] = (failedAttempts[entity.uniqueIdentifier] ?: 0) + 1
+            onRetry()
+        }
+        processingResult.complete(processed)
+    }
+}
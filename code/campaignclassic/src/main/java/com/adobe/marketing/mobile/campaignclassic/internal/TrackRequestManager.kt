@@ -14,32 +14,87 @@ import androidx.annotation.VisibleForTesting
 import com.adobe.marketing.mobile.Event
 import com.adobe.marketing.mobile.ExtensionApi
 import com.adobe.marketing.mobile.MobilePrivacyStatus
-import com.adobe.marketing.mobile.services.HttpMethod
+import com.adobe.marketing.mobile.services.DeviceInforming
+import com.adobe.marketing.mobile.services.HitQueuing
+import com.adobe.marketing.mobile.services.HttpConnecting
 import com.adobe.marketing.mobile.services.Log
-import com.adobe.marketing.mobile.services.NetworkRequest
+import com.adobe.marketing.mobile.services.NamedCollection
 import com.adobe.marketing.mobile.services.Networking
+import com.adobe.marketing.mobile.services.PersistentHitQueue
 import com.adobe.marketing.mobile.services.ServiceProvider
 import java.net.HttpURLConnection
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.regex.Pattern
 
 /**
  * Handles logic related to notification tracking
  *
+ * Track requests are sent as soon as they are reported by a [TrackRequestDispatcher], which limits the number of
+ * track requests sent at the same time so that the track requests of a burst reuse the kept-alive connection.
+ * Repeated track requests for the same messageId, deliveryId and tagId are suppressed by a
+ * [TrackRequestDeduplicator].
+ * Track requests which fail because of a network error or a retryable response code are persisted in a
+ * [HitQueuing] queue and retried by the [TrackRequestHitProcessor]. The queue is suspended while the device
+ * is offline and resumed once a network connection is available again.
  */
 internal class TrackRequestManager {
     private val UUID_PATTERN = Pattern.compile("^(?i)[0-9a-f]{8}-([0-9a-f]{4}-){3}[0-9a-f]{12}$")
     private val extensionApi: ExtensionApi
     private val networkService: Networking?
+    private val deviceInfoService: DeviceInforming?
+    private val hitQueue: HitQueuing?
+    private val dispatcher: TrackRequestDispatcher?
+    private val deduplicator: TrackRequestDeduplicator
+    // messageId, deliveryId and tagId of the track requests being sent, keyed by track url
+    private val inFlightTrackRequests = ConcurrentHashMap<String, Triple<String, String, String>>()
+    // true while a network connection listener is waiting to resume the suspended queue
+    private val networkListenerRegistered = AtomicBoolean(false)
+    @Volatile
+    private var privacyStatus = MobilePrivacyStatus.UNKNOWN
+    private val configurationProvider: CampaignClassicConfigurationProvider
 
-    constructor(extensionApi: ExtensionApi) {
+    constructor(extensionApi: ExtensionApi, configurationProvider: CampaignClassicConfigurationProvider) {
         this.extensionApi = extensionApi
+        this.configurationProvider = configurationProvider
         networkService = ServiceProvider.getInstance().networkService
+        deviceInfoService = ServiceProvider.getInstance().deviceInfoService
+        hitQueue = ServiceProvider.getInstance().dataQueueService
+            ?.getDataQueue(CampaignClassicConstants.TRACK_REQUEST_QUEUE_NAME)
+            ?.let { PersistentHitQueue(it, TrackRequestHitProcessor(networkService) { suspendQueueWhileOffline() }) }
+        dispatcher = createDispatcher()
+        deduplicator = createDeduplicator(
+            ServiceProvider.getInstance().dataStoreService?.getNamedCollection(CampaignClassicConstants.DATASTORE_KEY)
+        )
     }
 
     @VisibleForTesting
-    constructor(extensionApi: ExtensionApi, networkService: Networking?) {
+    constructor(extensionApi: ExtensionApi, networkService: Networking?) :
+        this(extensionApi, networkService, null, null)
+
+    @VisibleForTesting
+    constructor(
+        extensionApi: ExtensionApi,
+        networkService: Networking?,
+        deviceInfoService: DeviceInforming?,
+        hitQueue: HitQueuing?
+    ) : this(extensionApi, networkService, deviceInfoService, hitQueue, null)
+
+    @VisibleForTesting
+    constructor(
+        extensionApi: ExtensionApi,
+        networkService: Networking?,
+        deviceInfoService: DeviceInforming?,
+        hitQueue: HitQueuing?,
+        dataStore: NamedCollection?
+    ) {
         this.extensionApi = extensionApi
         this.networkService = networkService
+        this.deviceInfoService = deviceInfoService
+        this.hitQueue = hitQueue
+        configurationProvider = CampaignClassicConfigurationProvider(extensionApi)
+        dispatcher = createDispatcher()
+        deduplicator = createDeduplicator(dataStore)
     }
 
     companion object {
@@ -54,12 +109,13 @@ internal class TrackRequestManager {
      * - Privacy status is [MobilePrivacyStatus.OPT_OUT] or [MobilePrivacyStatus.UNKNOWN]
      * - Tracking server is missing in configuration
      * - Tracking identifiers messageId `_mId` and deliveryId `_dId` are missing in current event data
+     * - The same track request was already sent recently or is being sent
      *
      * @param event incoming track [Event]
      * @param tagId [String] indicating whether it is a notification receive or notification click request
      */
     fun handleTrackRequest(event: Event, tagId: String) {
-        val configData = CampaignClassicConfiguration(event, extensionApi)
+        val configData = configurationProvider.get(event)
 
         // bail if privacy status is not opted in
         if (configData.privacyStatus != MobilePrivacyStatus.OPT_IN) {
@@ -118,6 +174,11 @@ internal class TrackRequestManager {
             }
         }
 
+        // bail if the same track request was already sent or is being sent
+        if (!deduplicator.shouldSend(messageId, deliveryId, tagId)) {
+            return
+        }
+
         // create URL
         val trackUrl = java.lang.String.format(
             CampaignClassicConstants.TRACKING_API_URL_BASE,
@@ -128,63 +189,215 @@ internal class TrackRequestManager {
         )
 
         // send network request
+        inFlightTrackRequests[trackUrl] = Triple(messageId, deliveryId, tagId)
         sendTrackingRequest(trackUrl, configData.timeout)
     }
 
+    /**
+     * Updates the track request queue with the current privacy status. Queued track requests are sent only
+     * while the privacy status is [MobilePrivacyStatus.OPT_IN], and are discarded on [MobilePrivacyStatus.OPT_OUT]
+     * along with the record of the track requests sent.
+     *
+     * @param privacyStatus the current [MobilePrivacyStatus]
+     */
+    fun updatePrivacyStatus(privacyStatus: MobilePrivacyStatus) {
+        this.privacyStatus = privacyStatus
+        when (privacyStatus) {
+            MobilePrivacyStatus.OPT_IN -> hitQueue?.beginProcessing()
+            MobilePrivacyStatus.OPT_OUT -> {
+                hitQueue?.suspend()
+                hitQueue?.clear()
+                deduplicator.clear()
+            }
+            MobilePrivacyStatus.UNKNOWN -> hitQueue?.suspend()
+        }
+    }
+
     // ========================================================
     // private methods
     // ========================================================
     /**
-     * Sends a notification track request to the configured Campaign Classic tracking server as specified by the `trackUrl`.
+     * Creates the [TrackRequestDispatcher] used to send track requests, or null if the network service is not
+     * available.
+     *
+     * @return the [TrackRequestDispatcher] or null
+     */
+    private fun createDispatcher(): TrackRequestDispatcher? {
+        return networkService?.let {
+            TrackRequestDispatcher(
+                it,
+                CampaignClassicConstants.TRACK_REQUEST_MAX_IN_FLIGHT_REQUESTS
+            ) { trackUrl, requestTimeout, connection ->
+                handleTrackingResponse(trackUrl, requestTimeout, connection)
+            }
+        }
+    }
+
+    /**
+     * Creates the [TrackRequestDeduplicator] used to suppress repeated track requests.
+     *
+     * @param dataStore the [NamedCollection] used to persist the sent track requests, or null to keep them in memory
+     * @return the [TrackRequestDeduplicator]
+     */
+    private fun createDeduplicator(dataStore: NamedCollection?): TrackRequestDeduplicator {
+        return TrackRequestDeduplicator(
+            dataStore,
+            CampaignClassicConstants.TRACK_REQUEST_DEDUPLICATION_TTL_IN_MILLISECONDS,
+            CampaignClassicConstants.TRACK_REQUEST_DEDUPLICATION_MAX_ENTRIES
+        )
+    }
+
+    /**
+     * Sends a notification track request to the configured Campaign Classic tracking server as specified by the
+     * `trackUrl`.
      *
      * @param trackUrl [String] containing the Campaign Classic tracking server url to connect to
      * @param requestTimeout `int` containing the request timeout to use for the connection
      */
     private fun sendTrackingRequest(trackUrl: String, requestTimeout: Int) {
-        if (networkService == null) {
+        if (dispatcher == null) {
             Log.debug(
                 CampaignClassicConstants.LOG_TAG,
                 SELF_TAG,
                 "sendTrackingRequest - Cannot send request, Network service is not available"
             )
+            completeTrackingRequest(trackUrl, false)
             return
         }
 
-        val networkRequest = NetworkRequest(
-            trackUrl,
-            HttpMethod.GET,
-            null,
-            null,
-            requestTimeout,
-            requestTimeout
-        )
+        dispatcher.dispatch(trackUrl, requestTimeout)
+    }
 
-        // send tracking request
-        Log.trace(
-            CampaignClassicConstants.LOG_TAG,
-            SELF_TAG,
-            "sendTrackingRequest - TrackingNotification network call initiated with URL :  $trackUrl."
-        )
-        networkService.connectAsync(networkRequest) {
-            if (it != null) {
-                if (it.responseCode == HttpURLConnection.HTTP_OK) {
-                    Log.trace(
-                        CampaignClassicConstants.LOG_TAG,
-                        SELF_TAG,
-                        "sendTrackingRequest - Connection successful ${it.responseMessage}."
-                    )
-                } else {
-                    Log.warning(
-                        CampaignClassicConstants.LOG_TAG,
-                        SELF_TAG,
-                        "sendTrackingRequest - Connection failed ${it.responseMessage}."
-                    )
-                }
-
-                // close the connection
-                it.close()
-            }
+    /**
+     * Handles the response of a notification track request. Failed track requests are queued for retry. The track
+     * request is recorded as sent only if it succeeded or was queued, otherwise it can be sent again.
+     *
+     * @param trackUrl [String] containing the Campaign Classic tracking server url the request was sent to
+     * @param requestTimeout `int` containing the request timeout used for the connection
+     * @param connection the [HttpConnecting] for the track request, or null if the connection failed
+     */
+    private fun handleTrackingResponse(trackUrl: String, requestTimeout: Int, connection: HttpConnecting?) {
+        if (connection == null || connection.hasRetryableResponseCode) {
+            Log.warning(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "handleTrackingResponse - Connection failed ${connection?.responseMessage}, queueing track request for retry."
+            )
+            connection?.close()
+            completeTrackingRequest(trackUrl, queueTrackingRequest(trackUrl, requestTimeout))
+            return
+        }
+
+        val successful = connection.responseCode in HttpURLConnection.HTTP_OK until HttpURLConnection.HTTP_MULT_CHOICE
+        if (successful) {
+            Log.trace(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "handleTrackingResponse - Connection successful ${connection.responseMessage}."
+            )
+        } else {
+            Log.warning(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "handleTrackingResponse - Connection failed ${connection.responseMessage}."
+            )
+        }
+
+        // close the connection
+        connection.close()
+        completeTrackingRequest(trackUrl, successful)
+    }
+
+    /**
+     * Records a track request as sent so that repeated track requests are suppressed, or releases it so that it can
+     * be sent again if it was dropped.
+     *
+     * @param trackUrl [String] containing the Campaign Classic tracking server url of the track request
+     * @param sent `boolean` indicating whether the track request was sent successfully or queued for retry
+     */
+    private fun completeTrackingRequest(trackUrl: String, sent: Boolean) {
+        val (messageId, deliveryId, tagId) = inFlightTrackRequests.remove(trackUrl) ?: return
+        if (sent) {
+            deduplicator.recordSent(messageId, deliveryId, tagId)
+        } else {
+            deduplicator.release(messageId, deliveryId, tagId)
+        }
+    }
+
+    /**
+     * Persists a failed track request in the track request queue so that it is retried later.
+     *
+     * @param trackUrl [String] containing the Campaign Classic tracking server url to connect to
+     * @param requestTimeout `int` containing the request timeout to use for the connection
+     * @return `boolean` indicating whether the track request was queued
+     */
+    private fun queueTrackingRequest(trackUrl: String, requestTimeout: Int): Boolean {
+        if (hitQueue == null) {
+            Log.debug(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "queueTrackingRequest - Cannot queue track request, Data queue service is not available"
+            )
+            return false
+        }
+
+        if (!hitQueue.queue(TrackRequestHitProcessor.createDataEntity(trackUrl, requestTimeout))) {
+            Log.warning(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "queueTrackingRequest - Failed to queue track request with URL : $trackUrl."
+            )
+            return false
+        }
+        suspendQueueWhileOffline()
+        return true
+    }
+
+    /**
+     * Suspends the track request queue if the device is offline, and resumes it once a network connection is
+     * available again. Queued track requests are then sent without waiting for their retry interval.
+     * At most one network connection listener is registered at a time, and the queue is only resumed if the
+     * privacy status is still [MobilePrivacyStatus.OPT_IN].
+     */
+    private fun suspendQueueWhileOffline() {
+        val deviceInfo = deviceInfoService ?: return
+        if (deviceInfo.networkConnectionStatus != DeviceInforming.ConnectionStatus.DISCONNECTED) {
+            return
+        }
+
+        hitQueue?.suspend()
+        if (!networkListenerRegistered.compareAndSet(false, true)) {
+            return
+        }
+
+        val registered = deviceInfo.registerOneTimeNetworkConnectionActiveListener {
+            networkListenerRegistered.set(false)
+            Log.trace(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "suspendQueueWhileOffline - Network connection is available, resuming queued track requests."
+            )
+            resumeQueueIfOptedIn()
+        }
+        if (!registered) {
+            networkListenerRegistered.set(false)
+            resumeQueueIfOptedIn()
+        }
+    }
+
+    /**
+     * Resumes the track request queue if the privacy status is [MobilePrivacyStatus.OPT_IN].
+     */
+    private fun resumeQueueIfOptedIn() {
+        if (privacyStatus != MobilePrivacyStatus.OPT_IN) {
+            Log.trace(
+                CampaignClassicConstants.LOG_TAG,
+                SELF_TAG,
+                "resumeQueueIfOptedIn - Privacy status is not optedIn, queued track requests are not resumed."
+            )
+            return
         }
+        hitQueue?.beginProcessing()
     }
 
     /**
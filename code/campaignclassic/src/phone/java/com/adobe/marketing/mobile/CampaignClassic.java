@@ -13,8 +13,10 @@ package com.adobe.marketing.mobile;
 import androidx.annotation.NonNull;
 import com.adobe.marketing.mobile.campaignclassic.internal.CampaignClassicExtension;
 import com.adobe.marketing.mobile.services.Log;
+import com.adobe.marketing.mobile.services.ServiceProvider;
 import com.adobe.marketing.mobile.util.StringUtils;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CampaignClassic {
@@ -35,6 +37,8 @@ public class CampaignClassic {
     private static final String NULL_TOKEN_MESSAGE = "The provided token is null or empty";
     private static final String NULL_TRACK_INFO_MESSAGE =
             "The provided trackInfo map is null or empty";
+    private static final String NULL_IMAGE_URIS_MESSAGE =
+            "The provided image uris list is null or empty";
 
     private CampaignClassic() {}
 
@@ -104,6 +108,31 @@ public class CampaignClassic {
         MobileCore.dispatchEvent(event);
     }
 
+    /**
+     * Downloads and caches the provided push notification images ahead of time, so that
+     * notifications using them are displayed without waiting for the images to download.
+     *
+     * <p>The images are downloaded in the background, and only when the device is on an unmetered
+     * network, is not in battery saver mode and is charging or has enough battery left. Invalid
+     * image uris are ignored.
+     *
+     * @param imageUris {@code List<String>} containing the urls of the images to prefetch
+     */
+    public static void prefetchImages(@NonNull final List<String> imageUris) {
+        if (imageUris == null || imageUris.isEmpty()) {
+            Log.error(
+                    LOG_TAG,
+                    SELF_TAG,
+                    "Failed to prefetch images for CampaignClassic (%s)",
+                    NULL_IMAGE_URIS_MESSAGE);
+            return;
+        }
+
+        CampaignPushImagePrefetcher.prefetch(
+                ServiceProvider.getInstance().getAppContextService().getApplicationContext(),
+                imageUris);
+    }
+
     /**
      * Sends notification tracking information to the configured Adobe Campaign Classic server.
      *
@@ -0,0 +1,263 @@
+/*
+  Copyright 2023 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile;
+
+import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class CampaignPushImagePrefetcherTests {
+
+    private static final String IMAGE_URI = "https://www.adobe.com/image.png";
+    private static final String PREFETCH_IMAGES = "[\"" + IMAGE_URI + "\"]";
+
+    // ========================================================================================
+    // isPrefetchMessage
+    // ========================================================================================
+
+    @Test
+    public void test_isPrefetchMessage_PrefetchImagesOnly_ReturnsTrue() {
+        // setup
+        final Map<String, String> messageData = new HashMap<>();
+        messageData.put(CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES, PREFETCH_IMAGES);
+
+        // test
+        final boolean isPrefetchMessage =
+                CampaignPushImagePrefetcher.isPrefetchMessage(messageData);
+
+        // verify
+        Assert.assertTrue(isPrefetchMessage);
+    }
+
+    @Test
+    public void test_isPrefetchMessage_TitlePresent_ReturnsFalse() {
+        // setup
+        final Map<String, String> messageData = new HashMap<>();
+        messageData.put(CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES, PREFETCH_IMAGES);
+        messageData.put(CampaignPushConstants.PushPayloadKeys.TITLE, "title");
+
+        // test
+        final boolean isPrefetchMessage =
+                CampaignPushImagePrefetcher.isPrefetchMessage(messageData);
+
+        // verify
+        Assert.assertFalse(isPrefetchMessage);
+    }
+
+    @Test
+    public void test_isPrefetchMessage_BodyPresent_ReturnsFalse() {
+        // setup
+        final Map<String, String> messageData = new HashMap<>();
+        messageData.put(CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES, PREFETCH_IMAGES);
+        messageData.put(CampaignPushConstants.PushPayloadKeys.BODY, "body");
+
+        // test
+        final boolean isPrefetchMessage =
+                CampaignPushImagePrefetcher.isPrefetchMessage(messageData);
+
+        // verify
+        Assert.assertFalse(isPrefetchMessage);
+    }
+
+    @Test
+    public void test_isPrefetchMessage_CampaignBodyPresent_ReturnsFalse() {
+        // setup
+        final Map<String, String> messageData = new HashMap<>();
+        messageData.put(CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES, PREFETCH_IMAGES);
+        messageData.put(CampaignPushConstants.PushPayloadKeys.ACC_PAYLOAD_BODY, "body");
+
+        // test
+        final boolean isPrefetchMessage =
+                CampaignPushImagePrefetcher.isPrefetchMessage(messageData);
+
+        // verify
+        Assert.assertFalse(isPrefetchMessage);
+    }
+
+    @Test
+    public void test_isPrefetchMessage_NoPrefetchImages_ReturnsFalse() {
+        // setup
+        final Map<String, String> messageData = new HashMap<>();
+        messageData.put("key", "value");
+
+        // test
+        final boolean isPrefetchMessage =
+                CampaignPushImagePrefetcher.isPrefetchMessage(messageData);
+
+        // verify
+        Assert.assertFalse(isPrefetchMessage);
+    }
+
+    // ========================================================================================
+    // getPrefetchImageUris
+    // ========================================================================================
+
+    @Test
+    public void test_getPrefetchImageUris_ValidJsonArray() {
+        // setup
+        final Map<String, String> messageData = new HashMap<>();
+        messageData.put(
+                CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES,
+                "[\"" + IMAGE_URI + "\", \"https://www.adobe.com/image2.png\"]");
+
+        // test
+        final List<String> imageUris =
+                CampaignPushImagePrefetcher.getPrefetchImageUris(messageData);
+
+        // verify
+        Assert.assertEquals(
+                Arrays.asList(IMAGE_URI, "https://www.adobe.com/image2.png"), imageUris);
+    }
+
+    @Test
+    public void test_getPrefetchImageUris_MalformedJson_ReturnsEmptyList() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, String> messageData = new HashMap<>();
+            messageData.put(
+                    CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES, "[\"" + IMAGE_URI);
+
+            // test
+            final List<String> imageUris =
+                    CampaignPushImagePrefetcher.getPrefetchImageUris(messageData);
+
+            // verify
+            Assert.assertTrue(imageUris.isEmpty());
+            logMockedStatic.verify(
+                    () ->
+                            Log.warning(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+        }
+    }
+
+    @Test
+    public void test_getPrefetchImageUris_NotAJsonArray_ReturnsEmptyList() {
+        try (MockedStatic<Log> ignored = Mockito.mockStatic(Log.class)) {
+            // setup
+            final Map<String, String> messageData = new HashMap<>();
+            messageData.put(CampaignPushConstants.PushPayloadKeys.PREFETCH_IMAGES, IMAGE_URI);
+
+            // test
+            final List<String> imageUris =
+                    CampaignPushImagePrefetcher.getPrefetchImageUris(messageData);
+
+            // verify
+            Assert.assertTrue(imageUris.isEmpty());
+        }
+    }
+
+    @Test
+    public void test_getPrefetchImageUris_NoPrefetchImages_ReturnsEmptyList() {
+        // test
+        final List<String> imageUris =
+                CampaignPushImagePrefetcher.getPrefetchImageUris(new HashMap<String, String>());
+
+        // verify
+        Assert.assertTrue(imageUris.isEmpty());
+    }
+
+    // ========================================================================================
+    // getValidImageUris
+    // ========================================================================================
+
+    @Test
+    public void test_getValidImageUris_NullImageUris_ReturnsEmptyList() {
+        // test
+        final List<String> validImageUris = CampaignPushImagePrefetcher.getValidImageUris(null);
+
+        // verify
+        Assert.assertTrue(validImageUris.isEmpty());
+    }
+
+    @Test
+    public void test_getValidImageUris_RemovesInvalidAndDuplicateUris() {
+        // setup
+        final List<String> imageUris =
+                Arrays.asList(
+                        IMAGE_URI,
+                        null,
+                        "",
+                        "not a url",
+                        "https://www.adobe.com/image2.png",
+                        IMAGE_URI);
+
+        // test
+        final List<String> validImageUris =
+                CampaignPushImagePrefetcher.getValidImageUris(imageUris);
+
+        // verify
+        Assert.assertEquals(
+                Arrays.asList(IMAGE_URI, "https://www.adobe.com/image2.png"), validImageUris);
+    }
+
+    @Test
+    public void test_getValidImageUris_MoreThanMaximumImageCount_KeepsFirstImages() {
+        try (MockedStatic<Log> ignored = Mockito.mockStatic(Log.class)) {
+            // setup
+            final List<String> imageUris = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                imageUris.add("https://www.adobe.com/image" + i + ".png");
+            }
+
+            // test
+            final List<String> validImageUris =
+                    CampaignPushImagePrefetcher.getValidImageUris(imageUris);
+
+            // verify
+            Assert.assertEquals(
+                    CampaignPushConstants.DefaultValues.MAXIMUM_PREFETCH_IMAGE_COUNT,
+                    validImageUris.size());
+            Assert.assertEquals(
+                    imageUris.subList(
+                            0, CampaignPushConstants.DefaultValues.MAXIMUM_PREFETCH_IMAGE_COUNT),
+                    validImageUris);
+        }
+    }
+
+    @Test
+    public void test_getValidImageUris_DuplicatesDoNotCountTowardsMaximumImageCount() {
+        try (MockedStatic<Log> ignored = Mockito.mockStatic(Log.class)) {
+            // setup
+            final List<String> imageUris = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                imageUris.add(IMAGE_URI);
+                imageUris.add("https://www.adobe.com/image" + i + ".png");
+            }
+
+            // test
+            final List<String> validImageUris =
+                    CampaignPushImagePrefetcher.getValidImageUris(imageUris);
+
+            // verify
+            Assert.assertEquals(
+                    CampaignPushConstants.DefaultValues.MAXIMUM_PREFETCH_IMAGE_COUNT,
+                    validImageUris.size());
+            Assert.assertEquals(IMAGE_URI, validImageUris.get(0));
+            Assert.assertEquals(
+                    "https://www.adobe.com/image18.png",
+                    validImageUris.get(validImageUris.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventSource
+import com.adobe.marketing.mobile.EventType
+import com.adobe.marketing.mobile.ExtensionApi
+import com.adobe.marketing.mobile.MobilePrivacyStatus
+import com.adobe.marketing.mobile.SharedStateResult
+import com.adobe.marketing.mobile.SharedStateStatus
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers
+import org.mockito.Mockito
+import org.mockito.junit.MockitoJUnitRunner
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class CampaignClassicConfigurationProviderTests {
+
+    private lateinit var extensionApi: ExtensionApi
+    private lateinit var configurationProvider: CampaignClassicConfigurationProvider
+
+    @Before
+    fun setup() {
+        extensionApi = Mockito.mock(ExtensionApi::class.java)
+        configurationProvider = CampaignClassicConfigurationProvider(extensionApi)
+    }
+
+    // =================================================================================================================
+    // fun get(event: Event)
+    // =================================================================================================================
+
+    @Test
+    fun get_NoConfigurationResponse_ReadsSharedState() {
+        // setup
+        setConfigurationSharedState(trackingServer = "testTrackingServer")
+
+        // test
+        val configuration = configurationProvider.get(getEvent())
+
+        // verify
+        Assert.assertEquals("testTrackingServer", configuration.trackingServer)
+        Assert.assertEquals(MobilePrivacyStatus.OPT_IN, configuration.privacyStatus)
+    }
+
+    @Test
+    fun get_AfterConfigurationResponse_ReturnsSnapshotWithoutReadingSharedState() {
+        // setup
+        setConfigurationSharedState(trackingServer = "testTrackingServer")
+        val snapshot = configurationProvider.update(getEvent())
+        Mockito.clearInvocations(extensionApi)
+
+        // test
+        val configuration = configurationProvider.get(getEvent())
+
+        // verify
+        Assert.assertSame(snapshot, configuration)
+        Mockito.verifyNoInteractions(extensionApi)
+    }
+
+    // =================================================================================================================
+    // fun update(event: Event)
+    // =================================================================================================================
+
+    @Test
+    fun update_ConfigurationChanged_ReplacesSnapshot() {
+        // setup
+        setConfigurationSharedState(trackingServer = "testTrackingServer")
+        configurationProvider.update(getEvent())
+
+        // test
+        setConfigurationSharedState(trackingServer = "newTrackingServer", privacyStatus = MobilePrivacyStatus.OPT_OUT)
+        configurationProvider.update(getEvent())
+
+        // verify
+        val configuration = configurationProvider.get(getEvent())
+        Assert.assertEquals("newTrackingServer", configuration.trackingServer)
+        Assert.assertEquals(MobilePrivacyStatus.OPT_OUT, configuration.privacyStatus)
+    }
+
+    @Test
+    fun update_SharedStateNotAvailable_DefaultValues() {
+        // test
+        val configuration = configurationProvider.update(getEvent())
+
+        // verify
+        Assert.assertNull(configuration.marketingServer)
+        Assert.assertNull(configuration.integrationKey)
+        Assert.assertNull(configuration.trackingServer)
+        Assert.assertEquals(CampaignClassicTestConstants.DEFAULT_TIMEOUT, configuration.timeout)
+        Assert.assertEquals(CampaignClassicTestConstants.DEFAULT_PUSH_IMAGE_CACHE_MAX_SIZE_IN_BYTES, configuration.pushImageCacheMaxSize)
+        Assert.assertEquals(CampaignClassicTestConstants.DEFAULT_PUSH_IMAGE_CACHE_ENCODING, configuration.pushImageCacheEncoding)
+        Assert.assertEquals(MobilePrivacyStatus.UNKNOWN, configuration.privacyStatus)
+    }
+
+    // =================================================================================================================
+    // private methods
+    // =================================================================================================================
+
+    private fun setConfigurationSharedState(
+        trackingServer: String,
+        privacyStatus: MobilePrivacyStatus = MobilePrivacyStatus.OPT_IN
+    ) {
+        Mockito.`when`(
+            extensionApi.getSharedState(
+                ArgumentMatchers.eq(CampaignClassicTestConstants.EventDataKeys.Configuration.EXTENSION_NAME),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.anyBoolean(),
+                ArgumentMatchers.any()
+            )
+        ).thenReturn(
+            SharedStateResult(
+                SharedStateStatus.SET,
+                mapOf(
+                    CampaignClassicTestConstants.EventDataKeys.Configuration.GLOBAL_CONFIG_PRIVACY to privacyStatus.value,
+                    CampaignClassicTestConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_TRACKING_SERVER to trackingServer
+                )
+            )
+        )
+    }
+
+    private fun getEvent(): Event {
+        return Event.Builder("Configuration Response", EventType.CONFIGURATION, EventSource.RESPONSE_CONTENT)
+            .build()
+    }
+}
@@ -33,6 +33,7 @@ class CampaignClassicExtensionTests {
     private lateinit var extensionApi: ExtensionApi
     private lateinit var registrationManager: RegistrationManager
     private lateinit var trackRequestManager: TrackRequestManager
+    private lateinit var pushImageCacheManager: PushImageCacheManager
     private lateinit var campaignClassicExtension: CampaignClassicExtension
 
     @Before
@@ -40,8 +41,14 @@ class CampaignClassicExtensionTests {
         extensionApi = Mockito.mock(ExtensionApi::class.java)
         registrationManager = Mockito.mock(RegistrationManager::class.java)
         trackRequestManager = Mockito.mock(TrackRequestManager::class.java)
+        pushImageCacheManager = Mockito.mock(PushImageCacheManager::class.java)
 
-        campaignClassicExtension = CampaignClassicExtension(extensionApi, registrationManager, trackRequestManager)
+        campaignClassicExtension = CampaignClassicExtension(
+            extensionApi,
+            registrationManager,
+            trackRequestManager,
+            pushImageCacheManager
+        )
     }
 
     // =================================================================================================================
@@ -98,6 +105,7 @@ class CampaignClassicExtensionTests {
 
         // verify
         Mockito.verify(registrationManager, Mockito.times(1)).clearRegistrationData()
+        Mockito.verify(trackRequestManager, Mockito.times(1)).updatePrivacyStatus(MobilePrivacyStatus.OPT_OUT)
     }
 
     @Test
@@ -109,7 +117,72 @@ class CampaignClassicExtensionTests {
         campaignClassicExtension.handleConfigurationResponseEvent(getConfigurationRequestEvent())
 
         // verify
-        Mockito.verifyNoInteractions(registrationManager)
+        Mockito.verify(registrationManager, Mockito.times(1)).resumePendingRegistration()
+        Mockito.verifyNoMoreInteractions(registrationManager)
+        Mockito.verify(trackRequestManager, Mockito.times(1)).updatePrivacyStatus(MobilePrivacyStatus.OPT_IN)
+    }
+
+    @Test
+    fun handleConfigurationResponseEvent_PushImageCacheMaxSizeConfigured() {
+        // setup
+        setConfigurationSharedState(pushImageCacheMaxSize = 1024L)
+
+        // test
+        campaignClassicExtension.handleConfigurationResponseEvent(getConfigurationRequestEvent())
+
+        // verify
+        Mockito.verify(pushImageCacheManager, Mockito.times(1)).setMaximumSizeInBytes(1024L)
+    }
+
+    @Test
+    fun handleConfigurationResponseEvent_PushImageCacheMaxSizeNotConfigured() {
+        // setup
+        setConfigurationSharedState()
+
+        // test
+        campaignClassicExtension.handleConfigurationResponseEvent(getConfigurationRequestEvent())
+
+        // verify
+        Mockito.verify(pushImageCacheManager, Mockito.times(1))
+            .setMaximumSizeInBytes(CampaignClassicTestConstants.DEFAULT_PUSH_IMAGE_CACHE_MAX_SIZE_IN_BYTES)
+    }
+
+    @Test
+    fun handleConfigurationResponseEvent_PushImageCacheEncodingConfigured() {
+        // setup
+        setConfigurationSharedState(pushImageCacheEncoding = "WEBP_LOSSY")
+
+        // test
+        campaignClassicExtension.handleConfigurationResponseEvent(getConfigurationRequestEvent())
+
+        // verify
+        Mockito.verify(pushImageCacheManager, Mockito.times(1)).setCacheEncoding("WEBP_LOSSY")
+    }
+
+    @Test
+    fun handleConfigurationResponseEvent_PushImageCacheEncodingNotConfigured() {
+        // setup
+        setConfigurationSharedState()
+
+        // test
+        campaignClassicExtension.handleConfigurationResponseEvent(getConfigurationRequestEvent())
+
+        // verify
+        Mockito.verify(pushImageCacheManager, Mockito.times(1))
+            .setCacheEncoding(CampaignClassicTestConstants.DEFAULT_PUSH_IMAGE_CACHE_ENCODING)
+    }
+
+    // =================================================================================================================
+    // fun onRegistered()
+    // =================================================================================================================
+
+    @Test
+    fun onRegistered_TrimsPushImageCache() {
+        // test
+        campaignClassicExtension.onRegistered()
+
+        // verify
+        Mockito.verify(pushImageCacheManager, Mockito.times(1)).trimInBackground()
     }
 
     // =================================================================================================================
@@ -194,8 +267,19 @@ class CampaignClassicExtensionTests {
     // =================================================================================================================
 
     private fun setConfigurationSharedState(
-        privacyStatus: MobilePrivacyStatus = MobilePrivacyStatus.OPT_IN
+        privacyStatus: MobilePrivacyStatus = MobilePrivacyStatus.OPT_IN,
+        pushImageCacheMaxSize: Long? = null,
+        pushImageCacheEncoding: String? = null
     ) {
+        val configuration = mutableMapOf<String, Any>(
+            CampaignClassicTestConstants.EventDataKeys.Configuration.GLOBAL_CONFIG_PRIVACY to privacyStatus.value
+        )
+        pushImageCacheMaxSize?.let {
+            configuration[CampaignClassicTestConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_PUSH_IMAGE_CACHE_MAX_SIZE] = it
+        }
+        pushImageCacheEncoding?.let {
+            configuration[CampaignClassicTestConstants.EventDataKeys.Configuration.CAMPAIGNCLASSIC_PUSH_IMAGE_CACHE_ENCODING] = it
+        }
         Mockito.`when`(
             extensionApi.getSharedState(
                 ArgumentMatchers.eq(CampaignClassicTestConstants.EventDataKeys.Configuration.EXTENSION_NAME),
@@ -206,9 +290,7 @@ class CampaignClassicExtensionTests {
         ).thenReturn(
             SharedStateResult(
                 SharedStateStatus.SET,
-                mapOf(
-                    CampaignClassicTestConstants.EventDataKeys.Configuration.GLOBAL_CONFIG_PRIVACY to privacyStatus.value
-                )
+                configuration
             )
         )
     }
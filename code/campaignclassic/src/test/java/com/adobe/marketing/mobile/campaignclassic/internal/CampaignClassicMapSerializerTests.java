@@ -11,6 +11,7 @@
 package com.adobe.marketing.mobile.campaignclassic.internal;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
@@ -144,4 +145,91 @@ public class CampaignClassicMapSerializerTests {
                 "<additionalParameters><param name=\"\" value=\"\"/></additionalParameters>",
                 result);
     }
+
+    @Test
+    public void serializeMap_when_SymbolsToEscapeAtBoundaries() {
+        // setup
+        final Map<String, Object> additionalParams =
+                new HashMap<String, Object>() {
+                    {
+                        put("<key>", "&value with spaces\"");
+                    }
+                };
+
+        // test
+        final String result = CampaignClassicMapSerializer.serializeMap(additionalParams);
+
+        // verify
+        Assert.assertEquals(
+                "<additionalParameters><param name=\"&lt;key&gt;\""
+                        + " value=\"&amp;value with spaces&quot;\"/></additionalParameters>",
+                result);
+    }
+
+    @Test
+    public void serializeMap_when_LongValueWithoutSymbolsToEscape() {
+        // setup
+        final StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longValue.append("value");
+        }
+        final Map<String, Object> additionalParams = new HashMap<>();
+        additionalParams.put("key", longValue.toString());
+
+        // test
+        final String result = CampaignClassicMapSerializer.serializeMap(additionalParams);
+
+        // verify
+        Assert.assertEquals(
+                "<additionalParameters><param name=\"key\" value=\""
+                        + longValue
+                        + "\"/></additionalParameters>",
+                result);
+    }
+
+    @Test
+    public void serializeMap_AppendsToBuilder() {
+        // setup
+        final Map<String, Object> additionalParams = new HashMap<>();
+        additionalParams.put("key", "v'1");
+        final StringBuilder builder = new StringBuilder("prefix:");
+
+        // test
+        CampaignClassicMapSerializer.serializeMap(additionalParams, builder);
+
+        // verify
+        Assert.assertEquals(
+                "prefix:<additionalParameters><param name=\"key\""
+                        + " value=\"v&#39;1\"/></additionalParameters>",
+                builder.toString());
+    }
+
+    @Test
+    public void serializeMapCanonical_SortsParamsByKey() {
+        // setup
+        final Map<String, Object> additionalParams = new LinkedHashMap<>();
+        additionalParams.put("zeta", "z");
+        additionalParams.put("alpha", 1);
+        additionalParams.put(null, "ignored");
+        additionalParams.put("beta", true);
+
+        // test
+        final String result = CampaignClassicMapSerializer.serializeMapCanonical(additionalParams);
+
+        // verify
+        Assert.assertEquals(
+                "<additionalParameters><param name=\"alpha\" value=\"1\"/><param name=\"beta\""
+                        + " value=\"true\"/><param name=\"zeta\""
+                        + " value=\"z\"/></additionalParameters>",
+                result);
+    }
+
+    @Test
+    public void serializeMapCanonical_when_nullMap() {
+        // test
+        final String result = CampaignClassicMapSerializer.serializeMapCanonical(null);
+
+        // verify
+        Assert.assertEquals("<additionalParameters></additionalParameters>", result);
+    }
 }
@@ -21,6 +21,8 @@ final class CampaignClassicTestConstants {
     static final String TRACKING_API_URL_BASE = "%s/r/?id=h%x,%s,%s";
     static final String REGISTER_PARAM_DEVICE_OS_NAME = "android";
     static final int DEFAULT_TIMEOUT = 30;
+    static final long DEFAULT_PUSH_IMAGE_CACHE_MAX_SIZE_IN_BYTES = 20L * 1024 * 1024;
+    static final String DEFAULT_PUSH_IMAGE_CACHE_ENCODING = "ORIGINAL";
     static final String REGISTER_PARAMS_FORMAT =
             "registrationToken=%s&mobileAppUuid=%s&userKey=%s&deviceImei=%s&deviceName=%s&deviceModel=%s&deviceBrand=%s&deviceManufacturer=%s&osName=%s&osVersion=%s&osLanguage=%s&additionalParams=";
 
@@ -29,11 +31,18 @@ final class CampaignClassicTestConstants {
 
     static final String DATASTORE_KEY = "ADOBEMOBILE_CAMPAIGNCLASSIC";
 
+    static final int REGISTRATION_RETRY_MAX_ATTEMPTS = 10;
+
     /*
        DataStoreKeys
     */
     static class DataStoreKeys {
         static final String TOKEN_HASH = "ADOBEMOBILE_STOREDDEFAULTS_TOKENHASH";
+        static final String PUSH_IMAGE_CACHE_INDEX =
+                "ADOBEMOBILE_STOREDDEFAULTS_PUSHIMAGECACHEINDEX";
+        static final String SENT_TRACK_REQUESTS = "ADOBEMOBILE_STOREDDEFAULTS_SENTTRACKREQUESTS";
+        static final String PENDING_REGISTRATION =
+                "ADOBEMOBILE_STOREDDEFAULTS_PENDINGREGISTRATION";
 
         private DataStoreKeys() {}
     }
@@ -53,6 +62,10 @@ final class CampaignClassicTestConstants {
             static final String CAMPAIGNCLASSIC_APP_INTEGRATION_KEY =
                     "campaignclassic.android.integrationKey";
             static final String CAMPAIGNCLASSIC_TIMEOUT = "campaignclassic.timeout";
+            static final String CAMPAIGNCLASSIC_PUSH_IMAGE_CACHE_MAX_SIZE =
+                    "campaignclassic.pushImageCacheMaxSize";
+            static final String CAMPAIGNCLASSIC_PUSH_IMAGE_CACHE_ENCODING =
+                    "campaignclassic.pushImageCacheEncoding";
 
             private Configuration() {}
         }
@@ -16,6 +16,7 @@ import com.adobe.marketing.mobile.ExtensionError;
 import com.adobe.marketing.mobile.ExtensionErrorCallback;
 import com.adobe.marketing.mobile.MobileCore;
 import com.adobe.marketing.mobile.services.Log;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Assert;
@@ -364,4 +365,38 @@ public class CampaignClassicTests {
                                     ArgumentMatchers.any()));
         }
     }
+
+    @Test
+    public void test_prefetchImages_NullImageUris() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // test
+            CampaignClassic.prefetchImages(null);
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.error(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+        }
+    }
+
+    @Test
+    public void test_prefetchImages_EmptyImageUris() {
+        try (MockedStatic<Log> logMockedStatic = Mockito.mockStatic(Log.class)) {
+            // test
+            CampaignClassic.prefetchImages(new ArrayList<>());
+
+            // verify
+            logMockedStatic.verify(
+                    () ->
+                            Log.error(
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.anyString(),
+                                    ArgumentMatchers.any()));
+        }
+    }
 }
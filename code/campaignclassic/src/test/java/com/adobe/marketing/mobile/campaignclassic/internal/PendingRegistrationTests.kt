@@ -0,0 +1,95 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import org.junit.Assert
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.junit.MockitoJUnitRunner
+import java.util.Random
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class PendingRegistrationTests {
+
+    // =================================================================================================================
+    // fun toJson() / fun fromJson(json: String?)
+    // =================================================================================================================
+
+    @Test
+    fun toJson_FromJson_RoundTrip() {
+        // setup
+        val pendingRegistration = PendingRegistration("testHash", 3, 1700000000000L)
+
+        // test
+        val result = PendingRegistration.fromJson(pendingRegistration.toJson())
+
+        // verify
+        Assert.assertEquals(pendingRegistration, result)
+    }
+
+    @Test
+    fun toJson_FromJson_NullHash() {
+        // setup
+        val pendingRegistration = PendingRegistration(null, 1, 0)
+
+        // test
+        val result = PendingRegistration.fromJson(pendingRegistration.toJson())
+
+        // verify
+        Assert.assertNull(result?.registrationHash)
+        Assert.assertEquals(pendingRegistration, result)
+    }
+
+    @Test
+    fun fromJson_NullOrEmpty() {
+        Assert.assertNull(PendingRegistration.fromJson(null))
+        Assert.assertNull(PendingRegistration.fromJson(""))
+    }
+
+    @Test
+    fun fromJson_Invalid() {
+        Assert.assertNull(PendingRegistration.fromJson("not json"))
+        Assert.assertNull(PendingRegistration.fromJson("{\"hash\":\"testHash\"}"))
+    }
+
+    // =================================================================================================================
+    // fun retryDelayMillis(attempts: Int, random: Random)
+    // =================================================================================================================
+
+    @Test
+    fun retryDelayMillis_GrowsExponentiallyWithJitter() {
+        // setup
+        val random = Random(42)
+
+        // test and verify
+        for (attempts in 1..5) {
+            val maxDelay = 30000L shl (attempts - 1)
+            repeat(20) {
+                val delay = PendingRegistration.retryDelayMillis(attempts, random)
+                Assert.assertTrue(delay >= maxDelay / 2)
+                Assert.assertTrue(delay <= maxDelay)
+            }
+        }
+    }
+
+    @Test
+    fun retryDelayMillis_CappedAtMaxDelay() {
+        // setup
+        val random = Random(42)
+
+        // test and verify
+        repeat(20) {
+            val delay = PendingRegistration.retryDelayMillis(30, random)
+            Assert.assertTrue(delay >= 1800000L)
+            Assert.assertTrue(delay <= 3600000L)
+        }
+    }
+}
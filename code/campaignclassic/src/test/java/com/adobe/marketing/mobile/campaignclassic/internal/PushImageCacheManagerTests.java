@@ -0,0 +1,320 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal;
+
+import com.adobe.marketing.mobile.services.NamedCollection;
+import com.adobe.marketing.mobile.services.caching.CacheResult;
+import com.adobe.marketing.mobile.services.caching.CacheService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PushImageCacheManagerTests {
+    private static final String CACHE_LOCATION = "cacheDir/campaignclassic/pushimagecache";
+    private static final String IMAGE_A = "https://www.adobe.com/a.png";
+    private static final String IMAGE_B = "https://www.adobe.com/b.png";
+    private static final String IMAGE_C = "https://www.adobe.com/c.png";
+
+    @Mock private CacheService mockCacheService;
+    @Mock private NamedCollection mockDataStore;
+    @Mock private CacheResult mockCacheResult;
+    @Mock private InputStream mockCacheData;
+
+    private final Executor directExecutor =
+            new Executor() {
+                @Override
+                public void execute(final Runnable command) {
+                    command.run();
+                }
+            };
+    private String persistedIndex;
+    private PushImageCacheManager pushImageCacheManager;
+
+    @Before
+    public void setup() {
+        persistedIndex = null;
+        Mockito.doAnswer(
+                        new Answer<Void>() {
+                            @Override
+                            public Void answer(final InvocationOnMock invocation) {
+                                persistedIndex = invocation.getArgument(1);
+                                return null;
+                            }
+                        })
+                .when(mockDataStore)
+                .setString(
+                        ArgumentMatchers.eq(
+                                CampaignClassicTestConstants.DataStoreKeys.PUSH_IMAGE_CACHE_INDEX),
+                        ArgumentMatchers.anyString());
+        Mockito.when(
+                        mockDataStore.getString(
+                                ArgumentMatchers.eq(
+                                        CampaignClassicTestConstants.DataStoreKeys
+                                                .PUSH_IMAGE_CACHE_INDEX),
+                                ArgumentMatchers.<String>any()))
+                .thenAnswer(
+                        new Answer<String>() {
+                            @Override
+                            public String answer(final InvocationOnMock invocation) {
+                                return persistedIndex;
+                            }
+                        });
+        Mockito.when(
+                        mockCacheService.get(
+                                ArgumentMatchers.eq(CACHE_LOCATION), ArgumentMatchers.anyString()))
+                .thenReturn(mockCacheResult);
+        Mockito.when(mockCacheResult.getData()).thenReturn(mockCacheData);
+
+        pushImageCacheManager = createPushImageCacheManager();
+    }
+
+    @Test
+    public void recordWrite_UnderMaximumSize() {
+        // setup
+        pushImageCacheManager.setMaximumSizeInBytes(100);
+
+        // test
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+        pushImageCacheManager.recordWrite(IMAGE_B, 40);
+
+        // verify
+        Assert.assertEquals(80, pushImageCacheManager.getTotalSizeInBytes());
+        Assert.assertEquals(0, pushImageCacheManager.getEvictionCount());
+        Mockito.verify(mockCacheService, Mockito.never())
+                .remove(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+    }
+
+    @Test
+    public void recordWrite_OverMaximumSize_EvictsLeastRecentlyUsed() {
+        // setup
+        pushImageCacheManager.setMaximumSizeInBytes(100);
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+        pushImageCacheManager.recordWrite(IMAGE_B, 40);
+        pushImageCacheManager.recordHit(IMAGE_A);
+
+        // test
+        pushImageCacheManager.recordWrite(IMAGE_C, 40);
+
+        // verify
+        Mockito.verify(mockCacheService, Mockito.times(1)).remove(CACHE_LOCATION, IMAGE_B);
+        Mockito.verify(mockCacheService, Mockito.never()).remove(CACHE_LOCATION, IMAGE_A);
+        Assert.assertEquals(80, pushImageCacheManager.getTotalSizeInBytes());
+        Assert.assertEquals(1, pushImageCacheManager.getEvictionCount());
+    }
+
+    @Test
+    public void recordWrite_EntryLargerThanMaximumSize_IsKept() {
+        // setup
+        pushImageCacheManager.setMaximumSizeInBytes(100);
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+
+        // test
+        pushImageCacheManager.recordWrite(IMAGE_B, 150);
+
+        // verify
+        Mockito.verify(mockCacheService, Mockito.times(1)).remove(CACHE_LOCATION, IMAGE_A);
+        Mockito.verify(mockCacheService, Mockito.never()).remove(CACHE_LOCATION, IMAGE_B);
+        Assert.assertEquals(150, pushImageCacheManager.getTotalSizeInBytes());
+    }
+
+    @Test
+    public void recordWrite_SameUri_ReplacesEntrySize() {
+        // test
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+        pushImageCacheManager.recordWrite(IMAGE_A, 60);
+
+        // verify
+        Assert.assertEquals(60, pushImageCacheManager.getTotalSizeInBytes());
+    }
+
+    @Test
+    public void recordWrite_IndexIsPersisted() {
+        // setup
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+        pushImageCacheManager.recordWrite(IMAGE_B, 30);
+
+        // test
+        final PushImageCacheManager reloadedManager = createPushImageCacheManager();
+
+        // verify
+        Assert.assertNotNull(persistedIndex);
+        Assert.assertEquals(70, reloadedManager.getTotalSizeInBytes());
+    }
+
+    @Test
+    public void recordWrite_PersistsIndexOnExecutor() {
+        // setup
+        final List<Runnable> pendingTasks = new ArrayList<>();
+        final PushImageCacheManager deferredManager =
+                new PushImageCacheManager(
+                        mockCacheService,
+                        mockDataStore,
+                        CACHE_LOCATION,
+                        new Executor() {
+                            @Override
+                            public void execute(final Runnable command) {
+                                pendingTasks.add(command);
+                            }
+                        });
+
+        // test
+        deferredManager.recordWrite(IMAGE_A, 40);
+        deferredManager.recordWrite(IMAGE_B, 30);
+
+        // verify the index is not written on the recording thread and writes are coalesced
+        Assert.assertNull(persistedIndex);
+        Assert.assertEquals(1, pendingTasks.size());
+
+        // test
+        pendingTasks.get(0).run();
+
+        // verify
+        Mockito.verify(mockDataStore, Mockito.times(1))
+                .setString(
+                        ArgumentMatchers.eq(
+                                CampaignClassicTestConstants.DataStoreKeys.PUSH_IMAGE_CACHE_INDEX),
+                        ArgumentMatchers.anyString());
+        Assert.assertEquals(70, createPushImageCacheManager().getTotalSizeInBytes());
+    }
+
+    @Test
+    public void trim_IndexUnchanged_DoesNotPersistIndex() {
+        // setup
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+        Mockito.clearInvocations(mockDataStore);
+
+        // test
+        pushImageCacheManager.trim();
+
+        // verify
+        Mockito.verify(mockDataStore, Mockito.never())
+                .setString(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+    }
+
+    @Test
+    public void recordHitAndMiss_UpdatesCounters() {
+        // test
+        pushImageCacheManager.recordHit(IMAGE_A);
+        pushImageCacheManager.recordHit(IMAGE_A);
+        pushImageCacheManager.recordMiss(IMAGE_B);
+
+        // verify
+        Assert.assertEquals(2, pushImageCacheManager.getHitCount());
+        Assert.assertEquals(1, pushImageCacheManager.getMissCount());
+    }
+
+    @Test
+    public void recordMiss_IndexedUri_RemovesEntry() {
+        // setup
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+
+        // test
+        pushImageCacheManager.recordMiss(IMAGE_A);
+
+        // verify
+        Assert.assertEquals(0, pushImageCacheManager.getTotalSizeInBytes());
+    }
+
+    @Test
+    public void trim_RemovesExpiredEntriesFromIndex() {
+        // setup
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+        pushImageCacheManager.recordWrite(IMAGE_B, 30);
+        Mockito.when(mockCacheService.get(CACHE_LOCATION, IMAGE_A)).thenReturn(null);
+
+        // test
+        pushImageCacheManager.trim();
+
+        // verify
+        Assert.assertEquals(30, pushImageCacheManager.getTotalSizeInBytes());
+        Assert.assertEquals(0, pushImageCacheManager.getEvictionCount());
+    }
+
+    @Test
+    public void trim_ClosesCachedImageData() throws IOException {
+        // setup
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+        pushImageCacheManager.recordWrite(IMAGE_B, 30);
+
+        // test
+        pushImageCacheManager.trim();
+
+        // verify
+        Mockito.verify(mockCacheData, Mockito.times(2)).close();
+        Assert.assertEquals(70, pushImageCacheManager.getTotalSizeInBytes());
+    }
+
+    @Test
+    public void setMaximumSizeInBytes_Reduced_TrimsCache() {
+        // setup
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+        pushImageCacheManager.recordWrite(IMAGE_B, 30);
+
+        // test
+        pushImageCacheManager.setMaximumSizeInBytes(50);
+
+        // verify
+        Mockito.verify(mockCacheService, Mockito.times(1)).remove(CACHE_LOCATION, IMAGE_A);
+        Assert.assertEquals(30, pushImageCacheManager.getTotalSizeInBytes());
+        Assert.assertEquals(1, pushImageCacheManager.getEvictionCount());
+    }
+
+    @Test
+    public void setMaximumSizeInBytes_Invalid_IsIgnored() {
+        // setup
+        pushImageCacheManager.recordWrite(IMAGE_A, 40);
+
+        // test
+        pushImageCacheManager.setMaximumSizeInBytes(0);
+
+        // verify
+        Mockito.verify(mockCacheService, Mockito.never())
+                .remove(ArgumentMatchers.anyString(), ArgumentMatchers.anyString());
+        Assert.assertEquals(40, pushImageCacheManager.getTotalSizeInBytes());
+    }
+
+    @Test
+    public void getCacheEncoding_NotSet_ReturnsDefaultEncoding() {
+        // test
+        final String encoding = pushImageCacheManager.getCacheEncoding();
+
+        // verify
+        Assert.assertEquals(
+                CampaignClassicTestConstants.DEFAULT_PUSH_IMAGE_CACHE_ENCODING, encoding);
+    }
+
+    @Test
+    public void setCacheEncoding_ReturnsConfiguredEncoding() {
+        // test
+        pushImageCacheManager.setCacheEncoding("RAW_ARGB");
+
+        // verify
+        Assert.assertEquals("RAW_ARGB", pushImageCacheManager.getCacheEncoding());
+    }
+
+    private PushImageCacheManager createPushImageCacheManager() {
+        return new PushImageCacheManager(
+                mockCacheService, mockDataStore, CACHE_LOCATION, directExecutor);
+    }
+}
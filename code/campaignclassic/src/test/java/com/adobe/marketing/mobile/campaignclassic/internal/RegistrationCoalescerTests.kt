@@ -0,0 +1,217 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.Event
+import com.adobe.marketing.mobile.EventSource
+import com.adobe.marketing.mobile.EventType
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.junit.MockitoJUnitRunner
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class RegistrationCoalescerTests {
+
+    private lateinit var registeredEvents: MutableList<Event>
+    private lateinit var completions: MutableList<(Boolean) -> Unit>
+    private lateinit var dispatchedStatuses: MutableList<Boolean>
+
+    @Before
+    fun setup() {
+        registeredEvents = Collections.synchronizedList(mutableListOf())
+        completions = Collections.synchronizedList(mutableListOf())
+        dispatchedStatuses = Collections.synchronizedList(mutableListOf())
+    }
+
+    // =================================================================================================================
+    // fun submit(event: Event)
+    // =================================================================================================================
+
+    @Test
+    fun submit_NoDebounce_RegistersImmediately() {
+        // setup
+        val coalescer = createCoalescer(0)
+        val event = getRegisterEvent("token1")
+
+        // test
+        coalescer.submit(event)
+        completions[0](true)
+
+        // verify
+        Assert.assertEquals(listOf(event), registeredEvents)
+        Assert.assertEquals(listOf(true), dispatchedStatuses)
+    }
+
+    @Test
+    fun submit_RegistrationInFlight_WaitsForCompletion() {
+        // setup
+        val coalescer = createCoalescer(0)
+        val firstEvent = getRegisterEvent("token1")
+        val secondEvent = getRegisterEvent("token2")
+
+        // test
+        coalescer.submit(firstEvent)
+        coalescer.submit(secondEvent)
+
+        // verify
+        Assert.assertEquals(listOf(firstEvent), registeredEvents)
+
+        // test
+        completions[0](false)
+
+        // verify
+        Assert.assertEquals(listOf(firstEvent, secondEvent), registeredEvents)
+        Assert.assertEquals(listOf(false), dispatchedStatuses)
+    }
+
+    @Test
+    fun submit_RequestsWhileInFlight_CollapsedIntoLatest() {
+        // setup
+        val coalescer = createCoalescer(0)
+        val firstEvent = getRegisterEvent("token1")
+        val latestEvent = getRegisterEvent("token3")
+        coalescer.submit(firstEvent)
+        coalescer.submit(getRegisterEvent("token2"))
+        coalescer.submit(latestEvent)
+
+        // test
+        completions[0](true)
+        completions[1](true)
+
+        // verify
+        Assert.assertEquals(listOf(firstEvent, latestEvent), registeredEvents)
+        Assert.assertEquals(listOf(true, true, true), dispatchedStatuses)
+    }
+
+    @Test
+    fun submit_WithinDebounceWindow_CollapsedIntoLatest() {
+        // setup
+        val latch = CountDownLatch(1)
+        val coalescer = RegistrationCoalescer(
+            50,
+            { event, onComplete ->
+                registeredEvents.add(event)
+                onComplete(true)
+                latch.countDown()
+            },
+            { dispatchedStatuses.add(it) }
+        )
+        val latestEvent = getRegisterEvent("token3")
+
+        // test
+        coalescer.submit(getRegisterEvent("token1"))
+        coalescer.submit(getRegisterEvent("token2"))
+        coalescer.submit(latestEvent)
+
+        // verify
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS))
+        Assert.assertEquals(listOf(latestEvent), registeredEvents)
+        Assert.assertEquals(listOf(true, true, true), dispatchedStatuses)
+    }
+
+    // =================================================================================================================
+    // fun submitRetry(retry: (onComplete: (Boolean) -> Unit) -> Unit)
+    // =================================================================================================================
+
+    @Test
+    fun submitRetry_NothingInFlight_RetriesWithoutDispatchingStatus() {
+        // setup
+        val coalescer = createCoalescer(0)
+        var retries = 0
+
+        // test
+        coalescer.submitRetry { onComplete ->
+            retries++
+            onComplete(false)
+        }
+
+        // verify
+        Assert.assertEquals(1, retries)
+        Assert.assertTrue(dispatchedStatuses.isEmpty())
+    }
+
+    @Test
+    fun submitRetry_RegistrationInFlight_RetriesAfterCompletion() {
+        // setup
+        val coalescer = createCoalescer(0)
+        var retries = 0
+        coalescer.submit(getRegisterEvent("token1"))
+
+        // test
+        coalescer.submitRetry { onComplete ->
+            retries++
+            onComplete(true)
+        }
+
+        // verify
+        Assert.assertEquals(0, retries)
+
+        // test
+        completions[0](false)
+
+        // verify
+        Assert.assertEquals(1, retries)
+        Assert.assertEquals(listOf(false), dispatchedStatuses)
+    }
+
+    @Test
+    fun submitRetry_RegistrationPending_RetryDropped() {
+        // setup
+        val coalescer = createCoalescer(0)
+        var retries = 0
+        val firstEvent = getRegisterEvent("token1")
+        val secondEvent = getRegisterEvent("token2")
+        coalescer.submit(firstEvent)
+        coalescer.submitRetry { onComplete ->
+            retries++
+            onComplete(true)
+        }
+
+        // test
+        coalescer.submit(secondEvent)
+        completions[0](true)
+
+        // verify the pending registration supersedes the retry
+        Assert.assertEquals(0, retries)
+        Assert.assertEquals(listOf(firstEvent, secondEvent), registeredEvents)
+    }
+
+    // =================================================================================================================
+    // private methods
+    // =================================================================================================================
+
+    private fun createCoalescer(debounceMillis: Long): RegistrationCoalescer {
+        return RegistrationCoalescer(
+            debounceMillis,
+            { event, onComplete ->
+                registeredEvents.add(event)
+                completions.add(onComplete)
+            },
+            { dispatchedStatuses.add(it) }
+        )
+    }
+
+    private fun getRegisterEvent(deviceToken: String): Event {
+        return Event.Builder("Register Device", EventType.CAMPAIGN, EventSource.REQUEST_CONTENT)
+            .setEventData(
+                mapOf(
+                    CampaignClassicTestConstants.EventDataKeys.CampaignClassic.REGISTER_DEVICE to true,
+                    CampaignClassicTestConstants.EventDataKeys.CampaignClassic.DEVICE_TOKEN to deviceToken
+                )
+            )
+            .build()
+    }
+}
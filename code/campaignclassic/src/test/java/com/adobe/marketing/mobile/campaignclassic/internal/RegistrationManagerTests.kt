@@ -18,6 +18,7 @@ import com.adobe.marketing.mobile.MobilePrivacyStatus
 import com.adobe.marketing.mobile.SharedStateResult
 import com.adobe.marketing.mobile.SharedStateStatus
 import com.adobe.marketing.mobile.services.DeviceInforming
+import com.adobe.marketing.mobile.services.DeviceInforming.NetworkConnectionActiveListener
 import com.adobe.marketing.mobile.services.HttpConnecting
 import com.adobe.marketing.mobile.services.NamedCollection
 import com.adobe.marketing.mobile.services.NetworkCallback
@@ -42,6 +43,7 @@ class RegistrationManagerTests {
     private lateinit var dataStore: NamedCollection
     private lateinit var networkService: Networking
     private lateinit var registrationManager: RegistrationManager
+    private val registrationHash = "ae3690b4784c13cca87bfc99d5f37df4fd6c75aa320715bf361d7f9d896aaffc"
 
     @Before
     fun setup() {
@@ -344,7 +346,7 @@ class RegistrationManagerTests {
         setConfigurationSharedState()
 
         Mockito.`when`(dataStore.getString(ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.TOKEN_HASH), ArgumentMatchers.any()))
-            .thenReturn("b1315b4b0514a6092451017162124d59dea702370eed96077e3d524fe6ce899d")
+            .thenReturn("ae3690b4784c13cca87bfc99d5f37df4fd6c75aa320715bf361d7f9d896aaffc")
 
         // test
         registrationManager.registerDevice(getRegisterDeviceEvent())
@@ -353,6 +355,33 @@ class RegistrationManagerTests {
         Mockito.verifyNoInteractions(networkService)
     }
 
+    @Test
+    fun registerDevice_SameParametersInDifferentOrder_NotSentAgain() {
+        // setup
+        setConfigurationSharedState()
+        setNetworkResponse(HttpURLConnection.HTTP_OK)
+        registrationManager.registerDevice(getRegisterDeviceEvent(additionalParams = linkedMapOf("first" to "1", "second" to "2")))
+        val hashCaptor = ArgumentCaptor.forClass(String::class.java)
+        Mockito.verify(dataStore, Mockito.times(1)).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.TOKEN_HASH),
+            hashCaptor.capture()
+        )
+        Mockito.`when`(dataStore.getString(ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.TOKEN_HASH), ArgumentMatchers.any()))
+            .thenReturn(hashCaptor.value)
+
+        // test
+        registrationManager.registerDevice(getRegisterDeviceEvent(additionalParams = linkedMapOf("second" to "2", "first" to "1")))
+
+        // verify only the first registration request is sent
+        val networkRequestCaptor = ArgumentCaptor.forClass(NetworkRequest::class.java)
+        Mockito.verify(networkService, Mockito.times(1)).connectAsync(networkRequestCaptor.capture(), ArgumentMatchers.any())
+        Assert.assertTrue(
+            networkRequestCaptor.value.payloadAsString().contains(
+                "%3Cparam%20name%3D%22first%22%20value%3D%221%22%2F%3E%3Cparam%20name%3D%22second%22%20value%3D%222%22%2F%3E"
+            )
+        )
+    }
+
     @Test
     fun registerDevice_NetworkServiceNotAvailable() {
         // setup
@@ -397,6 +426,414 @@ class RegistrationManagerTests {
         Assert.assertEquals(20, networkRequestCaptor.value.readTimeout)
     }
 
+    @Test
+    fun registerDevice_RepeatedRegistration_DeviceInfoReadOnce() {
+        // setup
+        setConfigurationSharedState()
+        setNetworkResponse(HttpURLConnection.HTTP_OK)
+
+        // test
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken1"))
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken2"))
+
+        // verify both requests are sent with the device information
+        val networkRequestCaptor = ArgumentCaptor.forClass(NetworkRequest::class.java)
+        Mockito.verify(networkService, Mockito.times(2)).connectAsync(networkRequestCaptor.capture(), ArgumentMatchers.any())
+        networkRequestCaptor.allValues.forEach {
+            Assert.assertTrue(it.payloadAsString().contains("deviceImei=12345&"))
+            Assert.assertTrue(it.payloadAsString().contains("osLanguage=mocklocale&"))
+        }
+
+        // verify static device information is read once
+        Mockito.verify(deviceInfoService, Mockito.times(1)).deviceUniqueId
+        Mockito.verify(deviceInfoService, Mockito.times(1)).deviceManufacturer
+    }
+
+    @Test
+    fun registerDevice_LocaleChanged_DeviceInfoReadAgain() {
+        // setup
+        setConfigurationSharedState()
+        setNetworkResponse(HttpURLConnection.HTTP_OK)
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken1"))
+
+        // test
+        Mockito.`when`(deviceInfoService.activeLocale).thenReturn(Locale("newLocale"))
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken2"))
+
+        // verify
+        val networkRequestCaptor = ArgumentCaptor.forClass(NetworkRequest::class.java)
+        Mockito.verify(networkService, Mockito.times(2)).connectAsync(networkRequestCaptor.capture(), ArgumentMatchers.any())
+        Assert.assertTrue(networkRequestCaptor.allValues[1].payloadAsString().contains("osLanguage=newlocale&"))
+        Mockito.verify(deviceInfoService, Mockito.times(2)).deviceUniqueId
+    }
+
+    @Test
+    fun registerDevice_OsVersionChanged_DeviceInfoReadAgain() {
+        // setup
+        setConfigurationSharedState()
+        setNetworkResponse(HttpURLConnection.HTTP_OK)
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken1"))
+
+        // test
+        Mockito.`when`(deviceInfoService.operatingSystemVersion).thenReturn("newOSVersion")
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken2"))
+
+        // verify
+        val networkRequestCaptor = ArgumentCaptor.forClass(NetworkRequest::class.java)
+        Mockito.verify(networkService, Mockito.times(2)).connectAsync(networkRequestCaptor.capture(), ArgumentMatchers.any())
+        Assert.assertTrue(networkRequestCaptor.allValues[1].payloadAsString().contains("osVersion=mockOSName%20newOSVersion&"))
+    }
+
+    @Test
+    fun registerDevice_RequestInFlight_CoalescedIntoLatestRequest() {
+        // setup
+        setConfigurationSharedState()
+        val callbacks = mutableListOf<NetworkCallback>()
+        Mockito.`when`(networkService.connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer { invocation ->
+            callbacks.add(invocation.arguments[1] as NetworkCallback)
+            null
+        }
+        val connection = Mockito.mock(HttpConnecting::class.java)
+        Mockito.`when`(connection.responseCode).thenReturn(HttpURLConnection.HTTP_OK)
+
+        // test
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken1"))
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken2"))
+        registrationManager.registerDevice(getRegisterDeviceEvent(deviceToken = "testToken3"))
+
+        // verify only one request is in flight
+        val networkRequestCaptor = ArgumentCaptor.forClass(NetworkRequest::class.java)
+        Mockito.verify(networkService, Mockito.times(1)).connectAsync(networkRequestCaptor.capture(), ArgumentMatchers.any())
+        Assert.assertTrue(networkRequestCaptor.value.payloadAsString().contains("registrationToken=testToken1&"))
+
+        // test
+        callbacks[0].call(connection)
+
+        // verify pending requests are collapsed into the latest one
+        Mockito.verify(networkService, Mockito.times(2)).connectAsync(networkRequestCaptor.capture(), ArgumentMatchers.any())
+        Assert.assertTrue(networkRequestCaptor.value.payloadAsString().contains("registrationToken=testToken3&"))
+
+        // test
+        callbacks[1].call(connection)
+
+        // verify registration status is dispatched once per request
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        Mockito.verify(extensionApi, Mockito.times(3)).dispatch(eventCaptor.capture())
+        eventCaptor.allValues.forEach {
+            Assert.assertEquals(true, it.eventData["registrationstatus"])
+        }
+    }
+
+    @Test
+    fun registerDevice_ServerUnavailable_PersistsPendingRegistration() {
+        // setup
+        setConfigurationSharedState()
+        setNetworkResponse(HttpURLConnection.HTTP_UNAVAILABLE)
+        val before = System.currentTimeMillis()
+
+        // test
+        registrationManager.registerDevice(getRegisterDeviceEvent())
+
+        // verify
+        val pendingRegistrationCaptor = ArgumentCaptor.forClass(String::class.java)
+        Mockito.verify(dataStore, Mockito.times(1)).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION),
+            pendingRegistrationCaptor.capture()
+        )
+        val pendingRegistration = PendingRegistration.fromJson(pendingRegistrationCaptor.value)
+        Assert.assertNotNull(pendingRegistration)
+        Assert.assertEquals(registrationHash, pendingRegistration?.registrationHash)
+        Assert.assertEquals(1, pendingRegistration?.attempts)
+        Assert.assertTrue((pendingRegistration?.nextAttemptAt ?: 0) > before)
+        // verify the registration inputs and the request payload are not persisted
+        Assert.assertFalse(pendingRegistrationCaptor.value.contains("testToken"))
+        Assert.assertFalse(pendingRegistrationCaptor.value.contains("testUser"))
+        Assert.assertFalse(pendingRegistrationCaptor.value.contains("additionalParameters"))
+        Assert.assertFalse(pendingRegistrationCaptor.value.contains("testIntegrationKey"))
+        Assert.assertFalse(pendingRegistrationCaptor.value.contains("mockDeviceBrand"))
+
+        // verify registration status
+        val eventCaptor = ArgumentCaptor.forClass(Event::class.java)
+        Mockito.verify(extensionApi, Mockito.times(1)).dispatch(eventCaptor.capture())
+        Assert.assertEquals(false, eventCaptor.value.eventData["registrationstatus"])
+    }
+
+    @Test
+    fun registerDevice_SameRequestFailedInPreviousLaunch_CarriesOverAttempts() {
+        // setup
+        setConfigurationSharedState()
+        setNetworkResponse(HttpURLConnection.HTTP_UNAVAILABLE)
+        Mockito.`when`(dataStore.getString(ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION), ArgumentMatchers.any()))
+            .thenReturn(PendingRegistration(registrationHash, 3, 0).toJson())
+
+        // test
+        registrationManager.registerDevice(getRegisterDeviceEvent())
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(1)).connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+        val pendingRegistrationCaptor = ArgumentCaptor.forClass(String::class.java)
+        Mockito.verify(dataStore, Mockito.times(1)).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION),
+            pendingRegistrationCaptor.capture()
+        )
+        Assert.assertEquals(4, PendingRegistration.fromJson(pendingRegistrationCaptor.value)?.attempts)
+    }
+
+    @Test
+    fun registerDevice_OptedOutWhileRequestInFlight_DoesNotPersistPendingRegistration() {
+        // setup
+        setConfigurationSharedState()
+        val configurationProvider = CampaignClassicConfigurationProvider(extensionApi)
+        configurationProvider.update(getRegisterDeviceEvent())
+        val optingOutRegistrationManager =
+            RegistrationManager(extensionApi, deviceInfoService, dataStore, networkService, configurationProvider)
+        val connection = Mockito.mock(HttpConnecting::class.java)
+        Mockito.`when`(connection.responseCode).thenReturn(HttpURLConnection.HTTP_UNAVAILABLE)
+        Mockito.`when`(networkService.connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer { invocation ->
+            setConfigurationSharedState(privacyStatus = MobilePrivacyStatus.OPT_OUT)
+            configurationProvider.update(getRegisterDeviceEvent())
+            optingOutRegistrationManager.clearRegistrationData()
+            (invocation.arguments[1] as NetworkCallback).call(connection)
+            null
+        }
+
+        // test
+        optingOutRegistrationManager.registerDevice(getRegisterDeviceEvent())
+
+        // verify
+        Mockito.verify(dataStore, Mockito.never()).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION),
+            ArgumentMatchers.any()
+        )
+    }
+
+    @Test
+    fun registerDevice_ClientError_NotRetried() {
+        // setup
+        setConfigurationSharedState()
+        setNetworkResponse(HttpURLConnection.HTTP_BAD_REQUEST)
+
+        // test
+        registrationManager.registerDevice(getRegisterDeviceEvent())
+
+        // verify
+        Mockito.verify(dataStore, Mockito.never()).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION),
+            ArgumentMatchers.any()
+        )
+    }
+
+    @Test
+    fun registerDevice_Success_ClearsPendingRegistration() {
+        // setup
+        setConfigurationSharedState()
+        setNetworkResponse(HttpURLConnection.HTTP_OK)
+
+        // test
+        registrationManager.registerDevice(getRegisterDeviceEvent())
+
+        // verify
+        Mockito.verify(dataStore, Mockito.atLeastOnce()).remove(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION)
+        )
+        Mockito.verify(dataStore, Mockito.never()).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION),
+            ArgumentMatchers.any()
+        )
+    }
+
+    // =================================================================================================================
+    // fun resumePendingRegistration()
+    // =================================================================================================================
+
+    @Test
+    fun resumePendingRegistration_RetryDue_SendsPersistedRequest() {
+        // setup
+        val retryingRegistrationManager = createOptedInRegistrationManager()
+        setPendingRegistration(retryingRegistrationManager, attempts = 2)
+        setNetworkResponse(HttpURLConnection.HTTP_OK)
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify pending request is rebuilt with the current configuration and sent
+        val networkRequestCaptor = ArgumentCaptor.forClass(NetworkRequest::class.java)
+        Mockito.verify(networkService, Mockito.times(1)).connectAsync(networkRequestCaptor.capture(), ArgumentMatchers.any())
+        Assert.assertEquals("https://testMarketingServer/nms/mobile/1/registerAndroid.jssp", networkRequestCaptor.value.url)
+        val payload = networkRequestCaptor.value.payloadAsString()
+        Assert.assertTrue(payload.contains("registrationToken=testToken&"))
+        Assert.assertTrue(payload.contains("mobileAppUuid=testIntegrationKey&"))
+        Assert.assertTrue(payload.contains("userKey=testUser&"))
+        Assert.assertTrue(payload.contains("deviceImei=12345&"))
+        Assert.assertEquals(5, networkRequestCaptor.value.connectTimeout)
+
+        // verify registration info is persisted and the pending registration is cleared
+        Mockito.verify(dataStore, Mockito.times(1)).setString(CampaignClassicTestConstants.DataStoreKeys.TOKEN_HASH, registrationHash)
+        Mockito.verify(dataStore, Mockito.times(1)).remove(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION)
+
+        // verify no registration status is dispatched for a retry
+        Mockito.verify(extensionApi, Mockito.never()).dispatch(ArgumentMatchers.any())
+    }
+
+    @Test
+    fun resumePendingRegistration_RetryFailed_PersistsNextAttempt() {
+        // setup
+        val retryingRegistrationManager = createOptedInRegistrationManager()
+        setPendingRegistration(retryingRegistrationManager, attempts = 2)
+        setNetworkResponse(HttpURLConnection.HTTP_INTERNAL_ERROR)
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify
+        val pendingRegistrationCaptor = ArgumentCaptor.forClass(String::class.java)
+        Mockito.verify(dataStore, Mockito.times(1)).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION),
+            pendingRegistrationCaptor.capture()
+        )
+        val pendingRegistration = PendingRegistration.fromJson(pendingRegistrationCaptor.value)
+        Assert.assertEquals(3, pendingRegistration?.attempts)
+        Assert.assertEquals(registrationHash, pendingRegistration?.registrationHash)
+        Assert.assertTrue((pendingRegistration?.nextAttemptAt ?: 0) > System.currentTimeMillis())
+    }
+
+    @Test
+    fun resumePendingRegistration_MaxAttemptsReached_DropsPendingRegistration() {
+        // setup
+        val retryingRegistrationManager = createOptedInRegistrationManager()
+        setPendingRegistration(
+            retryingRegistrationManager,
+            attempts = CampaignClassicTestConstants.REGISTRATION_RETRY_MAX_ATTEMPTS - 1
+        )
+        setNetworkResponse(HttpURLConnection.HTTP_UNAVAILABLE)
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(1)).connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+        Mockito.verify(dataStore, Mockito.times(1)).remove(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION)
+        Mockito.verify(dataStore, Mockito.never()).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION),
+            ArgumentMatchers.any()
+        )
+    }
+
+    @Test
+    fun resumePendingRegistration_RetryNotDue_DoesNotSend() {
+        // setup
+        val retryingRegistrationManager = createOptedInRegistrationManager()
+        setPendingRegistration(retryingRegistrationManager, nextAttemptAt = System.currentTimeMillis() + 60000)
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify
+        Mockito.verifyNoInteractions(networkService)
+    }
+
+    @Test
+    fun resumePendingRegistration_NotOptedIn_DoesNotSend() {
+        // setup
+        val configurationProvider = CampaignClassicConfigurationProvider(extensionApi)
+        val retryingRegistrationManager =
+            RegistrationManager(extensionApi, deviceInfoService, dataStore, networkService, configurationProvider)
+        setConfigurationSharedState()
+        configurationProvider.update(getRegisterDeviceEvent())
+        setPendingRegistration(retryingRegistrationManager)
+        setConfigurationSharedState(privacyStatus = MobilePrivacyStatus.UNKNOWN)
+        configurationProvider.update(getRegisterDeviceEvent())
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify
+        Mockito.verifyNoInteractions(networkService)
+    }
+
+    @Test
+    fun resumePendingRegistration_NoConfiguration_DoesNotSend() {
+        // setup
+        setConfigurationSharedState()
+        setPendingRegistration(registrationManager)
+
+        // test
+        registrationManager.resumePendingRegistration()
+
+        // verify
+        Mockito.verifyNoInteractions(networkService)
+    }
+
+    @Test
+    fun resumePendingRegistration_MarketingServerNotConfigured_DoesNotSend() {
+        // setup
+        val configurationProvider = CampaignClassicConfigurationProvider(extensionApi)
+        val retryingRegistrationManager =
+            RegistrationManager(extensionApi, deviceInfoService, dataStore, networkService, configurationProvider)
+        setConfigurationSharedState()
+        configurationProvider.update(getRegisterDeviceEvent())
+        setPendingRegistration(retryingRegistrationManager)
+        setConfigurationSharedState(marketingServer = null)
+        configurationProvider.update(getRegisterDeviceEvent())
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify
+        Mockito.verifyNoInteractions(networkService)
+    }
+
+    @Test
+    fun resumePendingRegistration_Offline_SendsWhenNetworkAvailable() {
+        // setup
+        val retryingRegistrationManager = createOptedInRegistrationManager()
+        setPendingRegistration(retryingRegistrationManager)
+        setNetworkResponse(HttpURLConnection.HTTP_OK)
+        Mockito.`when`(deviceInfoService.networkConnectionStatus).thenReturn(DeviceInforming.ConnectionStatus.DISCONNECTED)
+        val listenerCaptor = ArgumentCaptor.forClass(NetworkConnectionActiveListener::class.java)
+        Mockito.`when`(deviceInfoService.registerOneTimeNetworkConnectionActiveListener(listenerCaptor.capture()))
+            .thenReturn(true)
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify retry waits for the network
+        Mockito.verifyNoInteractions(networkService)
+
+        // test
+        Mockito.`when`(deviceInfoService.networkConnectionStatus).thenReturn(DeviceInforming.ConnectionStatus.CONNECTED)
+        listenerCaptor.value.onActive()
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(1)).connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+    }
+
+    @Test
+    fun resumePendingRegistration_PersistedByPreviousLaunch_DoesNotSend() {
+        // setup
+        val retryingRegistrationManager = createOptedInRegistrationManager()
+        Mockito.`when`(dataStore.getString(ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION), ArgumentMatchers.any()))
+            .thenReturn(PendingRegistration(registrationHash, 1, 0).toJson())
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify the registration request waits for the next registerDevice call
+        Mockito.verifyNoInteractions(networkService)
+    }
+
+    @Test
+    fun resumePendingRegistration_NoPendingRegistration_DoesNotSend() {
+        // setup
+        val retryingRegistrationManager = createOptedInRegistrationManager()
+
+        // test
+        retryingRegistrationManager.resumePendingRegistration()
+
+        // verify
+        Mockito.verifyNoInteractions(networkService)
+    }
+
     // =================================================================================================================
     // fun clearRegistrationData(event: Event)
     // =================================================================================================================
@@ -412,6 +849,11 @@ class RegistrationManagerTests {
                 CampaignClassicTestConstants.DataStoreKeys.TOKEN_HASH
             )
         )
+        Mockito.verify(dataStore, Mockito.times(1)).remove(
+            ArgumentMatchers.eq(
+                CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION
+            )
+        )
     }
 
     // =================================================================================================================
@@ -461,6 +903,40 @@ class RegistrationManagerTests {
             .build()
     }
 
+    private fun createOptedInRegistrationManager(
+        privacyStatus: MobilePrivacyStatus = MobilePrivacyStatus.OPT_IN
+    ): RegistrationManager {
+        setConfigurationSharedState(privacyStatus = privacyStatus)
+        val configurationProvider = CampaignClassicConfigurationProvider(extensionApi)
+        configurationProvider.update(getRegisterDeviceEvent())
+        return RegistrationManager(extensionApi, deviceInfoService, dataStore, networkService, configurationProvider)
+    }
+
+    /**
+     * Fails a registration request with the provided [registrationManager] so that its inputs are kept in memory, then
+     * replaces its persisted retry state with the provided [attempts] and [nextAttemptAt].
+     */
+    private fun setPendingRegistration(
+        registrationManager: RegistrationManager,
+        attempts: Int = 1,
+        nextAttemptAt: Long = 0
+    ) {
+        setNetworkResponse(HttpURLConnection.HTTP_UNAVAILABLE)
+        registrationManager.registerDevice(getRegisterDeviceEvent())
+        Mockito.`when`(dataStore.getString(ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.PENDING_REGISTRATION), ArgumentMatchers.any()))
+            .thenReturn(PendingRegistration(registrationHash, attempts, nextAttemptAt).toJson())
+        Mockito.clearInvocations(extensionApi, dataStore, networkService)
+    }
+
+    private fun setNetworkResponse(responseCode: Int) {
+        val connection = Mockito.mock(HttpConnecting::class.java)
+        Mockito.`when`(connection.responseCode).thenReturn(responseCode)
+        Mockito.`when`(networkService.connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer { invocation ->
+            (invocation.arguments[1] as NetworkCallback).call(connection)
+            null
+        }
+    }
+
     private fun NetworkRequest.payloadAsString(): String {
         return String(this.body, Charsets.UTF_8)
     }
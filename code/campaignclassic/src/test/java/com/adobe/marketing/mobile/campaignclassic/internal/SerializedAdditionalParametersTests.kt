@@ -0,0 +1,71 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import org.junit.Assert
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.junit.MockitoJUnitRunner
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class SerializedAdditionalParametersTests {
+
+    @Test
+    fun serialize_Happy() {
+        // test
+        val serialized = SerializedAdditionalParameters(mapOf("key" to "value"))
+
+        // verify
+        Assert.assertEquals("<additionalParameters><param name=\"key\" value=\"value\"/></additionalParameters>", serialized.xml)
+        Assert.assertEquals("a011e522d0214fd7861df097ba6a39384bb9858d0794dcc185e1415dd7ea665c", serialized.digest)
+    }
+
+    @Test
+    fun serialize_DifferentOrder_SameXmlAndDigest() {
+        // test
+        val first = SerializedAdditionalParameters(linkedMapOf("a" to "1", "b" to 2, "c" to true))
+        val second = SerializedAdditionalParameters(linkedMapOf("c" to true, "a" to "1", "b" to 2))
+
+        // verify
+        Assert.assertEquals(first.xml, second.xml)
+        Assert.assertEquals(first.digest, second.digest)
+    }
+
+    @Test
+    fun serialize_DifferentValues_DifferentDigest() {
+        // test
+        val first = SerializedAdditionalParameters(mapOf("key" to "value1"))
+        val second = SerializedAdditionalParameters(mapOf("key" to "value2"))
+
+        // verify
+        Assert.assertNotEquals(first.digest, second.digest)
+    }
+
+    @Test
+    fun serialize_NonLatinValues_DifferentDigest() {
+        // test
+        val first = SerializedAdditionalParameters(mapOf("city" to "東京"))
+        val second = SerializedAdditionalParameters(mapOf("city" to "大阪"))
+
+        // verify
+        Assert.assertNotEquals(first.digest, second.digest)
+    }
+
+    @Test
+    fun serialize_NullParameters() {
+        // test
+        val serialized = SerializedAdditionalParameters(null)
+
+        // verify
+        Assert.assertEquals("<additionalParameters></additionalParameters>", serialized.xml)
+        Assert.assertEquals(64, serialized.digest.length)
+    }
+}
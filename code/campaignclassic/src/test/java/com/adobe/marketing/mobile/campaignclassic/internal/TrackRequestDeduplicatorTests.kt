@@ -0,0 +1,216 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.services.NamedCollection
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentMatchers
+import org.mockito.Mockito
+import org.mockito.junit.MockitoJUnitRunner
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class TrackRequestDeduplicatorTests {
+
+    private val ttlMillis = 1000L
+    private lateinit var dataStore: NamedCollection
+    private var persistedRequests: String? = null
+    private var now = 0L
+
+    @Before
+    fun setup() {
+        persistedRequests = null
+        now = 10000L
+        dataStore = Mockito.mock(NamedCollection::class.java)
+        Mockito.doAnswer { invocation ->
+            persistedRequests = invocation.getArgument(1)
+            null
+        }.`when`(dataStore).setString(
+            ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.SENT_TRACK_REQUESTS),
+            ArgumentMatchers.anyString()
+        )
+        Mockito.`when`(
+            dataStore.getString(
+                ArgumentMatchers.eq(CampaignClassicTestConstants.DataStoreKeys.SENT_TRACK_REQUESTS),
+                ArgumentMatchers.any()
+            )
+        ).thenAnswer { persistedRequests }
+        Mockito.doAnswer {
+            persistedRequests = null
+            null
+        }.`when`(dataStore).remove(CampaignClassicTestConstants.DataStoreKeys.SENT_TRACK_REQUESTS)
+    }
+
+    // =================================================================================================================
+    // fun shouldSend(messageId: String, deliveryId: String, tagId: String)
+    // =================================================================================================================
+
+    @Test
+    fun shouldSend_NewRequest_ReturnsTrue() {
+        // setup
+        val deduplicator = createDeduplicator()
+
+        // verify
+        Assert.assertTrue(deduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_DuplicateRequest_ReturnsFalse() {
+        // setup
+        val deduplicator = createDeduplicator()
+        deduplicator.shouldSend("12345", "testDeliveryId", "1")
+        deduplicator.recordSent("12345", "testDeliveryId", "1")
+
+        // verify
+        Assert.assertFalse(deduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_DuplicateRequestBeingSent_ReturnsFalse() {
+        // setup
+        val deduplicator = createDeduplicator()
+        deduplicator.shouldSend("12345", "testDeliveryId", "1")
+
+        // verify
+        Assert.assertFalse(deduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_RequestNotRecorded_NotPersisted() {
+        // setup
+        createDeduplicator().shouldSend("12345", "testDeliveryId", "1")
+
+        // test
+        val reloadedDeduplicator = createDeduplicator()
+
+        // verify
+        Assert.assertNull(persistedRequests)
+        Assert.assertTrue(reloadedDeduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_DifferentTagId_ReturnsTrue() {
+        // setup
+        val deduplicator = createDeduplicator()
+        deduplicator.shouldSend("12345", "testDeliveryId", "1")
+
+        // verify
+        Assert.assertTrue(deduplicator.shouldSend("12345", "testDeliveryId", "2"))
+        Assert.assertTrue(deduplicator.shouldSend("12345", "otherDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_DuplicateAfterTtl_ReturnsTrue() {
+        // setup
+        val deduplicator = createDeduplicator()
+        deduplicator.recordSent("12345", "testDeliveryId", "1")
+
+        // test
+        now += ttlMillis
+
+        // verify
+        Assert.assertTrue(deduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_OverMaxEntries_OldestRequestForgotten() {
+        // setup
+        val deduplicator = createDeduplicator(maxEntries = 2)
+        deduplicator.recordSent("1", "testDeliveryId", "1")
+        now++
+        deduplicator.recordSent("2", "testDeliveryId", "1")
+        now++
+        deduplicator.recordSent("3", "testDeliveryId", "1")
+
+        // verify
+        Assert.assertFalse(deduplicator.shouldSend("3", "testDeliveryId", "1"))
+        Assert.assertFalse(deduplicator.shouldSend("2", "testDeliveryId", "1"))
+        Assert.assertTrue(deduplicator.shouldSend("1", "testDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_PersistedRequest_DuplicateAcrossInstances() {
+        // setup
+        createDeduplicator().recordSent("12345", "testDeliveryId", "1")
+
+        // test
+        val reloadedDeduplicator = createDeduplicator()
+
+        // verify
+        Assert.assertNotNull(persistedRequests)
+        Assert.assertFalse(reloadedDeduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_InvalidPersistedRequests_ReturnsTrue() {
+        // setup
+        persistedRequests = "invalid"
+
+        // verify
+        Assert.assertTrue(createDeduplicator().shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    @Test
+    fun shouldSend_NoDataStore_DeduplicatesInMemory() {
+        // setup
+        val deduplicator = TrackRequestDeduplicator(null, ttlMillis, 10) { now }
+        deduplicator.recordSent("12345", "testDeliveryId", "1")
+
+        // verify
+        Assert.assertFalse(deduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    // =================================================================================================================
+    // fun release(messageId: String, deliveryId: String, tagId: String)
+    // =================================================================================================================
+
+    @Test
+    fun release_RequestCanBeSentAgain() {
+        // setup
+        val deduplicator = createDeduplicator()
+        deduplicator.shouldSend("12345", "testDeliveryId", "1")
+
+        // test
+        deduplicator.release("12345", "testDeliveryId", "1")
+
+        // verify
+        Assert.assertNull(persistedRequests)
+        Assert.assertTrue(deduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    // =================================================================================================================
+    // fun clear()
+    // =================================================================================================================
+
+    @Test
+    fun clear_ForgetsSentRequests() {
+        // setup
+        val deduplicator = createDeduplicator()
+        deduplicator.recordSent("12345", "testDeliveryId", "1")
+
+        // test
+        deduplicator.clear()
+
+        // verify
+        Assert.assertNull(persistedRequests)
+        Assert.assertTrue(deduplicator.shouldSend("12345", "testDeliveryId", "1"))
+    }
+
+    // =================================================================================================================
+    // private methods
+    // =================================================================================================================
+
+    private fun createDeduplicator(maxEntries: Int = 10): TrackRequestDeduplicator {
+        return TrackRequestDeduplicator(dataStore, ttlMillis, maxEntries) { now }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.services.HttpConnecting
+import com.adobe.marketing.mobile.services.NetworkCallback
+import com.adobe.marketing.mobile.services.NetworkRequest
+import com.adobe.marketing.mobile.services.Networking
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito
+import org.mockito.junit.MockitoJUnitRunner
+import java.net.HttpURLConnection
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class TrackRequestDispatcherTests {
+
+    private lateinit var trackingServer: FakeTrackingServer
+    private lateinit var handledUrls: MutableList<String>
+
+    @Before
+    fun setup() {
+        trackingServer = FakeTrackingServer()
+        handledUrls = mutableListOf()
+    }
+
+    // =================================================================================================================
+    // fun dispatch(trackUrl: String, requestTimeout: Int)
+    // =================================================================================================================
+
+    @Test
+    fun dispatch_SendsImmediately() {
+        // setup
+        val dispatcher = createDispatcher()
+
+        // test
+        dispatcher.dispatch(getTrackUrl(1), CampaignClassicTestConstants.DEFAULT_TIMEOUT)
+
+        // verify
+        Assert.assertEquals(listOf(getTrackUrl(1)), trackingServer.receivedUrls)
+        Assert.assertEquals(CampaignClassicTestConstants.DEFAULT_TIMEOUT, trackingServer.receivedRequests[0].connectTimeout)
+        Assert.assertEquals(listOf(getTrackUrl(1)), handledUrls)
+    }
+
+    @Test
+    fun dispatch_MultipleRequests_SentInOrder() {
+        // setup
+        val dispatcher = createDispatcher()
+
+        // test
+        dispatcher.dispatch(getTrackUrl(1), CampaignClassicTestConstants.DEFAULT_TIMEOUT)
+        dispatcher.dispatch(getTrackUrl(2), CampaignClassicTestConstants.DEFAULT_TIMEOUT)
+
+        // verify
+        Assert.assertEquals(listOf(getTrackUrl(1), getTrackUrl(2)), trackingServer.receivedUrls)
+        Assert.assertEquals(listOf(getTrackUrl(1), getTrackUrl(2)), handledUrls)
+    }
+
+    @Test
+    fun dispatch_LimitsInFlightRequests() {
+        // setup
+        trackingServer.respondImmediately = false
+        val dispatcher = createDispatcher(maxInFlightRequests = 2)
+
+        // test
+        for (i in 1..5) {
+            dispatcher.dispatch(getTrackUrl(i), CampaignClassicTestConstants.DEFAULT_TIMEOUT)
+        }
+
+        // verify only two requests are in flight
+        Assert.assertEquals(listOf(getTrackUrl(1), getTrackUrl(2)), trackingServer.receivedUrls)
+
+        // test
+        trackingServer.respondToNext()
+
+        // verify next request is sent once one completes
+        Assert.assertEquals(listOf(getTrackUrl(1), getTrackUrl(2), getTrackUrl(3)), trackingServer.receivedUrls)
+
+        // test
+        repeat(4) { trackingServer.respondToNext() }
+
+        // verify
+        Assert.assertEquals(5, trackingServer.receivedUrls.size)
+        Assert.assertEquals(5, handledUrls.size)
+    }
+
+    @Test
+    fun dispatch_ConnectionFailed_NullConnectionHandled() {
+        // setup
+        trackingServer.responseCode = null
+        val connections = mutableListOf<HttpConnecting?>()
+        val dispatcher = TrackRequestDispatcher(trackingServer, 2) { _, _, connection ->
+            connections.add(connection)
+        }
+
+        // test
+        dispatcher.dispatch(getTrackUrl(1), CampaignClassicTestConstants.DEFAULT_TIMEOUT)
+
+        // verify
+        Assert.assertEquals(listOf<HttpConnecting?>(null), connections)
+    }
+
+    // =================================================================================================================
+    // private methods
+    // =================================================================================================================
+
+    private fun createDispatcher(maxInFlightRequests: Int = 2): TrackRequestDispatcher {
+        return TrackRequestDispatcher(trackingServer, maxInFlightRequests) { trackUrl, _, connection ->
+            handledUrls.add(trackUrl)
+            connection?.close()
+        }
+    }
+
+    private fun getTrackUrl(index: Int): String {
+        return "https://testTrackingServer/r/?id=h3039,testDeliveryId$index,1"
+    }
+
+    /**
+     * Local stand-in for the tracking server which records the received requests and either responds immediately
+     * or holds the responses until [respondToNext] is called.
+     */
+    private class FakeTrackingServer : Networking {
+        val receivedRequests = mutableListOf<NetworkRequest>()
+        val receivedUrls: List<String>
+            get() = receivedRequests.map { it.url }
+        var responseCode: Int? = HttpURLConnection.HTTP_OK
+        var respondImmediately = true
+        private val pendingCallbacks = ArrayDeque<NetworkCallback>()
+
+        override fun connectAsync(request: NetworkRequest, callback: NetworkCallback?) {
+            synchronized(this) {
+                receivedRequests.add(request)
+            }
+            if (respondImmediately) {
+                callback?.call(createConnection())
+            } else {
+                callback?.let { pendingCallbacks.add(it) }
+            }
+        }
+
+        fun respondToNext() {
+            pendingCallbacks.removeFirst().call(createConnection())
+        }
+
+        private fun createConnection(): HttpConnecting? {
+            val code = responseCode ?: return null
+            return Mockito.mock(HttpConnecting::class.java).also {
+                Mockito.`when`(it.responseCode).thenReturn(code)
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+  Copyright 2024 Adobe. All rights reserved.
+  This file is licensed to you under the Apache License, Version 2.0 (the "License");
+  you may not use this file except in compliance with the License. You may obtain a copy
+  of the License at http://www.apache.org/licenses/LICENSE-2.0
+  Unless required by applicable law or agreed to in writing, software distributed under
+  the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR REPRESENTATIONS
+  OF ANY KIND, either express or implied. See the License for the specific language
+  governing permissions and limitations under the License.
+*/
+package com.adobe.marketing.mobile.campaignclassic.internal
+
+import com.adobe.marketing.mobile.services.DataEntity
+import com.adobe.marketing.mobile.services.HttpConnecting
+import com.adobe.marketing.mobile.services.NetworkCallback
+import com.adobe.marketing.mobile.services.NetworkRequest
+import com.adobe.marketing.mobile.services.Networking
+import org.junit.Assert
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
+import org.mockito.ArgumentMatchers
+import org.mockito.Mockito
+import org.mockito.junit.MockitoJUnitRunner
+import java.net.HttpURLConnection
+import java.util.Date
+
+@RunWith(MockitoJUnitRunner.Silent::class)
+class TrackRequestHitProcessorTests {
+
+    private val trackUrl = "https://testTrackingServer/r/?id=h3039,testDeliveryId,1"
+    private lateinit var networkService: Networking
+    private lateinit var hitProcessor: TrackRequestHitProcessor
+    private var retryCount = 0
+    private var processed: Boolean? = null
+
+    @Before
+    fun setup() {
+        networkService = Mockito.mock(Networking::class.java)
+        retryCount = 0
+        processed = null
+        hitProcessor = TrackRequestHitProcessor(networkService) { retryCount++ }
+    }
+
+    // =================================================================================================================
+    // void processHit(DataEntity entity, HitProcessingResult processingResult)
+    // =================================================================================================================
+
+    @Test
+    fun processHit_Success_HitIsProcessed() {
+        // setup
+        setConnectionResult(HttpURLConnection.HTTP_OK)
+
+        // test
+        hitProcessor.processHit(getDataEntity()) { processed = it }
+
+        // verify network call
+        val networkRequestCaptor = ArgumentCaptor.forClass(NetworkRequest::class.java)
+        Mockito.verify(networkService, Mockito.times(1))
+            .connectAsync(networkRequestCaptor.capture(), ArgumentMatchers.any())
+        Assert.assertEquals(trackUrl, networkRequestCaptor.value.url)
+        Assert.assertEquals(CampaignClassicTestConstants.DEFAULT_TIMEOUT, networkRequestCaptor.value.connectTimeout)
+
+        // verify result
+        Assert.assertEquals(true, processed)
+        Assert.assertEquals(0, retryCount)
+    }
+
+    @Test
+    fun processHit_ConnectionFailed_HitIsRetried() {
+        // setup
+        setConnectionResult(null)
+
+        // test
+        hitProcessor.processHit(getDataEntity()) { processed = it }
+
+        // verify
+        Assert.assertEquals(false, processed)
+        Assert.assertEquals(1, retryCount)
+    }
+
+    @Test
+    fun processHit_RetryableResponseCode_HitIsRetried() {
+        // setup
+        setConnectionResult(HttpURLConnection.HTTP_UNAVAILABLE)
+
+        // test
+        hitProcessor.processHit(getDataEntity()) { processed = it }
+
+        // verify
+        Assert.assertEquals(false, processed)
+        Assert.assertEquals(1, retryCount)
+    }
+
+    @Test
+    fun processHit_NonRetryableResponseCode_HitIsDropped() {
+        // setup
+        setConnectionResult(HttpURLConnection.HTTP_NOT_FOUND)
+
+        // test
+        hitProcessor.processHit(getDataEntity()) { processed = it }
+
+        // verify
+        Assert.assertEquals(true, processed)
+        Assert.assertEquals(0, retryCount)
+    }
+
+    @Test
+    fun processHit_ExpiredHit_HitIsDroppedWithoutNetworkCall() {
+        // setup
+        val timestamp = Date(System.currentTimeMillis() - CampaignClassicConstants.TRACK_REQUEST_MAX_AGE_IN_MILLISECONDS - 1000)
+
+        // test
+        hitProcessor.processHit(getDataEntity(timestamp)) { processed = it }
+
+        // verify
+        Mockito.verifyNoInteractions(networkService)
+        Assert.assertEquals(true, processed)
+    }
+
+    @Test
+    fun processHit_InvalidData_HitIsDroppedWithoutNetworkCall() {
+        // test
+        hitProcessor.processHit(DataEntity("uniqueId", Date(), "invalid")) { processed = it }
+
+        // verify
+        Mockito.verifyNoInteractions(networkService)
+        Assert.assertEquals(true, processed)
+    }
+
+    @Test
+    fun processHit_NetworkServiceNotAvailable_HitIsRetried() {
+        // setup
+        hitProcessor = TrackRequestHitProcessor(null) { retryCount++ }
+
+        // test
+        hitProcessor.processHit(getDataEntity()) { processed = it }
+
+        // verify
+        Assert.assertEquals(false, processed)
+        Assert.assertEquals(1, retryCount)
+    }
+
+    // =================================================================================================================
+    // int retryInterval(DataEntity entity)
+    // =================================================================================================================
+
+    @Test
+    fun retryInterval_BacksOffExponentially() {
+        // setup
+        setConnectionResult(null)
+        val entity = getDataEntity()
+        val retryIntervals = mutableListOf<Int>()
+
+        // test
+        repeat(4) {
+            hitProcessor.processHit(entity) { processed = it }
+            retryIntervals.add(hitProcessor.retryInterval(entity))
+        }
+
+        // verify
+        Assert.assertEquals(listOf(5, 10, 20, 40), retryIntervals)
+    }
+
+    @Test
+    fun retryInterval_IsCappedAtMaximum() {
+        // setup
+        setConnectionResult(null)
+        val entity = getDataEntity()
+
+        // test
+        repeat(20) {
+            hitProcessor.processHit(entity) { processed = it }
+        }
+
+        // verify
+        Assert.assertEquals(CampaignClassicConstants.TRACK_REQUEST_MAX_RETRY_INTERVAL_IN_SECONDS, hitProcessor.retryInterval(entity))
+    }
+
+    @Test
+    fun retryInterval_ResetAfterSuccess() {
+        // setup
+        setConnectionResult(null)
+        val entity = getDataEntity()
+        hitProcessor.processHit(entity) { processed = it }
+        hitProcessor.processHit(entity) { processed = it }
+
+        // test
+        setConnectionResult(HttpURLConnection.HTTP_OK)
+        hitProcessor.processHit(entity) { processed = it }
+
+        // verify
+        Assert.assertEquals(CampaignClassicConstants.TRACK_REQUEST_BASE_RETRY_INTERVAL_IN_SECONDS, hitProcessor.retryInterval(entity))
+    }
+
+    // =================================================================================================================
+    // private methods
+    // =================================================================================================================
+
+    private fun getDataEntity(timestamp: Date = Date()): DataEntity {
+        val entity = TrackRequestHitProcessor.createDataEntity(trackUrl, CampaignClassicTestConstants.DEFAULT_TIMEOUT)
+        return DataEntity("uniqueId", timestamp, entity.data)
+    }
+
+    private fun setConnectionResult(responseCode: Int?) {
+        val connection = if (responseCode == null) {
+            null
+        } else {
+            Mockito.mock(HttpConnecting::class.java).also {
+                Mockito.`when`(it.responseCode).thenReturn(responseCode)
+            }
+        }
+        Mockito.`when`(networkService.connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer { invocation ->
+            (invocation.arguments[1] as NetworkCallback).call(connection)
+            null
+        }
+    }
+}
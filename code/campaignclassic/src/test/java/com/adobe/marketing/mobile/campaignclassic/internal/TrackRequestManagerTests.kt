@@ -17,6 +17,8 @@ import com.adobe.marketing.mobile.ExtensionApi
 import com.adobe.marketing.mobile.MobilePrivacyStatus
 import com.adobe.marketing.mobile.SharedStateResult
 import com.adobe.marketing.mobile.SharedStateStatus
+import com.adobe.marketing.mobile.services.DeviceInforming
+import com.adobe.marketing.mobile.services.HitQueuing
 import com.adobe.marketing.mobile.services.HttpConnecting
 import com.adobe.marketing.mobile.services.NetworkCallback
 import com.adobe.marketing.mobile.services.NetworkRequest
@@ -36,12 +38,18 @@ class TrackRequestManagerTests {
 
     private lateinit var extensionApi: ExtensionApi
     private lateinit var networkService: Networking
+    private lateinit var deviceInfoService: DeviceInforming
+    private lateinit var hitQueue: HitQueuing
     private lateinit var trackManager: TrackRequestManager
 
     @Before
     fun setup() {
         extensionApi = Mockito.mock(ExtensionApi::class.java)
         networkService = Mockito.mock(Networking::class.java)
+        deviceInfoService = Mockito.mock(DeviceInforming::class.java)
+        hitQueue = Mockito.mock(HitQueuing::class.java)
+        Mockito.`when`(hitQueue.queue(ArgumentMatchers.any())).thenReturn(true)
+        Mockito.`when`(deviceInfoService.networkConnectionStatus).thenReturn(DeviceInforming.ConnectionStatus.CONNECTED)
         trackManager = TrackRequestManager(extensionApi, networkService)
     }
 
@@ -410,10 +418,313 @@ class TrackRequestManagerTests {
         Assert.assertEquals(20, networkRequestCaptor.value.readTimeout)
     }
 
+    @Test
+    fun handleTrackRequest_DuplicateRequest_SentOnce() {
+        // setup
+        setConfigurationSharedState()
+
+        // test
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(1))
+            .connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+    }
+
+    @Test
+    fun handleTrackRequest_ReceiveThenClick_BothSent() {
+        // setup
+        setConfigurationSharedState()
+
+        // test
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_CLICKED_TAGID)
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(2))
+            .connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+    }
+
+    @Test
+    fun handleTrackRequest_DuplicateRequestAfterOptOut_SentAgain() {
+        // setup
+        setConfigurationSharedState()
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+
+        // test
+        trackManager.updatePrivacyStatus(MobilePrivacyStatus.OPT_OUT)
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(2))
+            .connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+    }
+
+    @Test
+    fun handleTrackRequest_DuplicateRequestAfterSuccess_SentOnce() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(HttpURLConnection.HTTP_OK)
+
+        // test
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(1))
+            .connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+    }
+
+    @Test
+    fun handleTrackRequest_DuplicateRequestAfterNonRetryableResponseCode_SentAgain() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(HttpURLConnection.HTTP_BAD_REQUEST)
+
+        // test
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(2))
+            .connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+    }
+
+    @Test
+    fun handleTrackRequest_DuplicateRequestAfterConnectionFailedNotQueued_SentAgain() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(null)
+
+        // test
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+        trackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(2))
+            .connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+    }
+
+    @Test
+    fun handleTrackRequest_DuplicateRequestAfterConnectionFailedQueued_NotSentAgain() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(null)
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+        queueingTrackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+
+        // verify
+        Mockito.verify(networkService, Mockito.times(1))
+            .connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())
+        Mockito.verify(hitQueue, Mockito.times(1)).queue(ArgumentMatchers.any())
+    }
+
+    // =================================================================================================================
+    // track request queue
+    // =================================================================================================================
+
+    @Test
+    fun handleTrackRequest_ConnectionFailed_QueuesTrackRequest() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(null)
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.handleTrackRequest(
+            getTrackRequestEvent(),
+            CampaignClassicTestConstants.MESSAGE_CLICKED_TAGID
+        )
+
+        // verify
+        Mockito.verify(hitQueue, Mockito.times(1)).queue(ArgumentMatchers.any())
+        Mockito.verify(hitQueue, Mockito.never()).suspend()
+    }
+
+    @Test
+    fun handleTrackRequest_RetryableResponseCode_QueuesTrackRequest() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(HttpURLConnection.HTTP_UNAVAILABLE)
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.handleTrackRequest(
+            getTrackRequestEvent(),
+            CampaignClassicTestConstants.MESSAGE_CLICKED_TAGID
+        )
+
+        // verify
+        Mockito.verify(hitQueue, Mockito.times(1)).queue(ArgumentMatchers.any())
+    }
+
+    @Test
+    fun handleTrackRequest_NonRetryableResponseCode_DoesNotQueueTrackRequest() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(HttpURLConnection.HTTP_BAD_REQUEST)
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.handleTrackRequest(
+            getTrackRequestEvent(),
+            CampaignClassicTestConstants.MESSAGE_CLICKED_TAGID
+        )
+
+        // verify
+        Mockito.verifyNoInteractions(hitQueue)
+    }
+
+    @Test
+    fun handleTrackRequest_Success_DoesNotQueueTrackRequest() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(HttpURLConnection.HTTP_OK)
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.handleTrackRequest(
+            getTrackRequestEvent(),
+            CampaignClassicTestConstants.MESSAGE_CLICKED_TAGID
+        )
+
+        // verify
+        Mockito.verifyNoInteractions(hitQueue)
+    }
+
+    @Test
+    fun handleTrackRequest_ConnectionFailedWhileOffline_SuspendsQueueUntilOnline() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(null)
+        Mockito.`when`(deviceInfoService.networkConnectionStatus).thenReturn(DeviceInforming.ConnectionStatus.DISCONNECTED)
+        val listenerCaptor = ArgumentCaptor.forClass(DeviceInforming.NetworkConnectionActiveListener::class.java)
+        Mockito.`when`(deviceInfoService.registerOneTimeNetworkConnectionActiveListener(listenerCaptor.capture()))
+            .thenReturn(true)
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+        queueingTrackManager.updatePrivacyStatus(MobilePrivacyStatus.OPT_IN)
+        Mockito.clearInvocations(hitQueue)
+
+        // test
+        queueingTrackManager.handleTrackRequest(
+            getTrackRequestEvent(),
+            CampaignClassicTestConstants.MESSAGE_CLICKED_TAGID
+        )
+
+        // verify queue is suspended until the network is available
+        Mockito.verify(hitQueue, Mockito.times(1)).queue(ArgumentMatchers.any())
+        Mockito.verify(hitQueue, Mockito.times(1)).suspend()
+        Mockito.verify(hitQueue, Mockito.never()).beginProcessing()
+
+        // verify queue is resumed once the network is available
+        listenerCaptor.value.onActive()
+        Mockito.verify(hitQueue, Mockito.times(1)).beginProcessing()
+    }
+
+    @Test
+    fun handleTrackRequest_MultipleConnectionFailuresWhileOffline_RegistersOneListener() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(null)
+        Mockito.`when`(deviceInfoService.networkConnectionStatus).thenReturn(DeviceInforming.ConnectionStatus.DISCONNECTED)
+        Mockito.`when`(deviceInfoService.registerOneTimeNetworkConnectionActiveListener(ArgumentMatchers.any()))
+            .thenReturn(true)
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_RECEIVED_TAGID)
+        queueingTrackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_CLICKED_TAGID)
+
+        // verify
+        Mockito.verify(hitQueue, Mockito.times(2)).queue(ArgumentMatchers.any())
+        Mockito.verify(deviceInfoService, Mockito.times(1))
+            .registerOneTimeNetworkConnectionActiveListener(ArgumentMatchers.any())
+    }
+
+    @Test
+    fun handleTrackRequest_OptedOutBeforeNetworkAvailable_DoesNotResumeQueue() {
+        // setup
+        setConfigurationSharedState()
+        setConnectionResult(null)
+        Mockito.`when`(deviceInfoService.networkConnectionStatus).thenReturn(DeviceInforming.ConnectionStatus.DISCONNECTED)
+        val listenerCaptor = ArgumentCaptor.forClass(DeviceInforming.NetworkConnectionActiveListener::class.java)
+        Mockito.`when`(deviceInfoService.registerOneTimeNetworkConnectionActiveListener(listenerCaptor.capture()))
+            .thenReturn(true)
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+        queueingTrackManager.updatePrivacyStatus(MobilePrivacyStatus.OPT_IN)
+        queueingTrackManager.handleTrackRequest(getTrackRequestEvent(), CampaignClassicTestConstants.MESSAGE_CLICKED_TAGID)
+        queueingTrackManager.updatePrivacyStatus(MobilePrivacyStatus.OPT_OUT)
+        Mockito.clearInvocations(hitQueue)
+
+        // test
+        listenerCaptor.value.onActive()
+
+        // verify
+        Mockito.verify(hitQueue, Mockito.never()).beginProcessing()
+    }
+
+    @Test
+    fun updatePrivacyStatus_OptIn_BeginsProcessing() {
+        // setup
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.updatePrivacyStatus(MobilePrivacyStatus.OPT_IN)
+
+        // verify
+        Mockito.verify(hitQueue, Mockito.times(1)).beginProcessing()
+        Mockito.verify(hitQueue, Mockito.never()).clear()
+    }
+
+    @Test
+    fun updatePrivacyStatus_OptOut_ClearsQueue() {
+        // setup
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.updatePrivacyStatus(MobilePrivacyStatus.OPT_OUT)
+
+        // verify
+        Mockito.verify(hitQueue, Mockito.times(1)).suspend()
+        Mockito.verify(hitQueue, Mockito.times(1)).clear()
+        Mockito.verify(hitQueue, Mockito.never()).beginProcessing()
+    }
+
+    @Test
+    fun updatePrivacyStatus_Unknown_SuspendsQueue() {
+        // setup
+        val queueingTrackManager = TrackRequestManager(extensionApi, networkService, deviceInfoService, hitQueue)
+
+        // test
+        queueingTrackManager.updatePrivacyStatus(MobilePrivacyStatus.UNKNOWN)
+
+        // verify
+        Mockito.verify(hitQueue, Mockito.times(1)).suspend()
+        Mockito.verify(hitQueue, Mockito.never()).clear()
+    }
+
     // =================================================================================================================
     // private methods
     // =================================================================================================================
 
+    private fun setConnectionResult(responseCode: Int?) {
+        val connection = if (responseCode == null) {
+            null
+        } else {
+            Mockito.mock(HttpConnecting::class.java).also {
+                Mockito.`when`(it.responseCode).thenReturn(responseCode)
+            }
+        }
+        Mockito.`when`(networkService.connectAsync(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer { invocation ->
+            (invocation.arguments[1] as NetworkCallback).call(connection)
+            null
+        }
+    }
+
     private fun setConfigurationSharedState(
         trackingServer: String? = "testTrackingServer",
         privacyStatus: MobilePrivacyStatus = MobilePrivacyStatus.OPT_IN,